@@ -0,0 +1,73 @@
+package com.arka.system.benchmark;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductAttribute;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos de prueba deterministas para los benchmarks (misma semilla en cada fork).
+ */
+final class BenchmarkProducts {
+
+    private static final long SEED = 42L;
+
+    private BenchmarkProducts() {
+    }
+
+    /**
+     * Genera productos con categoría y atributos cargados, como los devuelve el plan "detalle".
+     * Alrededor del 10% queda en o por debajo del stock mínimo y el 5% está inactivo.
+     */
+    static List<Product> generate(int count, int attributesPerProduct) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Category> categories = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            categories.add(Category.builder()
+                .id(i)
+                .name("Categoría " + i)
+                .description("Periféricos y accesorios " + i)
+                .active(true)
+                .build());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minimumStock = 5 + random.nextInt(20);
+            int stock = random.nextInt(10) == 0 ? random.nextInt(minimumStock + 1) : minimumStock + 1 + random.nextInt(500);
+            BigDecimal purchasePrice = BigDecimal.valueOf(1_000 + random.nextInt(500_000), 2);
+
+            Product product = Product.builder()
+                .id((long) i + 1)
+                .sku("SKU-" + i)
+                .name("Producto " + i)
+                .description("Descripción del producto " + i)
+                .brand("Marca " + (i % 50))
+                .purchasePrice(purchasePrice)
+                .salePrice(purchasePrice.multiply(new BigDecimal("1.35")))
+                .stockQuantity(stock)
+                .minimumStock(minimumStock)
+                .weight(BigDecimal.valueOf(random.nextInt(10_000), 3))
+                .dimensions("10x20x5")
+                .active(random.nextInt(20) != 0)
+                .category(categories.get(i % categories.size()))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+            List<ProductAttribute> attributes = new ArrayList<>(attributesPerProduct);
+            for (int a = 0; a < attributesPerProduct; a++) {
+                attributes.add(new ProductAttribute((long) i * attributesPerProduct + a, "atributo" + a, "valor" + a, product));
+            }
+            product.setAttributes(attributes);
+            products.add(product);
+        }
+        return products;
+    }
+}
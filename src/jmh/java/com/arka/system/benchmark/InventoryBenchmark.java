@@ -0,0 +1,42 @@
+package com.arka.system.benchmark;
+
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.service.InventoryDomainService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de InventoryDomainService.findProductsRequiringReplenishment sobre catálogos
+ * de 10k a 1M productos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InventoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private final InventoryDomainService inventoryService = new InventoryDomainService();
+    private List<Product> catalog;
+
+    @Setup
+    public void setUp() {
+        catalog = BenchmarkProducts.generate(catalogSize, 0);
+    }
+
+    @Benchmark
+    public List<Product> findProductsRequiringReplenishment() {
+        return inventoryService.findProductsRequiringReplenishment(catalog);
+    }
+}
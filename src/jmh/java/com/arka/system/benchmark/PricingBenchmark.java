@@ -0,0 +1,68 @@
+package com.arka.system.benchmark;
+
+import com.arka.system.domain.model.OrderItem;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.service.PricingDomainService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de PricingDomainService: cálculos que se ejecutan por línea y por pedido.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int quantity;
+
+    @Param({"10", "200"})
+    private int orderLines;
+
+    private final PricingDomainService pricingService = new PricingDomainService();
+    private Product product;
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = BenchmarkProducts.generate(orderLines, 0);
+        product = products.get(0);
+        orderItems = new ArrayList<>(orderLines);
+        for (Product line : products) {
+            OrderItem item = new OrderItem();
+            item.setProduct(line);
+            item.setQuantity(quantity);
+            item.setUnitPrice(line.getSalePrice());
+            item.setSubtotal(line.getSalePrice().multiply(BigDecimal.valueOf(quantity)));
+            orderItems.add(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateItemSubtotal() {
+        return pricingService.calculateItemSubtotal(product, quantity);
+    }
+
+    @Benchmark
+    public BigDecimal calculateOrderTotal() {
+        return pricingService.calculateOrderTotal(orderItems);
+    }
+
+    @Benchmark
+    public BigDecimal calculateVolumeDiscount() {
+        return pricingService.calculateVolumeDiscount(product.getSalePrice(), quantity);
+    }
+}
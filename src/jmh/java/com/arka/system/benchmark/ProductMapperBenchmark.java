@@ -0,0 +1,53 @@
+package com.arka.system.benchmark;
+
+import com.arka.system.application.usecase.ProductDTOMapper;
+import com.arka.system.domain.model.Product;
+import com.arka.system.shared.dto.ProductDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de ProductDTOMapper para productos con el plan "detalle" (categoría y atributos).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int listSize;
+
+    @Param({"5"})
+    private int attributesPerProduct;
+
+    private final ProductDTOMapper mapper = new ProductDTOMapper(Optional.empty());
+    private List<Product> products;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkProducts.generate(listSize, attributesPerProduct);
+        product = products.get(0);
+    }
+
+    @Benchmark
+    public ProductDTO toDTO() {
+        return mapper.toDTO(product);
+    }
+
+    @Benchmark
+    public List<ProductDTO> toDTOList() {
+        return mapper.toDTOList(products);
+    }
+}
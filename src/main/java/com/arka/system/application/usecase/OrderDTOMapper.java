@@ -0,0 +1,65 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.model.Order;
+import com.arka.system.domain.model.OrderItem;
+import com.arka.system.shared.dto.OrderDTO;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Mapper para conversión entre entidades Order y DTOs.
+ * 
+ * Recorre las líneas y su producto, por lo que debe usarse dentro de la transacción que cargó
+ * la orden; con hibernate.default_batch_fetch_size las líneas y productos de varias órdenes
+ * se cargan en lotes y no una consulta por orden.
+ */
+@Component
+public class OrderDTOMapper {
+    
+    /**
+     * Convierte una entidad Order a OrderDTO
+     */
+    public OrderDTO toDTO(Order order) {
+        if (order == null) {
+            return null;
+        }
+        
+        List<OrderItem> items = order.getOrderItems() != null ? order.getOrderItems() : List.of();
+        BigDecimal subtotal = items.stream()
+            .map(OrderItem::getSubtotal)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        
+        return OrderDTO.builder()
+            .id(order.getId())
+            .customerId(order.getCustomer() != null ? order.getCustomer().getId() : null)
+            .status(order.getStatus())
+            .subtotal(subtotal)
+            .tax(order.getTotalAmount().subtract(subtotal))
+            .totalAmount(order.getTotalAmount())
+            .notes(order.getNotes())
+            .orderDate(order.getOrderDate())
+            .items(items.stream().map(this::toItemDTO).toList())
+            .build();
+    }
+    
+    /**
+     * Convierte una lista de órdenes a DTOs
+     */
+    public List<OrderDTO> toDTOList(List<Order> orders) {
+        return orders.stream().map(this::toDTO).toList();
+    }
+    
+    private OrderDTO.Item toItemDTO(OrderItem item) {
+        return OrderDTO.Item.builder()
+            .productId(item.getProduct().getId())
+            .sku(item.getProduct().getSku())
+            .productName(item.getProduct().getName())
+            .quantity(item.getQuantity())
+            .unitPrice(item.getUnitPrice())
+            .subtotal(item.getSubtotal())
+            .build();
+    }
+}
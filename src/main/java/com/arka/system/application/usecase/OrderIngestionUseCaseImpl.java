@@ -0,0 +1,179 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.port.in.OrderIngestionUseCase;
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.shared.dto.CheckoutResult;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+import com.arka.system.shared.exception.OrderQueueFullException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesta de órdenes con group commit.
+ * 
+ * Se activa con arka.orders.group-commit.enabled=true. Las órdenes entran en una cola acotada
+ * y un único hilo las saca en lotes de hasta batch-size: en cuanto llega la primera espera como
+ * mucho linger a que se sumen más y crea el lote con OrderManagementUseCase.createOrders, en
+ * una sola transacción. Así, en un pico de ventas, el coste de abrir y confirmar transacciones
+ * y los viajes a la base de datos se reparten entre todas las órdenes del lote.
+ * 
+ * Si la cola está llena, la orden se rechaza de inmediato con OrderQueueFullException (HTTP 429)
+ * en vez de acumular esperas. Si falla el lote completo (no una orden concreta), sus órdenes
+ * se reintentan una a una para que una orden defectuosa no arrastre a las demás.
+ */
+@Service
+@ConditionalOnProperty(name = "arka.orders.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class OrderIngestionUseCaseImpl implements OrderIngestionUseCase {
+    
+    private final OrderManagementUseCase orderManagementUseCase;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int batchSize;
+    private final Duration linger;
+    private final Thread committer;
+    
+    private volatile boolean running = true;
+    
+    public OrderIngestionUseCaseImpl(
+            OrderManagementUseCase orderManagementUseCase,
+            @Value("${arka.orders.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${arka.orders.group-commit.batch-size:100}") int batchSize,
+            @Value("${arka.orders.group-commit.linger:5ms}") Duration linger) {
+        this.orderManagementUseCase = orderManagementUseCase;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.committer = new Thread(this::commitLoop, "order-group-commit");
+        this.committer.setDaemon(true);
+    }
+    
+    @PostConstruct
+    void start() {
+        committer.start();
+        log.info("Order group commit started (queue capacity {}, batch size {}, linger {})",
+            queue.remainingCapacity(), batchSize, linger);
+    }
+    
+    @PreDestroy
+    void stop() {
+        // El hilo termina el lote en curso y los que queden en la cola antes de salir
+        running = false;
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingOrder> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+            new IllegalStateException("La ingesta de órdenes se detuvo antes de procesar la orden")));
+    }
+    
+    @Override
+    public CompletableFuture<OrderDTO> submitOrder(CreateOrderCommand command) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new OrderQueueFullException("La ingesta de órdenes está detenida"));
+        }
+        PendingOrder pending = new PendingOrder(command, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            log.warn("Order queue full, rejecting order for customer {}", command.getCustomerId());
+            return CompletableFuture.failedFuture(new OrderQueueFullException(
+                "Cola de órdenes llena; reintente en unos instantes"));
+        }
+        return pending.result();
+    }
+    
+    private void commitLoop() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(
+                    new IllegalStateException("La ingesta de órdenes se interrumpió antes de procesar la orden")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in order group commit", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Completa el lote con lo que ya esté en la cola y, si no llega a batchSize, espera como
+     * mucho linger desde la primera orden a que lleguen más
+     */
+    private void fill(List<PendingOrder> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + linger.toNanos();
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+    
+    private void commit(List<PendingOrder> batch) {
+        List<CheckoutResult> results;
+        try {
+            results = orderManagementUseCase.createOrders(batch.stream().map(PendingOrder::command).toList());
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} orders failed, retrying them one by one", batch.size(), e);
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        
+        for (int i = 0; i < batch.size(); i++) {
+            CheckoutResult result = results.get(i);
+            CompletableFuture<OrderDTO> future = batch.get(i).result();
+            if (result.getError() != null) {
+                future.completeExceptionally(result.getError());
+            } else {
+                future.complete(result.getOrder());
+            }
+        }
+    }
+    
+    private void commitAlone(PendingOrder pending) {
+        try {
+            pending.result().complete(orderManagementUseCase.createOrder(pending.command()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+    
+    private record PendingOrder(CreateOrderCommand command, CompletableFuture<OrderDTO> result) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.model.Customer;
+import com.arka.system.domain.model.Order;
+import com.arka.system.domain.model.Order.OrderStatus;
+import com.arka.system.domain.model.OrderItem;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.domain.port.out.CustomerRepositoryPort;
+import com.arka.system.domain.port.out.OrderRepositoryPort;
+import com.arka.system.domain.port.out.ProductRepositoryPort;
+import com.arka.system.domain.port.out.StockHoldRepositoryPort;
+import com.arka.system.domain.service.InventoryDomainService;
+import com.arka.system.domain.service.PricingDomainService;
+import com.arka.system.shared.dto.AbandonedOrderSweep;
+import com.arka.system.shared.dto.CheckoutResult;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+import com.arka.system.shared.exception.InsufficientStockException;
+import com.arka.system.shared.exception.OrderNotFoundException;
+import com.arka.system.shared.exception.ProductNotFoundException;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación de los casos de uso de gestión de órdenes.
+ * 
+ * El checkout es una única transacción con un número fijo de sentencias, sea cual sea el
+ * número de líneas: lectura del cliente, lectura de todos los productos en una consulta,
+ * lectura del stock vigente, validación y precios en memoria (InventoryDomainService y
+ * PricingDomainService), comprobación de ese stock frente a las unidades retenidas por
+ * reservas (StockHoldRepositoryPort), descuento de stock de todos los productos en un único batch de UPDATE condicionales y alta de
+ * la orden con sus líneas en batches JDBC. Si alguna línea no tiene stock, los descuentos ya
+ * aplicados se devuelven en un segundo batch antes de rechazar la orden.
+ * 
+ * createOrders repite el mismo checkout para varias órdenes en una sola transacción: las
+ * rechazadas no afectan a las demás y las aceptadas se insertan juntas al confirmar.
+ * cancelAbandonedOrders cancela las órdenes pendientes antiguas por lotes acotados, con una
+ * sola devolución de stock por lote.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderManagementUseCaseImpl implements OrderManagementUseCase {
+    
+    private final OrderRepositoryPort orderRepository;
+    private final CustomerRepositoryPort customerRepository;
+    private final ProductRepositoryPort productRepository;
+    private final StockHoldRepositoryPort stockHoldRepository;
+    private final InventoryDomainService inventoryDomainService;
+    private final PricingDomainService pricingDomainService;
+    private final OrderDTOMapper orderMapper;
+    
+    @Override
+    public OrderDTO createOrder(CreateOrderCommand command) {
+        Order savedOrder = orderRepository.save(checkout(command));
+        
+        log.info("Order {} created for customer {} with {} lines, total {}",
+            savedOrder.getId(), command.getCustomerId(), savedOrder.getOrderItems().size(), savedOrder.getTotalAmount());
+        return orderMapper.toDTO(savedOrder);
+    }
+    
+    @Override
+    public List<CheckoutResult> createOrders(List<CreateOrderCommand> commands) {
+        List<CheckoutResult> results = new ArrayList<>(commands.size());
+        int created = 0;
+        for (CreateOrderCommand command : commands) {
+            try {
+                // Los INSERT de todas las órdenes del lote se agrupan en batches JDBC al confirmar
+                Order savedOrder = orderRepository.save(checkout(command));
+                results.add(CheckoutResult.created(orderMapper.toDTO(savedOrder)));
+                created++;
+            } catch (ProductNotFoundException | InsufficientStockException | IllegalArgumentException | IllegalStateException e) {
+                results.add(CheckoutResult.rejected(e));
+            }
+        }
+        
+        log.info("Group commit of {} orders: {} created, {} rejected", commands.size(), created, commands.size() - created);
+        return results;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDTO getOrderById(Long orderId) {
+        return orderMapper.toDTO(findOrder(orderId));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByCustomer(Long customerId) {
+        return orderMapper.toDTOList(orderRepository.findByCustomerId(customerId));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersByStatus(OrderStatus status) {
+        return orderMapper.toDTOList(orderRepository.findByStatus(status));
+    }
+    
+    @Override
+    public OrderDTO confirmOrder(Long orderId) {
+        log.info("Confirming order with ID: {}", orderId);
+        
+        Order order = findOrder(orderId);
+        if (order.getStatus() != OrderStatus.PENDING) {
+            throw new IllegalStateException("Sólo se pueden confirmar órdenes pendientes; la orden " + orderId + " está " + order.getStatus());
+        }
+        order.setStatus(OrderStatus.CONFIRMED);
+        
+        return orderMapper.toDTO(orderRepository.save(order));
+    }
+    
+    @Override
+    public OrderDTO cancelOrder(Long orderId) {
+        log.info("Cancelling order with ID: {}", orderId);
+        
+        Order order = findOrder(orderId);
+        if (order.getStatus() != OrderStatus.PENDING && order.getStatus() != OrderStatus.CONFIRMED) {
+            throw new IllegalStateException("No se puede cancelar la orden " + orderId + " en estado " + order.getStatus());
+        }
+        order.setStatus(OrderStatus.CANCELLED);
+        
+        // Devolver al stock lo descontado en el checkout, en un único lote
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        addQuantities(order, quantities);
+        List<Long> missing = productRepository.incrementStockAll(quantities);
+        if (!missing.isEmpty()) {
+            log.warn("Order {} cancelled but products {} no longer exist; their stock was not returned", orderId, missing);
+        }
+        
+        return orderMapper.toDTO(orderRepository.save(order));
+    }
+    
+    @Override
+    public AbandonedOrderSweep cancelAbandonedOrders(LocalDateTime cutoff, LocalDateTime afterDate, Long afterId, int limit) {
+        List<Order> orders = orderRepository.findPageByStatusAndOrderDateBefore(
+            OrderStatus.PENDING, cutoff, afterDate, afterId, limit);
+        if (orders.isEmpty()) {
+            return AbandonedOrderSweep.builder()
+                .lastOrderDate(afterDate)
+                .lastOrderId(afterId)
+                .lastPage(true)
+                .build();
+        }
+        
+        // El stock de todas las órdenes del lote se devuelve en un único batch
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Order order : orders) {
+            addQuantities(order, quantities);
+            order.setStatus(OrderStatus.CANCELLED);
+            orderRepository.save(order);
+        }
+        List<Long> missing = productRepository.incrementStockAll(quantities);
+        if (!missing.isEmpty()) {
+            log.warn("Abandoned orders cancelled but products {} no longer exist; their stock was not returned", missing);
+        }
+        
+        Order last = orders.get(orders.size() - 1);
+        return AbandonedOrderSweep.builder()
+            .cancelledOrders(orders.size())
+            .releasedUnits(quantities.values().stream().mapToLong(Integer::longValue).sum())
+            .lastOrderDate(last.getOrderDate())
+            .lastOrderId(last.getId())
+            .lastPage(orders.size() < limit)
+            .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal calculateOrderTotal(Long orderId) {
+        Order order = findOrder(orderId);
+        return pricingDomainService.calculateTotalWithTax(pricingDomainService.calculateOrderTotal(order.getOrderItems()));
+    }
+    
+    /**
+     * Valida y calcula la orden y descuenta su stock, sin guardarla. Si alguna línea no tiene
+     * stock, devuelve el de las líneas ya descontadas antes de lanzar la excepción, de modo que
+     * la transacción puede seguir con otras órdenes (createOrders)
+     */
+    private Order checkout(CreateOrderCommand command) {
+        Map<Long, Integer> quantities = command.toQuantitiesByProduct();
+        log.debug("Checking out order for customer {} with {} products", command.getCustomerId(), quantities.size());
+        
+        Customer customer = customerRepository.findById(command.getCustomerId())
+            .filter(Customer::getActive)
+            .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado o inactivo con ID: " + command.getCustomerId()));
+        
+        List<Product> products = productRepository.findByIds(new ArrayList<>(quantities.keySet()));
+        if (products.size() < quantities.size()) {
+            Set<Long> missing = new HashSet<>(quantities.keySet());
+            products.forEach(product -> missing.remove(product.getId()));
+            throw new ProductNotFoundException("Productos no encontrados con ID: " + missing);
+        }
+        
+        // El stock vigente (el del libro si está activo) se lee una vez: la columna puede ir por detrás
+        Map<Long, Integer> stockQuantities = productRepository.findStockQuantities(quantities.keySet());
+        
+        // Validación y precios en memoria: descuento por volumen sobre cada línea
+        List<OrderItem> items = new ArrayList<>(products.size());
+        for (Product product : products) {
+            int quantity = quantities.get(product.getId());
+            int stockQuantity = stockQuantities.getOrDefault(product.getId(), product.getStockQuantity());
+            inventoryDomainService.validateStockAvailability(product, stockQuantity, quantity);
+            BigDecimal unitPrice = pricingDomainService.calculateVolumeDiscount(product.getSalePrice(), quantity);
+            
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            item.setUnitPrice(unitPrice);
+            item.setSubtotal(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+            items.add(item);
+        }
+        BigDecimal subtotal = pricingDomainService.calculateOrderTotal(items);
+        
+        // Las unidades retenidas por reservas vigentes no se pueden vender: se comprueba el disponible
+        // y se retiene lo vendido hasta el fin de la transacción, antes de tocar el stock
+        List<Long> held = stockHoldRepository.claimForSale(quantities, stockQuantities);
+        if (!held.isEmpty()) {
+            log.warn("Checkout rejected for customer {}: stock held by reservations for products {}", customer.getId(), held);
+            throw new InsufficientStockException("Stock insuficiente para los productos con ID: " + held);
+        }
+        
+        // Descuento de stock en un único lote; si falta stock se devuelven las líneas ya aplicadas
+        List<Long> rejected = productRepository.decrementStockAll(quantities);
+        if (!rejected.isEmpty()) {
+            stockHoldRepository.releaseSaleClaim(quantities);
+            Map<Long, Integer> applied = new LinkedHashMap<>(quantities);
+            rejected.forEach(applied::remove);
+            if (!applied.isEmpty()) {
+                productRepository.incrementStockAll(applied);
+            }
+            log.warn("Checkout rejected for customer {}: insufficient stock for products {}", customer.getId(), rejected);
+            throw new InsufficientStockException("Stock insuficiente para los productos con ID: " + rejected);
+        }
+        
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus(OrderStatus.PENDING);
+        order.setNotes(command.getNotes());
+        order.setTotalAmount(pricingDomainService.calculateTotalWithTax(subtotal));
+        order.setOrderItems(items);
+        return order;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalSalesBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la de fin");
+        }
+        return orderRepository.getTotalSalesBetween(startDate, endDate);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long rebuildSalesRollup() {
+        log.info("Rebuilding sales rollup");
+        return orderRepository.rebuildSalesRollup();
+    }
+    
+    private static void addQuantities(Order order, Map<Long, Integer> quantities) {
+        if (order.getOrderItems() != null) {
+            order.getOrderItems().forEach(item -> quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum));
+        }
+    }
+    
+    private Order findOrder(Long orderId) {
+        return orderRepository.findById(orderId)
+            .orElseThrow(() -> new OrderNotFoundException("Orden no encontrada con ID: " + orderId));
+    }
+}
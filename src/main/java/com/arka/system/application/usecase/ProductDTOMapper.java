@@ -1,21 +1,37 @@
 package com.arka.system.application.usecase;
 
 import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductSummary;
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.port.out.StockLevelPort;
 import com.arka.system.shared.dto.ProductDTO;
 import com.arka.system.shared.dto.CategoryDTO;
 import com.arka.system.shared.dto.ProductAttributeDTO;
+import com.arka.system.shared.dto.CreateProductCommand;
+import com.arka.system.shared.dto.UpdateProductCommand;
 
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Mapper para conversión entre entidades Product y DTOs.
+ * 
+ * toDTO recorre categoría y atributos, por lo que espera un producto cargado con el plan
+ * "detalle"; toSummaryDTO no toca los atributos y es el que deben usar los listados.
+ * Si hay un StockLevelPort (libro de stock activo), el stock se toma de él y no de la fila.
  */
 @Component
 public class ProductDTOMapper {
     
+    private final StockLevelPort stockLevels;
+    
+    public ProductDTOMapper(Optional<StockLevelPort> stockLevels) {
+        this.stockLevels = stockLevels.orElse(null);
+    }
+    
     /**
      * Convierte una entidad Product a ProductDTO
      */
@@ -32,7 +48,7 @@ public class ProductDTOMapper {
             .brand(product.getBrand())
             .purchasePrice(product.getPurchasePrice())
             .salePrice(product.getSalePrice())
-            .stockQuantity(product.getStockQuantity())
+            .stockQuantity(currentStock(product.getId(), product.getStockQuantity()))
             .minimumStock(product.getMinimumStock())
             .weight(product.getWeight())
             .dimensions(product.getDimensions())
@@ -46,6 +62,72 @@ public class ProductDTOMapper {
             .build();
     }
     
+    /**
+     * Convierte una entidad Product a ProductDTO sin atributos (vista de listado).
+     * No accede a la colección perezosa de atributos, evitando una consulta por producto.
+     */
+    public ProductDTO toSummaryDTO(Product product) {
+        if (product == null) {
+            return null;
+        }
+        
+        return ProductDTO.builder()
+            .id(product.getId())
+            .sku(product.getSku())
+            .name(product.getName())
+            .description(product.getDescription())
+            .brand(product.getBrand())
+            .purchasePrice(product.getPurchasePrice())
+            .salePrice(product.getSalePrice())
+            .stockQuantity(currentStock(product.getId(), product.getStockQuantity()))
+            .minimumStock(product.getMinimumStock())
+            .weight(product.getWeight())
+            .dimensions(product.getDimensions())
+            .active(product.getActive())
+            .category(toCategoryDTO(product.getCategory()))
+            .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
+            .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+            .createdAt(product.getCreatedAt())
+            .updatedAt(product.getUpdatedAt())
+            .build();
+    }
+    
+    /**
+     * Convierte una proyección ProductSummary a ProductDTO (vista de listado sin descripción ni atributos)
+     */
+    public ProductDTO toSummaryDTO(ProductSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+        
+        return ProductDTO.builder()
+            .id(summary.id())
+            .sku(summary.sku())
+            .name(summary.name())
+            .brand(summary.brand())
+            .purchasePrice(summary.purchasePrice())
+            .salePrice(summary.salePrice())
+            .stockQuantity(currentStock(summary.id(), summary.stockQuantity()))
+            .minimumStock(summary.minimumStock())
+            .active(summary.active())
+            .categoryId(summary.categoryId())
+            .categoryName(summary.categoryName())
+            .build();
+    }
+    
+    /**
+     * Convierte una lista de entidades Product a lista de ProductDTO sin atributos
+     */
+    public List<ProductDTO> toSummaryDTOList(List<Product> products) {
+        if (products == null) {
+            return null;
+        }
+        
+        return products.stream()
+            .map(this::toSummaryDTO)
+            .collect(Collectors.toList());
+    }
+    
     /**
      * Convierte una lista de entidades Product a lista de ProductDTO
      */
@@ -59,6 +141,47 @@ public class ProductDTOMapper {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Construye una nueva entidad Product (activa) a partir del comando de creación
+     */
+    public Product toNewProduct(CreateProductCommand command) {
+        return Product.builder()
+            .sku(command.getSku())
+            .name(command.getName())
+            .description(command.getDescription())
+            .brand(command.getBrand())
+            .purchasePrice(command.getPurchasePrice())
+            .salePrice(command.getSalePrice())
+            .stockQuantity(command.getInitialStock())
+            .minimumStock(command.getMinimumStock())
+            .weight(command.getWeight())
+            .dimensions(command.getDimensions())
+            .active(true)
+            .category(Category.builder().id(command.getCategoryId()).build())
+            .build();
+    }
+    
+    /**
+     * Aplica los campos del comando de actualización sobre un producto existente
+     */
+    public Product applyUpdate(Product product, UpdateProductCommand command) {
+        product.setSku(command.getSku());
+        product.setName(command.getName());
+        product.setDescription(command.getDescription());
+        product.setBrand(command.getBrand());
+        product.setPurchasePrice(command.getPurchasePrice());
+        product.setSalePrice(command.getSalePrice());
+        product.setMinimumStock(command.getMinimumStock());
+        product.setWeight(command.getWeight());
+        product.setDimensions(command.getDimensions());
+        
+        if (command.getCategoryId() != null) {
+            product.setCategory(Category.builder().id(command.getCategoryId()).build());
+        }
+        
+        return product;
+    }
+    
     /**
      * Convierte CategoryDTO (método auxiliar)
      */
@@ -104,4 +227,11 @@ public class ProductDTOMapper {
             .attributeValue(attribute.getAttributeValue())
             .build();
     }
+    
+    private Integer currentStock(Long productId, Integer stockQuantity) {
+        if (stockLevels == null || productId == null) {
+            return stockQuantity;
+        }
+        return stockLevels.findCurrentStock(productId).orElse(stockQuantity);
+    }
 }
@@ -2,27 +2,56 @@ package com.arka.system.application.usecase;
 
 import com.arka.system.domain.port.in.ProductManagementUseCase;
 import com.arka.system.domain.port.out.ProductRepositoryPort;
+import com.arka.system.domain.port.out.LowStockPort;
+import com.arka.system.domain.port.out.ProductFacetPort;
+import com.arka.system.domain.port.out.ProductSearchPort;
+import com.arka.system.domain.port.out.ProductSuggestPort;
+import com.arka.system.domain.port.out.StockHoldRepositoryPort;
 import com.arka.system.domain.model.Product;
-import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.StockHold;
 import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.dto.CursorPage;
+import com.arka.system.shared.dto.ProductField;
+import com.arka.system.shared.dto.ProductFacetsDTO;
+import com.arka.system.shared.dto.ProductCursor;
+import com.arka.system.shared.dto.ProductSuggestion;
 import com.arka.system.shared.dto.CreateProductCommand;
 import com.arka.system.shared.dto.UpdateProductCommand;
 import com.arka.system.shared.exception.ProductNotFoundException;
 import com.arka.system.shared.exception.DuplicateSkuException;
 import com.arka.system.shared.exception.InsufficientStockException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * Implementación de los casos de uso de gestión de productos.
  * Contiene la lógica de negocio para todas las operaciones relacionadas con productos.
+ * 
+ * Los listados usan el plan de carga "resumen" (producto + categoría, sin atributos) y
+ * las consultas de un único producto el plan "detalle", de modo que cada operación de
+ * lectura se resuelve con una sola sentencia SQL. Los listados completos del catálogo se
+ * leen como proyecciones ProductSummary, sin hidratar entidades gestionadas.
+ * 
+ * Las búsquedas de texto se resuelven en el índice de ProductSearchPort (por relevancia) y
+ * sólo recurren a la consulta LIKE mientras el índice se está construyendo. Los productos con
+ * stock bajo se leen del conjunto incremental de LowStockPort, con la misma salvedad.
+ * 
+ * Las reservas no descuentan stock_quantity: crean reservas temporales (holds) que vencen
+ * tras arka.inventory.hold-ttl. El stock se descuenta al confirmar la venta, y tanto la
+ * confirmación como la liberación actúan sólo sobre la reserva indicada por su ID (o, en las
+ * variantes obsoletas por producto, sobre una reserva de una sola línea equivalente).
  */
 @Service
 @RequiredArgsConstructor
@@ -32,6 +61,22 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
     
     private final ProductRepositoryPort productRepository;
     private final ProductDTOMapper productMapper;
+    private final StockHoldRepositoryPort stockHoldRepository;
+    private final ProductSearchPort productSearch;
+    private final ProductSuggestPort productSuggest;
+    private final ProductFacetPort productFacets;
+    private final LowStockPort lowStock;
+    
+    /**
+     * Reservas candidatas que prueban los endpoints obsoletos por producto
+     */
+    private static final int LEGACY_CANDIDATES = 5;
+    
+    @Value("${arka.inventory.hold-ttl:15m}")
+    private Duration holdTtl;
+    
+    @Value("${arka.search.max-results:1000}")
+    private int maxSearchResults;
     
     @Override
     public ProductDTO createProduct(CreateProductCommand command) {
@@ -43,20 +88,7 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
         }
         
         // Crear entidad de producto
-        Product product = Product.builder()
-            .sku(command.getSku())
-            .name(command.getName())
-            .description(command.getDescription())
-            .brand(command.getBrand())
-            .purchasePrice(command.getPurchasePrice())
-            .salePrice(command.getSalePrice())
-            .stockQuantity(command.getInitialStock())
-            .minimumStock(command.getMinimumStock())
-            .weight(command.getWeight())
-            .dimensions(command.getDimensions())
-            .active(true)
-            .category(Category.builder().id(command.getCategoryId()).build())
-            .build();
+        Product product = productMapper.toNewProduct(command);
         
         Product savedProduct = productRepository.save(product);
         
@@ -68,7 +100,8 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
     public ProductDTO updateProduct(Long productId, UpdateProductCommand command) {
         log.info("Updating product with ID: {}", productId);
         
-        Product existingProduct = productRepository.findById(productId)
+        // Plan "detalle": la respuesta incluye los atributos, que quedan cargados en la misma consulta
+        Product existingProduct = productRepository.findDetailById(productId)
             .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + productId));
         
         // Validar SKU si cambió
@@ -78,19 +111,7 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
         }
         
         // Actualizar campos
-        existingProduct.setSku(command.getSku());
-        existingProduct.setName(command.getName());
-        existingProduct.setDescription(command.getDescription());
-        existingProduct.setBrand(command.getBrand());
-        existingProduct.setPurchasePrice(command.getPurchasePrice());
-        existingProduct.setSalePrice(command.getSalePrice());
-        existingProduct.setMinimumStock(command.getMinimumStock());
-        existingProduct.setWeight(command.getWeight());
-        existingProduct.setDimensions(command.getDimensions());
-        
-        if (command.getCategoryId() != null) {
-            existingProduct.setCategory(Category.builder().id(command.getCategoryId()).build());
-        }
+        productMapper.applyUpdate(existingProduct, command);
         
         Product updatedProduct = productRepository.save(existingProduct);
         
@@ -101,116 +122,221 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
     @Override
     @Transactional(readOnly = true)
     public Optional<ProductDTO> getProductById(Long productId) {
-        return productRepository.findById(productId)
+        return productRepository.findDetailById(productId)
             .map(productMapper::toDTO);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Optional<ProductDTO> getProductBySku(String sku) {
-        return productRepository.findBySku(sku)
+        return productRepository.findDetailBySku(sku)
             .map(productMapper::toDTO);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> getAllActiveProducts() {
-        return productRepository.findAllActive().stream()
-            .map(productMapper::toDTO)
+        return productRepository.findActiveSummaries().stream()
+            .map(productMapper::toSummaryDTO)
             .collect(Collectors.toList());
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId).stream()
-            .map(productMapper::toDTO)
+        return productRepository.findActiveSummariesByCategoryId(categoryId).stream()
+            .map(productMapper::toSummaryDTO)
             .collect(Collectors.toList());
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> searchProducts(String searchText) {
+        if (productSearch.isReady()) {
+            List<Long> ids = productSearch.search(searchText, 0, maxSearchResults);
+            return productMapper.toSummaryDTOList(productRepository.findByIds(ids));
+        }
+        
         return productRepository.findByNameOrDescriptionOrBrandContaining(searchText).stream()
-            .map(productMapper::toDTO)
+            .map(productMapper::toSummaryDTO)
             .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        return productSuggest.suggest(prefix, limit);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProductFacetsDTO getProductFacets(Long categoryId, String brand, String priceBand) {
+        log.debug("Counting facets (category: {}, brand: {}, priceBand: {})", categoryId, brand, priceBand);
+        
+        return productFacets.countFacets(categoryId, brand, priceBand);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getActiveProductFields(List<ProductField> fields, Long categoryId, boolean lowStockOnly) {
+        log.debug("Selecting fields {} of active products (category: {}, lowStockOnly: {})", fields, categoryId, lowStockOnly);
+        
+        return productRepository.findActiveFields(fields, categoryId, lowStockOnly);
+    }
+    
     @Override
     public ProductDTO updateStock(Long productId, Integer quantity) {
         log.info("Updating stock for product ID: {} to quantity: {}", productId, quantity);
         
-        Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + productId));
-        
-        boolean updated = productRepository.updateStock(productId, quantity);
-        if (!updated) {
-            throw new RuntimeException("Error al actualizar el stock del producto");
+        // El número de filas afectadas distingue "no encontrado" sin una lectura previa
+        if (!productRepository.updateStock(productId, quantity)) {
+            throw new ProductNotFoundException("Producto no encontrado con ID: " + productId);
         }
         
-        // Recargar el producto actualizado
-        product = productRepository.findById(productId).get();
+        Product product = productRepository.findDetailById(productId)
+            .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + productId));
         
         log.info("Stock updated successfully for product ID: {}", productId);
         return productMapper.toDTO(product);
     }
     
     @Override
-    public boolean reserveStock(Long productId, Integer quantity) {
+    public Optional<String> reserveStock(Long productId, Integer quantity) {
         log.info("Attempting to reserve {} units of product ID: {}", quantity, productId);
         
-        Product product = productRepository.findById(productId)
+        // Dos sentencias si se reserva (lectura del stock e INSERT de la retención); una si se rechaza
+        Integer stock = productRepository.findStockQuantity(productId)
             .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + productId));
         
-        if (product.getStockQuantity() < quantity) {
-            log.warn("Insufficient stock for product ID: {}. Available: {}, Requested: {}", 
-                     productId, product.getStockQuantity(), quantity);
-            return false;
+        // El disponible (stock - retenido) se comprueba y se retiene de forma atómica en memoria
+        Optional<String> reservationId = stockHoldRepository.placeHolds(
+            Map.of(productId, quantity), Map.of(productId, stock), holdTtl);
+        if (reservationId.isPresent()) {
+            log.info("Successfully reserved {} units of product ID: {} for {} (reservation: {})",
+                quantity, productId, holdTtl, reservationId.get());
+        } else {
+            log.warn("Insufficient stock to reserve {} units of product ID: {}", quantity, productId);
+        }
+        return reservationId;
+    }
+    
+    @Override
+    public Optional<String> reserveStock(Map<Long, Integer> quantities) {
+        log.info("Attempting to reserve stock for {} products", quantities.size());
+        
+        Map<Long, Integer> stock = productRepository.findStockQuantities(quantities.keySet());
+        for (Long productId : quantities.keySet()) {
+            if (!stock.containsKey(productId)) {
+                throw new ProductNotFoundException("Producto no encontrado con ID: " + productId);
+            }
         }
         
-        boolean reserved = productRepository.decrementStock(productId, quantity);
-        
-        if (reserved) {
-            log.info("Successfully reserved {} units of product ID: {}", quantity, productId);
+        // Todo o nada: si alguna línea no alcanza, no se retiene ninguna
+        Optional<String> reservationId = stockHoldRepository.placeHolds(quantities, stock, holdTtl);
+        if (reservationId.isPresent()) {
+            log.info("Successfully reserved stock for {} products (reservation: {})", quantities.size(), reservationId.get());
         } else {
-            log.warn("Failed to reserve stock for product ID: {}", productId);
+            log.warn("Insufficient stock to reserve products: {}", quantities.keySet());
+        }
+        return reservationId;
+    }
+    
+    @Override
+    public void releaseStock(String reservationId) {
+        log.info("Releasing reservation: {}", reservationId);
+        
+        // Sólo se eliminan las líneas de esta reserva; el stock no se modifica
+        List<StockHold> released = stockHoldRepository.removeReservation(reservationId);
+        if (released.isEmpty()) {
+            log.info("Reservation {} is unknown or already expired; nothing to release", reservationId);
+            return;
         }
         
-        return reserved;
+        log.info("Successfully released reservation {} ({} lines)", reservationId, released.size());
     }
     
     @Override
-    public void releaseStock(Long productId, Integer quantity) {
-        log.info("Releasing {} units of product ID: {}", quantity, productId);
+    public List<ProductDTO> confirmSale(String reservationId) {
+        log.info("Confirming sale for reservation: {}", reservationId);
+        
+        // Las líneas se eliminan con DELETE por ID, por lo que una reserva sólo se confirma una vez;
+        // si ya venció no queda nada retenido y no se descuenta stock
+        List<StockHold> holds = stockHoldRepository.removeReservation(reservationId);
+        if (holds.isEmpty()) {
+            log.warn("Reservation {} is unknown or already expired; sale not confirmed", reservationId);
+            return List.of();
+        }
         
-        boolean released = productRepository.incrementStock(productId, quantity);
-        if (!released) {
-            log.error("Failed to release stock for product ID: {}", productId);
-            throw new RuntimeException("Error al liberar el stock del producto");
+        Map<Long, Integer> quantities = new TreeMap<>();
+        holds.forEach(hold -> quantities.merge(hold.getProductId(), hold.getQuantity(), Integer::sum));
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Long productId = line.getKey();
+            // Si falla, el rollback restaura también las líneas de la reserva
+            if (!productRepository.decrementStock(productId, line.getValue())) {
+                if (!productRepository.existsById(productId)) {
+                    throw new ProductNotFoundException("Producto no encontrado con ID: " + productId);
+                }
+                throw new InsufficientStockException("Stock insuficiente para confirmar la venta del producto con ID: " + productId);
+            }
         }
         
-        log.info("Successfully released {} units of product ID: {}", quantity, productId);
+        List<ProductDTO> products = quantities.keySet().stream()
+            .map(productId -> productRepository.findDetailById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + productId)))
+            .map(productMapper::toDTO)
+            .collect(Collectors.toList());
+        
+        log.info("Sale confirmed for reservation {} ({} products)", reservationId, products.size());
+        return products;
     }
     
+    /**
+     * Las reservas de una sola línea con el mismo producto y cantidad son intercambiables: se
+     * libera la que vence antes y, si otra operación acaba de eliminarla, la siguiente
+     */
     @Override
-    public ProductDTO confirmSale(Long productId, Integer quantity) {
-        log.info("Confirming sale of {} units of product ID: {}", quantity, productId);
-        
-        // En este caso, asumimos que el stock ya fue decrementado durante la reserva
-        // Solo necesitamos retornar el producto actualizado
-        Product product = productRepository.findById(productId)
+    @Deprecated
+    public boolean releaseStock(Long productId, Integer quantity) {
+        log.info("Releasing (deprecated) {} units of product ID: {}", quantity, productId);
+        
+        for (String reservationId : stockHoldRepository.findSingleLineReservations(productId, quantity, LEGACY_CANDIDATES)) {
+            if (!stockHoldRepository.removeReservation(reservationId).isEmpty()) {
+                log.info("Successfully released reservation {} of product ID: {}", reservationId, productId);
+                return true;
+            }
+        }
+        log.warn("No active reservation of {} units of product ID: {} to release", quantity, productId);
+        return false;
+    }
+    
+    @Override
+    @Deprecated
+    public Optional<ProductDTO> confirmSale(Long productId, Integer quantity) {
+        log.info("Confirming (deprecated) sale of {} units of product ID: {}", quantity, productId);
+        
+        for (String reservationId : stockHoldRepository.findSingleLineReservations(productId, quantity, LEGACY_CANDIDATES)) {
+            List<ProductDTO> products = confirmSale(reservationId);
+            if (!products.isEmpty()) {
+                return Optional.of(products.get(0));
+            }
+        }
+        log.warn("No active reservation of {} units of product ID: {} to confirm", quantity, productId);
+        return Optional.empty();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public int getAvailableStock(Long productId) {
+        Integer stock = productRepository.findStockQuantity(productId)
             .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + productId));
         
-        log.info("Sale confirmed for {} units of product ID: {}", quantity, productId);
-        return productMapper.toDTO(product);
+        return (int) Math.max(0, stock - stockHoldRepository.getHeldQuantity(productId));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> getLowStockProducts() {
-        return productRepository.findLowStockProducts().stream()
-            .map(productMapper::toDTO)
-            .collect(Collectors.toList());
+        return lowStockProducts();
     }
     
     @Override
@@ -244,7 +370,7 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
     public ProductDTO findById(Long productId) {
         log.debug("Finding product by ID: {}", productId);
         
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findDetailById(productId)
             .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + productId));
         
         return productMapper.toDTO(product);
@@ -255,7 +381,7 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
     public ProductDTO findBySku(String sku) {
         log.debug("Finding product by SKU: {}", sku);
         
-        Product product = productRepository.findBySku(sku)
+        Product product = productRepository.findDetailBySku(sku)
             .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con SKU: " + sku));
         
         return productMapper.toDTO(product);
@@ -267,17 +393,41 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
         log.debug("Finding all products with pagination: page={}, size={}", pageRequest.getPageNumber(), pageRequest.getPageSize());
         
         return productRepository.findAll(pageRequest).stream()
-            .map(productMapper::toDTO)
+            .map(productMapper::toSummaryDTO)
             .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> findActiveProductsPage(Long categoryId, String cursor, int size) {
+        ProductCursor position = ProductCursor.decode(cursor, categoryId);
+        log.debug("Finding active products after ID: {} (category: {}), size: {}", position.lastId(), categoryId, size);
+        
+        // Se pide un elemento extra para saber si existe una página siguiente sin ejecutar COUNT(*)
+        List<Product> window = categoryId != null
+            ? productRepository.findActiveByCategoryIdAfter(categoryId, position.lastId(), size + 1)
+            : productRepository.findActiveAfter(position.lastId(), size + 1);
+        
+        boolean hasMore = window.size() > size;
+        List<Product> pageItems = hasMore ? window.subList(0, size) : window;
+        String nextCursor = hasMore
+            ? new ProductCursor(categoryId, pageItems.get(pageItems.size() - 1).getId()).encode()
+            : null;
+        
+        return CursorPage.<ProductDTO>builder()
+            .items(productMapper.toSummaryDTOList(pageItems))
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> findByCategory(Long categoryId, org.springframework.data.domain.PageRequest pageRequest) {
         log.debug("Finding products by category ID: {} with pagination", categoryId);
         
         return productRepository.findByCategoryIdAndActiveTrue(categoryId, pageRequest).stream()
-            .map(productMapper::toDTO)
+            .map(productMapper::toSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -286,9 +436,14 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
     public List<ProductDTO> searchProducts(String searchText, org.springframework.data.domain.PageRequest pageRequest) {
         log.debug("Searching products with text: '{}' with pagination", searchText);
         
+        if (productSearch.isReady()) {
+            List<Long> ids = productSearch.search(searchText, (int) pageRequest.getOffset(), pageRequest.getPageSize());
+            return productMapper.toSummaryDTOList(productRepository.findByIds(ids));
+        }
+        
         return productRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrBrandContainingIgnoreCase(
                 searchText, searchText, searchText, pageRequest).stream()
-            .map(productMapper::toDTO)
+            .map(productMapper::toSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -297,8 +452,15 @@ public class ProductManagementUseCaseImpl implements ProductManagementUseCase {
     public List<ProductDTO> findLowStockProducts() {
         log.debug("Finding products with low stock");
         
-        return productRepository.findLowStockProducts().stream()
-            .map(productMapper::toDTO)
+        return lowStockProducts();
+    }
+    
+    private List<ProductDTO> lowStockProducts() {
+        if (lowStock.isReady()) {
+            return productMapper.toSummaryDTOList(productRepository.findByIds(lowStock.findLowStockIds()));
+        }
+        return productRepository.findLowStockSummaries().stream()
+            .map(productMapper::toSummaryDTO)
             .collect(Collectors.toList());
     }
     
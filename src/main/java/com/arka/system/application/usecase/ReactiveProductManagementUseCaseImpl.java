@@ -0,0 +1,282 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.port.in.ReactiveProductManagementUseCase;
+import com.arka.system.domain.port.out.CatalogChangePort;
+import com.arka.system.domain.port.out.LowStockPort;
+import com.arka.system.domain.port.out.ProductSearchPort;
+import com.arka.system.domain.port.out.ProductSuggestPort;
+import com.arka.system.domain.port.out.ReactiveProductRepositoryPort;
+import com.arka.system.domain.port.out.StockHoldRepositoryPort;
+import com.arka.system.domain.model.Product;
+import com.arka.system.shared.dto.CatalogChangeDTO;
+import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.dto.ProductCursor;
+import com.arka.system.shared.dto.ProductSuggestion;
+import com.arka.system.shared.dto.CreateProductCommand;
+import com.arka.system.shared.dto.UpdateProductCommand;
+import com.arka.system.shared.exception.ProductNotFoundException;
+import com.arka.system.shared.exception.DuplicateSkuException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación reactiva de los casos de uso de gestión de productos.
+ * Trabaja exclusivamente sobre ReactiveProductRepositoryPort (R2DBC), por lo que ninguna
+ * operación bloquea hilos. Las operaciones de escritura compuestas se ejecutan dentro de
+ * una transacción reactiva mediante TransactionalOperator. Las búsquedas de texto se
+ * resuelven en memoria con ProductSearchPort y sólo se leen de R2DBC los productos resultantes;
+ * lo mismo ocurre con los productos con stock bajo, mantenidos por LowStockPort.
+ * Las reservas de stock son la excepción: se comparten con la API bloqueante a través de
+ * StockHoldRepositoryPort y se ejecutan en blockingScheduler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProductManagementUseCaseImpl implements ReactiveProductManagementUseCase {
+
+    private final ReactiveProductRepositoryPort productRepository;
+    private final ProductDTOMapper productMapper;
+    private final TransactionalOperator transactionalOperator;
+    private final ProductSearchPort productSearch;
+    private final ProductSuggestPort productSuggest;
+    private final LowStockPort lowStock;
+    private final CatalogChangePort catalogChanges;
+    private final StockHoldRepositoryPort stockHoldRepository;
+    private final Scheduler blockingScheduler;
+
+    @Value("${arka.inventory.hold-ttl:15m}")
+    private Duration holdTtl;
+
+    @Override
+    public Mono<ProductDTO> createProduct(CreateProductCommand command) {
+        log.info("Creating new product (reactive) with SKU: {}", command.getSku());
+
+        return productRepository.existsBySku(command.getSku())
+            .flatMap(exists -> exists
+                ? Mono.<Product>error(new DuplicateSkuException("Ya existe un producto con el SKU: " + command.getSku()))
+                : productRepository.save(productMapper.toNewProduct(command)))
+            .map(productMapper::toDTO)
+            .as(transactionalOperator::transactional)
+            .doOnSuccess(product -> log.info("Product created successfully with ID: {}", product.getId()));
+    }
+
+    @Override
+    public Mono<ProductDTO> updateProduct(Long productId, UpdateProductCommand command) {
+        log.info("Updating product (reactive) with ID: {}", productId);
+
+        return productRepository.findById(productId)
+            .switchIfEmpty(Mono.error(() -> notFound(productId)))
+            .flatMap(existingProduct -> {
+                Mono<Boolean> skuTaken = existingProduct.getSku().equals(command.getSku())
+                    ? Mono.just(false)
+                    : productRepository.existsBySkuAndIdNot(command.getSku(), productId);
+
+                return skuTaken.flatMap(taken -> taken
+                    ? Mono.<Product>error(new DuplicateSkuException("Ya existe otro producto con el SKU: " + command.getSku()))
+                    : productRepository.save(productMapper.applyUpdate(existingProduct, command)));
+            })
+            .map(productMapper::toDTO)
+            .as(transactionalOperator::transactional)
+            .doOnSuccess(product -> log.info("Product updated successfully with ID: {}", productId));
+    }
+
+    @Override
+    public Mono<ProductDTO> findById(Long productId) {
+        log.debug("Finding product (reactive) by ID: {}", productId);
+
+        return productRepository.findById(productId)
+            .switchIfEmpty(Mono.error(() -> notFound(productId)))
+            .map(productMapper::toDTO);
+    }
+
+    @Override
+    public Mono<ProductDTO> findBySku(String sku) {
+        log.debug("Finding product (reactive) by SKU: {}", sku);
+
+        return productRepository.findBySku(sku)
+            .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Producto no encontrado con SKU: " + sku)))
+            .map(productMapper::toDTO);
+    }
+
+    @Override
+    public Flux<ProductDTO> findAll(PageRequest pageRequest) {
+        log.debug("Finding all products (reactive) with pagination: page={}, size={}",
+                  pageRequest.getPageNumber(), pageRequest.getPageSize());
+
+        return productRepository.findAll(pageRequest)
+            .map(productMapper::toSummaryDTO);
+    }
+
+    @Override
+    public Flux<ProductDTO> getAllActiveProducts() {
+        return productRepository.findAllActive()
+            .map(productMapper::toSummaryDTO);
+    }
+
+    @Override
+    public Flux<ProductDTO> streamActiveProducts(Long categoryId, String cursor, int chunkSize) {
+        return Mono.fromCallable(() -> ProductCursor.decode(cursor, categoryId))
+            .flatMap(position -> fetchActiveChunk(categoryId, position.lastId(), chunkSize))
+            .expand(chunk -> chunk.size() < chunkSize
+                ? Mono.empty()
+                : fetchActiveChunk(categoryId, chunk.get(chunk.size() - 1).getId(), chunkSize))
+            // prefetch 1: el siguiente bloque sólo se consulta cuando se consume el actual
+            .flatMapIterable(chunk -> chunk, 1)
+            .map(productMapper::toSummaryDTO);
+    }
+
+    private Mono<List<Product>> fetchActiveChunk(Long categoryId, Long afterId, int chunkSize) {
+        Flux<Product> chunk = categoryId != null
+            ? productRepository.findActiveByCategoryIdAfter(categoryId, afterId, chunkSize)
+            : productRepository.findActiveAfter(afterId, chunkSize);
+        return chunk.collectList();
+    }
+
+    @Override
+    public Flux<ProductDTO> findByCategory(Long categoryId, PageRequest pageRequest) {
+        log.debug("Finding products (reactive) by category ID: {} with pagination", categoryId);
+
+        return productRepository.findByCategoryIdAndActiveTrue(categoryId, pageRequest)
+            .map(productMapper::toSummaryDTO);
+    }
+
+    @Override
+    public Flux<ProductDTO> searchProducts(String searchText, PageRequest pageRequest) {
+        log.debug("Searching products (reactive) with text: '{}' with pagination", searchText);
+
+        if (productSearch.isReady()) {
+            List<Long> ids = productSearch.search(searchText, (int) pageRequest.getOffset(), pageRequest.getPageSize());
+            return productRepository.findByIds(ids)
+                .map(productMapper::toSummaryDTO);
+        }
+
+        return productRepository.findByNameOrDescriptionOrBrandContaining(searchText, pageRequest)
+            .map(productMapper::toSummaryDTO);
+    }
+
+    @Override
+    public Flux<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(productSuggest.suggest(prefix, limit)));
+    }
+
+    @Override
+    public Flux<CatalogChangeDTO> streamChanges(Long sinceSequence) {
+        log.debug("Streaming catalog changes since sequence {}", sinceSequence);
+
+        return catalogChanges.changesSince(sinceSequence);
+    }
+
+    @Override
+    public Flux<ProductDTO> findLowStockProducts() {
+        log.debug("Finding products (reactive) with low stock");
+
+        Flux<Product> products = lowStock.isReady()
+            ? Flux.defer(() -> productRepository.findByIds(lowStock.findLowStockIds()))
+            : productRepository.findLowStockProducts();
+        return products.map(productMapper::toSummaryDTO);
+    }
+
+    @Override
+    public Mono<Long> countLowStockProducts() {
+        return lowStock.isReady()
+            ? Mono.fromSupplier(() -> (long) lowStock.countLowStock())
+            : productRepository.findLowStockProducts().count();
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(Long productId) {
+        log.info("Deleting product (reactive) with ID: {}", productId);
+
+        return productRepository.existsById(productId)
+            .flatMap(exists -> exists
+                ? productRepository.deleteById(productId)
+                : Mono.<Void>error(notFound(productId)))
+            .as(transactionalOperator::transactional)
+            .doOnSuccess(ignored -> log.info("Product deleted successfully with ID: {}", productId));
+    }
+
+    @Override
+    public Mono<ProductDTO> updateStock(Long productId, Integer quantity) {
+        log.info("Updating stock (reactive) for product ID: {} to quantity: {}", productId, quantity);
+
+        return productRepository.updateStock(productId, quantity)
+            .flatMap(updated -> updated
+                ? productRepository.findById(productId)
+                : Mono.<Product>error(notFound(productId)))
+            .map(productMapper::toDTO)
+            .as(transactionalOperator::transactional)
+            .doOnSuccess(product -> log.info("Stock updated successfully for product ID: {}", productId));
+    }
+
+    @Override
+    public Mono<String> reserveStock(Long productId, Integer quantity) {
+        log.info("Attempting to reserve (reactive) {} units of product ID: {}", quantity, productId);
+
+        return productRepository.findById(productId)
+            .switchIfEmpty(Mono.error(() -> notFound(productId)))
+            .flatMap(product -> placeHolds(Map.of(productId, quantity), Map.of(productId, product.getStockQuantity())))
+            .doOnNext(reservationId -> log.info("Successfully reserved {} units of product ID: {} (reservation: {})",
+                quantity, productId, reservationId))
+            .switchIfEmpty(Mono.fromRunnable(() ->
+                log.warn("Insufficient stock to reserve {} units of product ID: {}", quantity, productId)));
+    }
+
+    @Override
+    public Mono<String> reserveStock(Map<Long, Integer> quantities) {
+        log.info("Attempting to reserve (reactive) stock for {} products", quantities.size());
+
+        return productRepository.findByIds(List.copyOf(quantities.keySet()))
+            .collectMap(Product::getId, Product::getStockQuantity)
+            .flatMap(stock -> quantities.keySet().stream()
+                .filter(productId -> !stock.containsKey(productId))
+                .findFirst()
+                .map(missing -> Mono.<String>error(notFound(missing)))
+                .orElseGet(() -> placeHolds(quantities, stock)))
+            .doOnNext(reservationId -> log.info("Successfully reserved (reactive) stock for {} products (reservation: {})",
+                quantities.size(), reservationId))
+            .switchIfEmpty(Mono.fromRunnable(() ->
+                log.warn("Insufficient stock to reserve (reactive) products: {}", quantities.keySet())));
+    }
+
+    @Override
+    public Mono<Void> releaseStock(String reservationId) {
+        log.info("Releasing (reactive) reservation: {}", reservationId);
+
+        return Mono.fromRunnable(() -> stockHoldRepository.removeReservation(reservationId))
+            .subscribeOn(blockingScheduler)
+            .then()
+            .doOnSuccess(ignored -> log.info("Successfully released reservation: {}", reservationId));
+    }
+
+    @Override
+    public Mono<Long> countActiveProducts() {
+        return productRepository.countActiveProducts();
+    }
+
+    /**
+     * Las reservas viven en StockHoldRepositoryPort (JPA), igual que en la API bloqueante, y se
+     * crean en blockingScheduler para no bloquear los hilos de eventos
+     */
+    private Mono<String> placeHolds(Map<Long, Integer> quantities, Map<Long, Integer> stock) {
+        return Mono.fromCallable(() -> stockHoldRepository.placeHolds(quantities, stock, holdTtl))
+            .subscribeOn(blockingScheduler)
+            .flatMap(Mono::justOrEmpty);
+    }
+
+    private ProductNotFoundException notFound(Long productId) {
+        return new ProductNotFoundException("Producto no encontrado con ID: " + productId);
+    }
+}
@@ -0,0 +1,13 @@
+package com.arka.system.domain.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado por el adaptador de persistencia de órdenes cuando cambia lo que una orden
+ * aporta a las ventas: pasa a un estado de venta (confirmada y posteriores), sale de él (p. ej.
+ * se cancela) o se elimina. Transporta la fecha de la orden y la variación del importe, positiva
+ * o negativa, para que los agregados de ventas se actualicen sin releer las órdenes.
+ */
+public record OrderSalesChangedEvent(LocalDateTime orderDate, BigDecimal amountDelta) {
+}
@@ -0,0 +1,20 @@
+package com.arka.system.domain.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Evento publicado por los adaptadores de persistencia cuando cambian productos
+ * (alta, modificación o eliminación). Sólo transporta los IDs: los consumidores
+ * releen el estado confirmado, por lo que aplicar un evento repetido es inocuo.
+ */
+public record ProductChangedEvent(Set<Long> productIds) {
+
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(Set.of(productId));
+    }
+
+    public static ProductChangedEvent of(Collection<Long> productIds) {
+        return new ProductChangedEvent(Set.copyOf(productIds));
+    }
+}
@@ -0,0 +1,21 @@
+package com.arka.system.domain.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Evento publicado por los adaptadores de persistencia cuando cambia el stock de productos
+ * (fijado, descontado o repuesto) o sus unidades retenidas por reservas, sin modificar el resto
+ * de la fila. Como ProductChangedEvent, sólo transporta los IDs y los consumidores releen el
+ * stock vigente.
+ */
+public record StockChangedEvent(Set<Long> productIds) {
+
+    public static StockChangedEvent of(Long productId) {
+        return new StockChangedEvent(Set.of(productId));
+    }
+
+    public static StockChangedEvent of(Collection<Long> productIds) {
+        return new StockChangedEvent(Set.copyOf(productIds));
+    }
+}
@@ -15,12 +15,15 @@ import java.util.List;
 
 /**
  * Entidad que representa una orden de compra (pedido) de un cliente.
+ * Los IDs de órdenes y líneas salen de secuencias con asignación por bloques (pooled), lo que
+ * permite a Hibernate agrupar los INSERT en batches JDBC; con IDENTITY cada INSERT va suelto.
  */
 @Entity
 @Table(name = "orders", indexes = {
     @Index(name = "idx_order_customer", columnList = "customer_id"),
     @Index(name = "idx_order_status", columnList = "status"),
-    @Index(name = "idx_order_date", columnList = "order_date")
+    @Index(name = "idx_order_date", columnList = "order_date"),
+    @Index(name = "idx_order_status_date", columnList = "status, order_date, id")
 })
 @Data
 @NoArgsConstructor
@@ -28,7 +31,8 @@ import java.util.List;
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "El cliente es obligatorio")
@@ -66,12 +70,35 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems;
     
+    /**
+     * Estado y total con que se leyó o guardó la orden por última vez. El adaptador de
+     * persistencia los compara con los actuales para saber cuánto cambian las ventas al guardar
+     */
+    @Transient
+    private transient OrderStatus persistedStatus;
+    
+    @Transient
+    private transient BigDecimal persistedTotalAmount;
+    
+    @PostLoad
+    public void rememberPersistedState() {
+        persistedStatus = status;
+        persistedTotalAmount = totalAmount;
+    }
+    
     public enum OrderStatus {
         PENDING,        // Pendiente
         CONFIRMED,      // Confirmado
         IN_PREPARATION, // En preparación
         SHIPPED,        // Enviado
         DELIVERED,      // Entregado
-        CANCELLED       // Cancelado
+        CANCELLED;      // Cancelado
+        
+        /**
+         * Confirmada y posteriores, salvo cancelada: la orden cuenta como venta
+         */
+        public boolean isSale() {
+            return this != PENDING && this != CANCELLED;
+        }
     }
 }
@@ -24,7 +24,7 @@ import java.util.List;
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_sku", columnList = "sku", unique = true),
     @Index(name = "idx_product_brand", columnList = "brand"),
-    @Index(name = "idx_product_category", columnList = "category_id")
+    @Index(name = "idx_product_category", columnList = "category_id, id")
 })
 @Data
 @NoArgsConstructor
@@ -68,7 +68,9 @@ public class Product {
     @Builder.Default
     @NotNull(message = "El stock actual es obligatorio")
     @PositiveOrZero(message = "El stock no puede ser negativo")
-    @Column(name = "stock_quantity", nullable = false)
+    // Sólo se escribe en el alta y con los UPDATE de stock del repositorio: un guardado de la
+    // entidad completa no puede pisar movimientos aplicados después de cargarla (p. ej. el volcado del libro)
+    @Column(name = "stock_quantity", nullable = false, updatable = false)
     private Integer stockQuantity = 0;
     
     @Builder.Default
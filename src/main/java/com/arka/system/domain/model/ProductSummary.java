@@ -0,0 +1,22 @@
+package com.arka.system.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de solo lectura de un producto para vistas de listado.
+ * Se construye directamente desde la consulta (no es una entidad gestionada), por lo que
+ * no genera snapshots de dirty-checking ni proxies, y omite columnas pesadas como la descripción.
+ */
+public record ProductSummary(
+        Long id,
+        String sku,
+        String name,
+        String brand,
+        BigDecimal purchasePrice,
+        BigDecimal salePrice,
+        Integer stockQuantity,
+        Integer minimumStock,
+        Boolean active,
+        Long categoryId,
+        String categoryName) {
+}
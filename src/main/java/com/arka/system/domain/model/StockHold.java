@@ -0,0 +1,55 @@
+package com.arka.system.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una reserva temporal (hold) de stock de un producto.
+ * Las unidades retenidas no se descuentan de stock_quantity hasta confirmar la venta;
+ * si la reserva vence sin confirmarse, se libera automáticamente. Las líneas de una misma
+ * reserva comparten reservationId, que es lo único con lo que se liberan o confirman.
+ */
+@Entity
+@Table(name = "stock_holds", indexes = {
+    @Index(name = "idx_stock_hold_product", columnList = "product_id, expires_at"),
+    @Index(name = "idx_stock_hold_reservation", columnList = "reservation_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockHold {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull(message = "La reserva es obligatoria")
+    @Column(name = "reservation_id", nullable = false, length = 36)
+    private String reservationId;
+    
+    @NotNull(message = "El producto es obligatorio")
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @NotNull(message = "La cantidad es obligatoria")
+    @Positive(message = "La cantidad debe ser mayor a cero")
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+    
+    @NotNull(message = "La fecha de vencimiento es obligatoria")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
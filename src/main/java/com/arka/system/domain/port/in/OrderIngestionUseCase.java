@@ -0,0 +1,24 @@
+package com.arka.system.domain.port.in;
+
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Puerto de entrada para la ingesta de órdenes en picos de venta.
+ * 
+ * Las órdenes se encolan y se crean por lotes (group commit) en lugar de abrir una transacción
+ * por petición; quien llama recibe un futuro por orden.
+ */
+public interface OrderIngestionUseCase {
+    
+    /**
+     * Encolar una orden para crearla en el próximo lote
+     * @param command Cliente y líneas de la orden
+     * @return Futuro que se completa con la orden creada o con la excepción que la rechazó
+     *         (las mismas que OrderManagementUseCase.createOrder). Si la cola está llena se
+     *         completa de inmediato con OrderQueueFullException
+     */
+    CompletableFuture<OrderDTO> submitOrder(CreateOrderCommand command);
+}
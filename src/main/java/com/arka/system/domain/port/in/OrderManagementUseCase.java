@@ -1,37 +1,116 @@
 package com.arka.system.domain.port.in;
 
-// TODO: Crear estos DTOs cuando se implemente la funcionalidad de órdenes
-//import com.arka.system.shared.dto.OrderDTO;
-//import com.arka.system.shared.dto.CreateOrderCommand;
-//import com.arka.system.shared.dto.UpdateOrderCommand;
 import com.arka.system.domain.model.Order.OrderStatus;
+import com.arka.system.shared.dto.AbandonedOrderSweep;
+import com.arka.system.shared.dto.CheckoutResult;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Puerto de entrada para casos de uso de gestión de órdenes.
  * Define las operaciones disponibles para la gestión de órdenes de clientes.
  * 
- * TODO: Esta interfaz será implementada cuando se completen los DTOs de Order
+ * Las órdenes se crean completas en un único paso (checkout): no hay carrito editable línea a
+ * línea. El stock se descuenta al crear la orden y se devuelve si se cancela.
  */
 public interface OrderManagementUseCase {
     
-    // TODO: Descomentar y implementar cuando se creen los DTOs necesarios
-    
-    /*
+    /**
+     * Crear una orden (checkout): valida las líneas, calcula precios con descuento por volumen
+     * e impuestos, descuenta el stock de todos los productos en un único lote y guarda la orden
+     * con sus líneas, todo en una transacción
+     * @param command Cliente y líneas de la orden
+     * @return Orden creada en estado PENDING
+     * @throws com.arka.system.shared.exception.ProductNotFoundException si algún producto no existe
+     * @throws com.arka.system.shared.exception.InsufficientStockException si falta stock en alguna línea
+     * @throws IllegalArgumentException si el cliente no existe o está inactivo
+     * @throws IllegalStateException si algún producto está inactivo
+     */
     OrderDTO createOrder(CreateOrderCommand command);
-    OrderDTO addItemToOrder(Long orderId, Long productId, Integer quantity);
-    OrderDTO removeItemFromOrder(Long orderId, Long productId);
-    OrderDTO updateItemQuantity(Long orderId, Long productId, Integer newQuantity);
-    Optional<OrderDTO> getOrderById(Long orderId);
+    
+    /**
+     * Crear varias órdenes en una única transacción (group commit). Cada orden se valida y
+     * descuenta su stock por separado, como en createOrder; si una se rechaza, su descuento se
+     * compensa y las demás siguen adelante. Las órdenes aceptadas se insertan juntas al confirmar
+     * @param commands Órdenes a crear
+     * @return Resultado de cada orden, en el mismo orden que los comandos
+     */
+    List<CheckoutResult> createOrders(List<CreateOrderCommand> commands);
+    
+    /**
+     * Obtener una orden por ID
+     * @param orderId ID de la orden
+     * @return Orden con sus líneas
+     * @throws com.arka.system.shared.exception.OrderNotFoundException si no existe
+     */
+    OrderDTO getOrderById(Long orderId);
+    
+    /**
+     * Obtener las órdenes de un cliente
+     * @param customerId ID del cliente
+     * @return Órdenes del cliente con sus líneas
+     */
     List<OrderDTO> getOrdersByCustomer(Long customerId);
+    
+    /**
+     * Obtener las órdenes con un estado
+     * @param status Estado de las órdenes
+     * @return Órdenes con el estado indicado, con sus líneas
+     */
     List<OrderDTO> getOrdersByStatus(OrderStatus status);
+    
+    /**
+     * Confirmar una orden pendiente
+     * @param orderId ID de la orden
+     * @return Orden confirmada
+     * @throws IllegalStateException si la orden no está pendiente
+     */
     OrderDTO confirmOrder(Long orderId);
-    OrderDTO updateOrderStatus(Long orderId, OrderStatus newStatus);
+    
+    /**
+     * Cancelar una orden pendiente o confirmada, devolviendo su stock
+     * @param orderId ID de la orden
+     * @return Orden cancelada
+     * @throws IllegalStateException si la orden ya se envió, entregó o canceló
+     */
     OrderDTO cancelOrder(Long orderId);
-    OrderDTO markOrderAsDelivered(Long orderId);
-    java.math.BigDecimal calculateOrderTotal(Long orderId);
-    List<OrderDTO> getAbandonedCarts(int hoursOld);
-    */
+    
+    /**
+     * Cancelar un lote de órdenes abandonadas (pendientes creadas antes de cutoff), devolviendo
+     * su stock en un único lote. Las órdenes se recorren por keyset sobre (fecha, ID) y se
+     * bloquean mientras se cancelan; cada lote es una transacción independiente
+     * @param cutoff Fecha antes de la cual una orden pendiente se considera abandonada
+     * @param afterDate Fecha de la última orden del lote anterior (null: desde el principio)
+     * @param afterId ID de la última orden del lote anterior
+     * @param limit Máximo de órdenes del lote
+     * @return Órdenes canceladas, unidades devueltas y cursor para el siguiente lote
+     */
+    AbandonedOrderSweep cancelAbandonedOrders(LocalDateTime cutoff, LocalDateTime afterDate, Long afterId, int limit);
+    
+    /**
+     * Recalcular el total de una orden a partir de sus líneas (impuestos incluidos)
+     * @param orderId ID de la orden
+     * @return Total de la orden
+     */
+    BigDecimal calculateOrderTotal(Long orderId);
+    
+    /**
+     * Obtener el total de ventas (órdenes confirmadas y posteriores, salvo canceladas) creadas
+     * en un rango de fechas
+     * @param startDate Fecha de inicio, incluida
+     * @param endDate Fecha de fin, incluida
+     * @return Suma de los totales de las órdenes de venta del rango
+     * @throws IllegalArgumentException si el inicio es posterior al fin
+     */
+    BigDecimal getTotalSalesBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Recalcular desde las órdenes los agregados de ventas por hora
+     * @return Número de órdenes de venta agregadas
+     */
+    long rebuildSalesRollup();
 }
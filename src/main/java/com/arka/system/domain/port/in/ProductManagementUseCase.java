@@ -2,12 +2,17 @@ package com.arka.system.domain.port.in;
 
 import com.arka.system.domain.model.Product;
 import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.dto.CursorPage;
+import com.arka.system.shared.dto.ProductField;
+import com.arka.system.shared.dto.ProductFacetsDTO;
+import com.arka.system.shared.dto.ProductSuggestion;
 import com.arka.system.shared.dto.CreateProductCommand;
 import com.arka.system.shared.dto.UpdateProductCommand;
 
 import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -72,6 +77,17 @@ public interface ProductManagementUseCase {
      */
     List<ProductDTO> getAllActiveProducts();
     
+    /**
+     * Listar productos activos con paginación por cursor (keyset), opcionalmente por categoría.
+     * El coste de cada página es constante, independientemente de su profundidad.
+     * @param categoryId ID de la categoría (null para todo el catálogo)
+     * @param cursor Cursor opaco devuelto por la página anterior (null para la primera)
+     * @param size Tamaño de página
+     * @return Página con los productos y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    CursorPage<ProductDTO> findActiveProductsPage(Long categoryId, String cursor, int size);
+    
     /**
      * Listar productos por categoría con paginación
      * @param categoryId ID de la categoría
@@ -102,12 +118,38 @@ public interface ProductManagementUseCase {
      */
     List<ProductDTO> searchProducts(String searchText);
     
+    /**
+     * Sugerir productos para autocompletado, sin consultar la base de datos
+     * @param prefix Texto escrito hasta el momento
+     * @param limit Número máximo de sugerencias
+     * @return Sugerencias (ID y nombre del producto)
+     */
+    List<ProductSuggestion> suggestProducts(String prefix, int limit);
+    
+    /**
+     * Contar productos activos por categoría, marca y franja de precio para un filtro
+     * @param categoryId Categoría a filtrar (opcional)
+     * @param brand Marca a filtrar (opcional)
+     * @param priceBand Franja de precio a filtrar (opcional)
+     * @return Total y conteos por faceta
+     */
+    ProductFacetsDTO getProductFacets(Long categoryId, String brand, String priceBand);
+    
     /**
      * Obtener productos con stock bajo (por debajo del mínimo)
      * @return Lista de DTOs de productos con stock bajo
      */
     List<ProductDTO> findLowStockProducts();
     
+    /**
+     * Listar sólo los campos indicados de los productos activos (parámetro fields=)
+     * @param fields Campos a devolver, en el orden solicitado
+     * @param categoryId ID de la categoría por la que filtrar (null para todo el catálogo)
+     * @param lowStockOnly true para limitarse a productos con stock bajo
+     * @return Una fila por producto con los campos solicitados
+     */
+    List<Map<String, Object>> getActiveProductFields(List<ProductField> fields, Long categoryId, boolean lowStockOnly);
+    
     /**
      * Eliminar un producto
      * @param productId ID del producto a eliminar
@@ -123,27 +165,64 @@ public interface ProductManagementUseCase {
     ProductDTO updateStock(Long productId, Integer quantity);
     
     /**
-     * Reservar stock para una venta
+     * Reservar stock para una venta. La reserva retiene las unidades sin descontarlas del
+     * stock y vence automáticamente si no se confirma a tiempo.
      * @param productId ID del producto
      * @param quantity Cantidad a reservar
-     * @return true si la reserva fue exitosa, false si no hay suficiente stock
+     * @return ID de la reserva, o vacío si no hay suficiente stock disponible
+     */
+    Optional<String> reserveStock(Long productId, Integer quantity);
+    
+    /**
+     * Reservar stock de varios productos en una sola operación (todo o nada)
+     * @param quantities Cantidad a reservar por ID de producto
+     * @return ID de la reserva que agrupa todas las líneas, o vacío si alguna no tenía stock
+     * suficiente (en cuyo caso no se reserva ninguna)
+     * @throws ProductNotFoundException si alguno de los productos no existe
      */
-    boolean reserveStock(Long productId, Integer quantity);
+    Optional<String> reserveStock(Map<Long, Integer> quantities);
     
     /**
-     * Liberar stock reservado
+     * Liberar una reserva antes de que venza. Una reserva desconocida o ya vencida no tiene efecto.
+     * @param reservationId ID devuelto por reserveStock
+     */
+    void releaseStock(String reservationId);
+    
+    /**
+     * Confirmar venta: consume la reserva y descuenta definitivamente su stock
+     * @param reservationId ID devuelto por reserveStock
+     * @return DTOs de los productos actualizados, o vacío si la reserva es desconocida o ya venció
+     * @throws InsufficientStockException si el stock ya no alcanza
+     */
+    List<ProductDTO> confirmSale(String reservationId);
+    
+    /**
+     * Liberar una reserva vigente de una sola línea con el producto y la cantidad indicados
      * @param productId ID del producto
-     * @param quantity Cantidad a liberar
+     * @param quantity Cantidad reservada
+     * @return true si se liberó una reserva, false si no había ninguna que coincidiera
+     * @deprecated Usar releaseStock(String) con el ID devuelto por reserveStock
      */
-    void releaseStock(Long productId, Integer quantity);
+    @Deprecated
+    boolean releaseStock(Long productId, Integer quantity);
     
     /**
-     * Confirmar venta (reducir stock definitivamente)
+     * Confirmar la venta de una reserva vigente de una sola línea con el producto y la cantidad indicados
      * @param productId ID del producto
-     * @param quantity Cantidad vendida
-     * @return DTO del producto actualizado
+     * @param quantity Cantidad reservada
+     * @return DTO del producto actualizado, o vacío si no había ninguna reserva que coincidiera
+     * @throws InsufficientStockException si el stock ya no alcanza
+     * @deprecated Usar confirmSale(String) con el ID devuelto por reserveStock
+     */
+    @Deprecated
+    Optional<ProductDTO> confirmSale(Long productId, Integer quantity);
+    
+    /**
+     * Obtener el stock disponible para prometer (stock menos reservas vigentes)
+     * @param productId ID del producto
+     * @return Unidades disponibles
      */
-    ProductDTO confirmSale(Long productId, Integer quantity);
+    int getAvailableStock(Long productId);
     
     /**
      * Obtener productos con stock bajo (por debajo del mínimo)
@@ -0,0 +1,163 @@
+package com.arka.system.domain.port.in;
+
+import com.arka.system.shared.dto.CatalogChangeDTO;
+import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.dto.ProductSuggestion;
+import com.arka.system.shared.dto.CreateProductCommand;
+import com.arka.system.shared.dto.UpdateProductCommand;
+
+import org.springframework.data.domain.PageRequest;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Puerto de entrada reactivo para casos de uso de gestión de productos.
+ * Variante no bloqueante de ProductManagementUseCase usada por los endpoints /api/reactive/**.
+ * Los errores de negocio se propagan como señales de error (ProductNotFoundException,
+ * DuplicateSkuException) en lugar de excepciones lanzadas.
+ */
+public interface ReactiveProductManagementUseCase {
+
+    /**
+     * Crear un nuevo producto
+     * @param command Comando con la información del producto a crear
+     * @return DTO del producto creado
+     */
+    Mono<ProductDTO> createProduct(CreateProductCommand command);
+
+    /**
+     * Actualizar un producto existente
+     * @param productId ID del producto a actualizar
+     * @param command Comando con la información actualizada
+     * @return DTO del producto actualizado
+     */
+    Mono<ProductDTO> updateProduct(Long productId, UpdateProductCommand command);
+
+    /**
+     * Obtener un producto por ID
+     * @param productId ID del producto
+     * @return DTO del producto, o error ProductNotFoundException si no existe
+     */
+    Mono<ProductDTO> findById(Long productId);
+
+    /**
+     * Obtener un producto por SKU
+     * @param sku SKU del producto
+     * @return DTO del producto, o error ProductNotFoundException si no existe
+     */
+    Mono<ProductDTO> findBySku(String sku);
+
+    /**
+     * Listar todos los productos con paginación
+     * @param pageRequest Información de paginación
+     * @return Flux de DTOs de productos
+     */
+    Flux<ProductDTO> findAll(PageRequest pageRequest);
+
+    /**
+     * Listar todos los productos activos
+     * @return Flux de DTOs de productos activos
+     */
+    Flux<ProductDTO> getAllActiveProducts();
+
+    /**
+     * Recorrer los productos activos con paginación keyset, opcionalmente por categoría.
+     * Cada bloque se consulta sólo cuando el suscriptor demanda más elementos, por lo que
+     * recorrer el catálogo completo tiene coste constante por bloque.
+     * @param categoryId ID de la categoría (null para todo el catálogo)
+     * @param cursor Cursor opaco desde el que reanudar (null para empezar desde el inicio)
+     * @param chunkSize Número de productos consultados por bloque
+     * @return Flux de DTOs de productos ordenados por ID, o error IllegalArgumentException si el cursor es inválido
+     */
+    Flux<ProductDTO> streamActiveProducts(Long categoryId, String cursor, int chunkSize);
+
+    /**
+     * Listar productos por categoría con paginación
+     * @param categoryId ID de la categoría
+     * @param pageRequest Información de paginación
+     * @return Flux de DTOs de productos de la categoría
+     */
+    Flux<ProductDTO> findByCategory(Long categoryId, PageRequest pageRequest);
+
+    /**
+     * Buscar productos por texto con paginación
+     * @param searchText Texto a buscar en nombre, descripción o marca
+     * @param pageRequest Información de paginación
+     * @return Flux de DTOs de productos que coinciden
+     */
+    Flux<ProductDTO> searchProducts(String searchText, PageRequest pageRequest);
+
+    /**
+     * Sugerir productos para autocompletado, sin consultar la base de datos
+     * @param prefix Texto escrito hasta el momento
+     * @param limit Número máximo de sugerencias
+     * @return Flux de sugerencias (ID y nombre del producto)
+     */
+    Flux<ProductSuggestion> suggestProducts(String prefix, int limit);
+
+    /**
+     * Observar los cambios confirmados de productos y stock a partir de una secuencia
+     * @param sinceSequence Última secuencia recibida, o null para recibir sólo los cambios nuevos
+     * @return Flux infinito de cambios; empieza con RESYNC si se perdieron cambios
+     */
+    Flux<CatalogChangeDTO> streamChanges(Long sinceSequence);
+
+    /**
+     * Obtener productos con stock bajo (por debajo del mínimo)
+     * @return Flux de DTOs de productos con stock bajo
+     */
+    Flux<ProductDTO> findLowStockProducts();
+    
+    /**
+     * Contar productos con stock bajo sin leerlos
+     * @return Número de productos activos con stock bajo
+     */
+    Mono<Long> countLowStockProducts();
+
+    /**
+     * Eliminar un producto
+     * @param productId ID del producto a eliminar
+     * @return Mono que completa al eliminar, o error ProductNotFoundException
+     */
+    Mono<Void> deleteProduct(Long productId);
+
+    /**
+     * Actualizar stock de un producto
+     * @param productId ID del producto
+     * @param quantity Nueva cantidad en stock
+     * @return DTO del producto actualizado
+     */
+    Mono<ProductDTO> updateStock(Long productId, Integer quantity);
+
+    /**
+     * Reservar stock para una venta
+     * @param productId ID del producto
+     * @param quantity Cantidad a reservar
+     * @return ID de la reserva, o Mono vacío si no hay suficiente stock disponible
+     */
+    Mono<String> reserveStock(Long productId, Integer quantity);
+
+    /**
+     * Reservar stock de varios productos en una sola operación (todo o nada)
+     * @param quantities Cantidad a reservar por ID de producto
+     * @return ID de la reserva, Mono vacío si alguna línea no tenía stock suficiente,
+     * o error ProductNotFoundException si alguno de los productos no existe
+     */
+    Mono<String> reserveStock(Map<Long, Integer> quantities);
+
+    /**
+     * Liberar una reserva (sin efecto si es desconocida o ya venció)
+     * @param reservationId ID devuelto por reserveStock
+     * @return Mono que completa al liberar la reserva
+     */
+    Mono<Void> releaseStock(String reservationId);
+
+    /**
+     * Contar productos activos
+     * @return Número de productos activos
+     */
+    Mono<Long> countActiveProducts();
+}
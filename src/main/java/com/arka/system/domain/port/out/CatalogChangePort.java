@@ -0,0 +1,19 @@
+package com.arka.system.domain.port.out;
+
+import com.arka.system.shared.dto.CatalogChangeDTO;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Puerto de salida para observar los cambios confirmados de productos y stock.
+ */
+public interface CatalogChangePort {
+    
+    /**
+     * Flujo de cambios posteriores a una secuencia. Si alguno ya no se conserva, el flujo empieza
+     * con un cambio RESYNC y continúa con los siguientes.
+     * @param sequence Última secuencia recibida, o null para recibir sólo los cambios nuevos
+     * @return Flujo infinito de cambios en orden de confirmación
+     */
+    Flux<CatalogChangeDTO> changesSince(Long sequence);
+}
@@ -0,0 +1,18 @@
+package com.arka.system.domain.port.out;
+
+import com.arka.system.domain.model.Customer;
+
+import java.util.Optional;
+
+/**
+ * Puerto de salida para persistencia de clientes.
+ */
+public interface CustomerRepositoryPort {
+    
+    /**
+     * Buscar cliente por ID
+     * @param id ID del cliente
+     * @return Optional con el cliente si existe
+     */
+    Optional<Customer> findById(Long id);
+}
@@ -0,0 +1,28 @@
+package com.arka.system.domain.port.out;
+
+import java.util.List;
+
+/**
+ * Puerto de salida para consultar el conjunto de productos activos con stock bajo
+ * (stock en o por debajo del mínimo), mantenido de forma incremental.
+ */
+public interface LowStockPort {
+    
+    /**
+     * Indica si el conjunto ya se construyó y refleja todo el catálogo
+     * @return true si el conjunto está listo
+     */
+    boolean isReady();
+    
+    /**
+     * IDs de los productos activos con stock bajo
+     * @return IDs en orden ascendente
+     */
+    List<Long> findLowStockIds();
+    
+    /**
+     * Número de productos activos con stock bajo
+     * @return Tamaño del conjunto
+     */
+    int countLowStock();
+}
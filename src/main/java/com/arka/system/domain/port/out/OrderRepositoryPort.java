@@ -63,6 +63,20 @@ public interface OrderRepositoryPort {
      */
     List<Order> findByStatusAndOrderDateBefore(OrderStatus status, LocalDateTime date);
     
+    /**
+     * Página de órdenes con un estado creadas antes de una fecha, en orden de (fecha, ID) y
+     * bloqueadas para actualización hasta el final de la transacción. Se recorre por keyset
+     * sobre el índice (status, order_date, id): cada página empieza tras la última de la anterior
+     * @param status Estado de las órdenes
+     * @param date Fecha límite
+     * @param afterDate Fecha de la última orden de la página anterior (null: desde el principio)
+     * @param afterId ID de la última orden de la página anterior
+     * @param limit Tamaño máximo de la página
+     * @return Órdenes de la página; sus líneas se cargan bajo demanda en lotes
+     */
+    List<Order> findPageByStatusAndOrderDateBefore(OrderStatus status, LocalDateTime date,
+                                                   LocalDateTime afterDate, Long afterId, int limit);
+    
     /**
      * Buscar órdenes entre fechas
      * @param startDate Fecha de inicio
@@ -107,4 +121,10 @@ public interface OrderRepositoryPort {
      * @return Suma total de las órdenes confirmadas/entregadas en el período
      */
     java.math.BigDecimal getTotalSalesBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Recalcular desde las órdenes los agregados de ventas que usa getTotalSalesBetween
+     * @return Número de órdenes de venta agregadas
+     */
+    long rebuildSalesRollup();
 }
@@ -0,0 +1,22 @@
+package com.arka.system.domain.port.out;
+
+import com.arka.system.shared.dto.ProductDTO;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puerto de salida hacia la fuente externa de detalles de producto usada para enriquecer
+ * los listados. Se consulta por lotes: una llamada por grupo de productos.
+ */
+public interface ProductDetailsPort {
+    
+    /**
+     * Obtener los detalles de un lote de productos en una sola llamada
+     * @param products Productos del lote
+     * @return Detalles por ID de producto; los productos sin detalles no aparecen
+     */
+    Mono<Map<Long, ProductDTO>> findDetails(List<ProductDTO> products);
+}
@@ -0,0 +1,20 @@
+package com.arka.system.domain.port.out;
+
+import com.arka.system.shared.dto.ProductFacetsDTO;
+
+/**
+ * Puerto de salida para el conteo por facetas (categoría, marca y franja de precio)
+ * de los productos activos, resuelto en memoria.
+ */
+public interface ProductFacetPort {
+    
+    /**
+     * Contar productos activos por faceta para una combinación de filtros
+     * @param categoryId Categoría a filtrar, o null
+     * @param brand Marca a filtrar, o null
+     * @param priceBand Franja de precio a filtrar (una de las etiquetas de priceBands), o null
+     * @return Total y conteos por faceta
+     * @throws IllegalArgumentException si la franja de precio no existe
+     */
+    ProductFacetsDTO countFacets(Long categoryId, String brand, String priceBand);
+}
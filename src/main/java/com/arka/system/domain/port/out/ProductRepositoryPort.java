@@ -1,9 +1,13 @@
 package com.arka.system.domain.port.out;
 
 import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductSummary;
+import com.arka.system.shared.dto.ProductField;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,6 +37,20 @@ public interface ProductRepositoryPort {
      */
     Optional<Product> findBySku(String sku);
     
+    /**
+     * Buscar producto por ID con su categoría y atributos ya cargados (plan "detalle")
+     * @param id ID del producto
+     * @return Optional con el producto si existe
+     */
+    Optional<Product> findDetailById(Long id);
+    
+    /**
+     * Buscar producto por SKU con su categoría y atributos ya cargados (plan "detalle")
+     * @param sku SKU del producto
+     * @return Optional con el producto si existe
+     */
+    Optional<Product> findDetailBySku(String sku);
+    
     /**
      * Buscar todos los productos con paginación
      * @param pageRequest Información de paginación
@@ -66,6 +84,34 @@ public interface ProductRepositoryPort {
      */
     List<Product> findLowStockProducts();
     
+    /**
+     * Obtener la proyección de solo lectura de los productos activos
+     * @return Lista de resúmenes de productos activos ordenados por ID
+     */
+    List<ProductSummary> findActiveSummaries();
+    
+    /**
+     * Obtener la proyección de solo lectura de los productos activos de una categoría
+     * @param categoryId ID de la categoría
+     * @return Lista de resúmenes de productos de la categoría ordenados por ID
+     */
+    List<ProductSummary> findActiveSummariesByCategoryId(Long categoryId);
+    
+    /**
+     * Obtener la proyección de solo lectura de los productos con stock por debajo del mínimo
+     * @return Lista de resúmenes de productos con stock bajo ordenados por ID
+     */
+    List<ProductSummary> findLowStockSummaries();
+    
+    /**
+     * Seleccionar sólo los campos indicados de los productos activos
+     * @param fields Campos a seleccionar
+     * @param categoryId ID de la categoría por la que filtrar (null para no filtrar)
+     * @param lowStockOnly true para devolver sólo productos con stock bajo
+     * @return Una fila por producto con los campos solicitados
+     */
+    List<Map<String, Object>> findActiveFields(List<ProductField> fields, Long categoryId, boolean lowStockOnly);
+    
     /**
      * Actualizar stock de un producto de forma atómica
      * @param productId ID del producto
@@ -74,6 +120,27 @@ public interface ProductRepositoryPort {
      */
     boolean updateStock(Long productId, Integer quantity);
     
+    /**
+     * Buscar productos por ID conservando el orden recibido (por ejemplo, el de relevancia de una búsqueda)
+     * @param ids IDs de los productos
+     * @return Productos encontrados, en el orden de ids (los inexistentes se omiten)
+     */
+    List<Product> findByIds(List<Long> ids);
+    
+    /**
+     * Obtener el stock actual de un producto sin cargar la entidad
+     * @param productId ID del producto
+     * @return Optional con el stock si el producto existe
+     */
+    Optional<Integer> findStockQuantity(Long productId);
+    
+    /**
+     * Obtener el stock actual de varios productos en una sola consulta
+     * @param productIds IDs de los productos
+     * @return Stock por ID de producto (los productos inexistentes no aparecen)
+     */
+    Map<Long, Integer> findStockQuantities(Collection<Long> productIds);
+    
     /**
      * Decrementar stock de forma atómica (para ventas)
      * @param productId ID del producto
@@ -82,6 +149,16 @@ public interface ProductRepositoryPort {
      */
     boolean decrementStock(Long productId, Integer quantity);
     
+    /**
+     * Decrementar el stock de varios productos con UPDATE condicionales en un único lote.
+     * Las filas se actualizan en orden ascendente de ID para que transacciones concurrentes
+     * adquieran los bloqueos en el mismo orden. No revierte las líneas aplicadas: el llamador
+     * debe descartar la transacción si alguna línea no pudo aplicarse.
+     * @param quantities Cantidad a decrementar por ID de producto
+     * @return IDs de los productos sin stock suficiente o inexistentes (vacío si todo se aplicó)
+     */
+    List<Long> decrementStockAll(Map<Long, Integer> quantities);
+    
     /**
      * Incrementar stock de forma atómica (para recepciones)
      * @param productId ID del producto
@@ -90,6 +167,14 @@ public interface ProductRepositoryPort {
      */
     boolean incrementStock(Long productId, Integer quantity);
     
+    /**
+     * Incrementar el stock de varios productos con UPDATE en un único lote, en orden ascendente
+     * de ID (por ejemplo, para devolver el stock de una orden cancelada)
+     * @param quantities Cantidad a incrementar por ID de producto
+     * @return IDs de los productos inexistentes (vacío si todo se aplicó)
+     */
+    List<Long> incrementStockAll(Map<Long, Integer> quantities);
+    
     /**
      * Verificar si existe un producto con el SKU especificado
      * @param sku SKU a verificar
@@ -132,6 +217,23 @@ public interface ProductRepositoryPort {
      */
     List<Product> findByCategoryIdAndActiveTrue(Long categoryId, PageRequest pageRequest);
     
+    /**
+     * Buscar productos activos posteriores a un ID (paginación keyset por ID)
+     * @param afterId ID del último producto ya entregado (0 para empezar)
+     * @param limit Número máximo de productos a devolver
+     * @return Productos activos con ID mayor a afterId, ordenados por ID
+     */
+    List<Product> findActiveAfter(Long afterId, int limit);
+    
+    /**
+     * Buscar productos activos de una categoría posteriores a un ID (paginación keyset por (category_id, id))
+     * @param categoryId ID de la categoría
+     * @param afterId ID del último producto ya entregado (0 para empezar)
+     * @param limit Número máximo de productos a devolver
+     * @return Productos activos de la categoría con ID mayor a afterId, ordenados por ID
+     */
+    List<Product> findActiveByCategoryIdAfter(Long categoryId, Long afterId, int limit);
+    
     /**
      * Buscar productos por texto con paginación
      * @param name Texto a buscar en nombre
@@ -0,0 +1,24 @@
+package com.arka.system.domain.port.out;
+
+import java.util.List;
+
+/**
+ * Puerto de salida para la búsqueda de texto completo sobre el catálogo de productos activos.
+ */
+public interface ProductSearchPort {
+    
+    /**
+     * Indica si el índice ya se construyó y puede atender búsquedas
+     * @return true si el índice está listo
+     */
+    boolean isReady();
+    
+    /**
+     * Buscar productos activos por nombre, marca, descripción o SKU
+     * @param text Texto de búsqueda
+     * @param offset Número de resultados a omitir
+     * @param limit Número máximo de resultados
+     * @return IDs de producto ordenados por relevancia
+     */
+    List<Long> search(String text, int offset, int limit);
+}
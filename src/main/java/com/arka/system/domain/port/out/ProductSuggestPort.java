@@ -0,0 +1,19 @@
+package com.arka.system.domain.port.out;
+
+import com.arka.system.shared.dto.ProductSuggestion;
+
+import java.util.List;
+
+/**
+ * Puerto de salida para el autocompletado de productos activos, resuelto en memoria.
+ */
+public interface ProductSuggestPort {
+    
+    /**
+     * Sugerir productos cuyo nombre (desde cualquier palabra), marca o SKU empieza por el prefijo
+     * @param prefix Texto escrito hasta el momento (se ignoran mayúsculas y acentos)
+     * @param limit Número máximo de sugerencias
+     * @return Sugerencias, primero las de completado más corto
+     */
+    List<ProductSuggestion> suggest(String prefix, int limit);
+}
@@ -0,0 +1,156 @@
+package com.arka.system.domain.port.out;
+
+import com.arka.system.domain.model.Product;
+import org.springframework.data.domain.PageRequest;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Puerto de salida reactivo para persistencia de productos.
+ * Equivalente no bloqueante de ProductRepositoryPort: todas las operaciones
+ * devuelven Mono/Flux y no deben bloquear el hilo que las suscribe.
+ */
+public interface ReactiveProductRepositoryPort {
+
+    /**
+     * Guardar un producto (inserta si no tiene ID, actualiza en caso contrario)
+     * @param product Producto a guardar
+     * @return Producto guardado con ID asignado
+     */
+    Mono<Product> save(Product product);
+
+    /**
+     * Buscar producto por ID
+     * @param id ID del producto
+     * @return Mono con el producto, vacío si no existe
+     */
+    Mono<Product> findById(Long id);
+
+    /**
+     * Buscar producto por SKU
+     * @param sku SKU del producto
+     * @return Mono con el producto, vacío si no existe
+     */
+    Mono<Product> findBySku(String sku);
+
+    /**
+     * Buscar todos los productos con paginación
+     * @param pageRequest Información de paginación
+     * @return Flux de productos
+     */
+    Flux<Product> findAll(PageRequest pageRequest);
+
+    /**
+     * Buscar todos los productos activos
+     * @return Flux de productos activos
+     */
+    Flux<Product> findAllActive();
+
+    /**
+     * Buscar productos activos por categoría con paginación
+     * @param categoryId ID de la categoría
+     * @param pageRequest Información de paginación
+     * @return Flux de productos activos de la categoría
+     */
+    Flux<Product> findByCategoryIdAndActiveTrue(Long categoryId, PageRequest pageRequest);
+
+    /**
+     * Buscar productos activos posteriores a un ID (paginación keyset por ID)
+     * @param afterId ID del último producto ya entregado (0 para empezar)
+     * @param limit Número máximo de productos a devolver
+     * @return Flux de productos activos con ID mayor a afterId, ordenados por ID
+     */
+    Flux<Product> findActiveAfter(Long afterId, int limit);
+
+    /**
+     * Buscar productos activos de una categoría posteriores a un ID (keyset por (category_id, id))
+     * @param categoryId ID de la categoría
+     * @param afterId ID del último producto ya entregado (0 para empezar)
+     * @param limit Número máximo de productos a devolver
+     * @return Flux de productos activos de la categoría con ID mayor a afterId, ordenados por ID
+     */
+    Flux<Product> findActiveByCategoryIdAfter(Long categoryId, Long afterId, int limit);
+
+    /**
+     * Buscar productos activos por texto en nombre, descripción o marca con paginación
+     * @param searchText Texto a buscar
+     * @param pageRequest Información de paginación
+     * @return Flux de productos que coinciden
+     */
+    Flux<Product> findByNameOrDescriptionOrBrandContaining(String searchText, PageRequest pageRequest);
+
+    /**
+     * Buscar productos por ID conservando el orden recibido
+     * @param ids IDs de los productos (por ejemplo, resultados de búsqueda ordenados por relevancia)
+     * @return Flux de productos en el orden de ids (los inexistentes se omiten)
+     */
+    Flux<Product> findByIds(List<Long> ids);
+
+    /**
+     * Buscar productos con stock por debajo del mínimo
+     * @return Flux de productos con stock bajo
+     */
+    Flux<Product> findLowStockProducts();
+
+    /**
+     * Actualizar stock de un producto de forma atómica
+     * @param productId ID del producto
+     * @param quantity Nueva cantidad
+     * @return true si la actualización fue exitosa
+     */
+    Mono<Boolean> updateStock(Long productId, Integer quantity);
+
+    /**
+     * Decrementar stock de forma atómica (para ventas)
+     * @param productId ID del producto
+     * @param quantity Cantidad a decrementar
+     * @return true si había suficiente stock y se decrementó
+     */
+    Mono<Boolean> decrementStock(Long productId, Integer quantity);
+
+    /**
+     * Incrementar stock de forma atómica (para recepciones)
+     * @param productId ID del producto
+     * @param quantity Cantidad a incrementar
+     * @return true si la operación fue exitosa
+     */
+    Mono<Boolean> incrementStock(Long productId, Integer quantity);
+
+    /**
+     * Verificar si existe un producto con el SKU especificado
+     * @param sku SKU a verificar
+     * @return true si existe un producto con ese SKU
+     */
+    Mono<Boolean> existsBySku(String sku);
+
+    /**
+     * Verificar si existe un producto con el SKU especificado, excluyendo un ID
+     * @param sku SKU a verificar
+     * @param excludeId ID a excluir de la búsqueda
+     * @return true si existe un producto con ese SKU (diferente al ID excluido)
+     */
+    Mono<Boolean> existsBySkuAndIdNot(String sku, Long excludeId);
+
+    /**
+     * Verificar si existe un producto por ID
+     * @param id ID del producto
+     * @return true si existe
+     */
+    Mono<Boolean> existsById(Long id);
+
+    /**
+     * Eliminar un producto
+     * @param id ID del producto a eliminar
+     * @return Mono que completa cuando el producto fue eliminado
+     */
+    Mono<Void> deleteById(Long id);
+
+    /**
+     * Contar total de productos activos
+     * @return Número total de productos activos
+     */
+    Mono<Long> countActiveProducts();
+}
@@ -0,0 +1,68 @@
+package com.arka.system.domain.port.out;
+
+import com.arka.system.domain.model.StockHold;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Puerto de salida para las reservas temporales (holds) de stock.
+ * Mantiene en memoria el total retenido por producto, de modo que el stock disponible
+ * para prometer (stock - retenido) se calcula sin consultas de agregación por petición.
+ */
+public interface StockHoldRepositoryPort {
+    
+    /**
+     * Retener unidades de varios productos bajo una misma reserva (todo o nada), si el disponible
+     * (stock - retenido) de cada uno alcanza
+     * @param quantities Cantidad a retener por ID de producto
+     * @param stockQuantities Stock actual por ID de producto
+     * @param ttl Tiempo tras el cual la reserva vence y se libera
+     * @return ID de la reserva creada, o vacío si algún producto no tiene suficiente stock disponible
+     * (en cuyo caso no se retiene nada)
+     */
+    Optional<String> placeHolds(Map<Long, Integer> quantities, Map<Long, Integer> stockQuantities, Duration ttl);
+    
+    /**
+     * Eliminar las líneas vigentes de una reserva. Una reserva desconocida, ya vencida o ya
+     * eliminada no tiene efecto. El retenido en memoria se descuenta al confirmarse la transacción.
+     * @param reservationId ID de la reserva
+     * @return Líneas efectivamente eliminadas (vacío si no había ninguna vigente)
+     */
+    List<StockHold> removeReservation(String reservationId);
+    
+    /**
+     * Buscar reservas vigentes de una sola línea con el producto y la cantidad indicados, de la
+     * que vence antes a la que vence después
+     * @param productId ID del producto
+     * @param quantity Cantidad reservada
+     * @param limit Máximo de reservas a devolver
+     * @return IDs de las reservas encontradas
+     */
+    List<String> findSingleLineReservations(Long productId, int quantity, int limit);
+    
+    /**
+     * Comprobar contra las reservas vigentes que se pueden vender las cantidades indicadas y
+     * retenerlas en memoria hasta que termine la transacción en curso (todo o nada), de modo que
+     * ninguna reserva concurrente prometa las unidades que la transacción está descontando
+     * @param quantities Cantidad a vender por ID de producto
+     * @param stockQuantities Stock por ID de producto, leído dentro de la transacción en curso
+     * @return IDs de los productos cuyo disponible no alcanza (vacío si se retuvo todo)
+     */
+    List<Long> claimForSale(Map<Long, Integer> quantities, Map<Long, Integer> stockQuantities);
+    
+    /**
+     * Devolver de inmediato lo retenido con claimForSale cuando la venta no llega a descontarse
+     * @param quantities Cantidad retenida por ID de producto
+     */
+    void releaseSaleClaim(Map<Long, Integer> quantities);
+    
+    /**
+     * Obtener el total de unidades retenidas de un producto
+     * @param productId ID del producto
+     * @return Unidades retenidas por reservas vigentes
+     */
+    long getHeldQuantity(Long productId);
+}
@@ -0,0 +1,18 @@
+package com.arka.system.domain.port.out;
+
+import java.util.Optional;
+
+/**
+ * Puerto de salida para el stock vigente de los productos cuya columna stock_quantity va por
+ * detrás (libro de stock con escritura diferida). Sin libro, la columna está al día y el puerto
+ * no tiene implementación.
+ */
+public interface StockLevelPort {
+    
+    /**
+     * Obtener el stock vigente de un producto si difiere del que guarda su fila
+     * @param productId ID del producto
+     * @return Stock vigente, o vacío si el de la fila está al día
+     */
+    Optional<Integer> findCurrentStock(Long productId);
+}
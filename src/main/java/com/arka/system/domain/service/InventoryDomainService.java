@@ -21,20 +21,34 @@ public class InventoryDomainService {
      * @throws InsufficientStockException si no hay stock suficiente
      */
     public void validateStockAvailability(Product product, int requiredQuantity) {
+        validateStockAvailability(product, product.getStockQuantity(), requiredQuantity);
+    }
+    
+    /**
+     * Valida la cantidad requerida contra un stock leído aparte del producto
+     * (por ejemplo, el del libro de inventario, que va por delante de la entidad)
+     * 
+     * @param product Producto a verificar
+     * @param stockQuantity Stock vigente del producto
+     * @param requiredQuantity Cantidad requerida
+     * @throws InsufficientStockException si no hay stock suficiente
+     */
+    public void validateStockAvailability(Product product, int stockQuantity, int requiredQuantity) {
         if (!product.isActive()) {
             throw new IllegalStateException("No se puede usar producto inactivo: " + product.getSku());
         }
         
-        if (product.getStockQuantity() < requiredQuantity) {
+        if (stockQuantity < requiredQuantity) {
             throw new InsufficientStockException(
                 String.format("Stock insuficiente para producto %s. Disponible: %d, Requerido: %d", 
-                    product.getSku(), product.getStockQuantity(), requiredQuantity)
+                    product.getSku(), stockQuantity, requiredQuantity)
             );
         }
     }
     
     /**
-     * Reduce el stock de un producto
+     * Reduce el stock de un producto en memoria. La columna de stock no se actualiza al guardar
+     * la entidad: el stock persistido cambia con los movimientos de ProductRepositoryPort
      * 
      * @param product Producto a modificar
      * @param quantity Cantidad a reducir
@@ -45,7 +59,8 @@ public class InventoryDomainService {
     }
     
     /**
-     * Aumenta el stock de un producto (por ejemplo, al recibir mercancía)
+     * Aumenta el stock de un producto en memoria (por ejemplo, al recibir mercancía); como en
+     * reduceStock, el stock persistido cambia con los movimientos de ProductRepositoryPort
      * 
      * @param product Producto a modificar
      * @param quantity Cantidad a aumentar
@@ -0,0 +1,231 @@
+package com.arka.system.infrastructure.adapter.in.reactive;
+
+import com.arka.system.domain.port.in.ReactiveProductManagementUseCase;
+import com.arka.system.infrastructure.metrics.HotPathMetricsAspect;
+import com.arka.system.shared.dto.ProductDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Flujos de métricas del dashboard compartidos entre todos los suscriptores SSE.
+ *
+ * Cada flujo calcula una instantánea por intervalo con un único Flux.interval, sea cual sea el
+ * número de clientes conectados, y la reparte con replay(1): quien se conecta recibe al momento
+ * la última instantánea y después las siguientes. El cálculo arranca con el primer suscriptor y
+ * se detiene cuando el último se desconecta (tras arka.dashboard.idle-grace, para no reiniciarlo
+ * en reconexiones). Si una instantánea tarda más que el intervalo, los ticks intermedios se
+ * descartan en lugar de acumularse.
+ *
+ * Cada suscriptor tiene su propio buffer acotado (arka.dashboard.subscriber-buffer): si un
+ * cliente lento lo llena, se descartan sus instantáneas más antiguas sin frenar a los demás.
+ *
+ * Las métricas de rendimiento salen de los timers de HotPathMetricsAspect: tiempo medio,
+ * throughput y tasa de error de los casos de uso durante el último intervalo (diferencia con la
+ * instantánea anterior), el peor p95 por método y los contadores de reservas acumulados.
+ */
+@Component
+@Slf4j
+public class DashboardMetricsStream {
+
+    private final ReactiveProductManagementUseCase productManagementUseCase;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<UseCaseTotals> lastUseCaseTotals;
+    private final int subscriberBuffer;
+    private final Flux<Map<String, Object>> dashboard;
+    private final Flux<Map<String, Object>> analytics;
+
+    public DashboardMetricsStream(
+            ReactiveProductManagementUseCase productManagementUseCase,
+            MeterRegistry meterRegistry,
+            @Value("${arka.dashboard.interval:2s}") Duration dashboardInterval,
+            @Value("${arka.dashboard.analytics-interval:3s}") Duration analyticsInterval,
+            @Value("${arka.dashboard.subscriber-buffer:16}") int subscriberBuffer,
+            @Value("${arka.dashboard.idle-grace:5s}") Duration idleGrace) {
+        this.productManagementUseCase = productManagementUseCase;
+        this.meterRegistry = meterRegistry;
+        this.lastUseCaseTotals = new AtomicReference<>(useCaseTotals());
+        this.subscriberBuffer = subscriberBuffer;
+        this.dashboard = shared("dashboard", dashboardInterval, idleGrace, this::dashboardSnapshot);
+        this.analytics = shared("analytics", analyticsInterval, idleGrace, this::analyticsSnapshot);
+    }
+
+    /**
+     * Instantáneas del dashboard: totales y productos con stock bajo
+     */
+    public Flux<Map<String, Object>> dashboard() {
+        return perSubscriber(dashboard);
+    }
+
+    /**
+     * Instantáneas de analíticas: inventario, rendimiento y alertas
+     */
+    public Flux<Map<String, Object>> analytics() {
+        return perSubscriber(analytics);
+    }
+
+    private Flux<Map<String, Object>> shared(String name, Duration interval, Duration idleGrace,
+            Function<Long, Mono<Map<String, Object>>> snapshot) {
+        return Flux.interval(Duration.ZERO, interval)
+            .onBackpressureDrop(tick -> log.debug("Skipping {} tick {}: previous snapshot still running", name, tick))
+            .concatMap(tick -> snapshot.apply(tick)
+                .onErrorResume(error -> {
+                    log.error("Failed to compute {} snapshot for tick {}", name, tick, error);
+                    return Mono.empty();
+                }), 0)
+            .doOnSubscribe(subscription -> log.info("Starting shared {} metrics stream", name))
+            .doOnCancel(() -> log.info("Stopping shared {} metrics stream: no subscribers left", name))
+            .replay(1)
+            .refCount(1, idleGrace);
+    }
+
+    private Flux<Map<String, Object>> perSubscriber(Flux<Map<String, Object>> shared) {
+        return shared.onBackpressureBuffer(subscriberBuffer,
+            dropped -> log.debug("Dropping metrics snapshot for slow subscriber (tick {})", dropped.get("tick")),
+            BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    private Mono<Map<String, Object>> dashboardSnapshot(long tick) {
+        return Mono.zip(
+                productManagementUseCase.findAll(PageRequest.of(0, 100)).collectList(),
+                productManagementUseCase.countLowStockProducts(),
+                productManagementUseCase.findLowStockProducts().take(5).map(ProductDTO::getSku).collectList())
+            .map(tuple -> {
+                List<ProductDTO> allProducts = tuple.getT1();
+                
+                return Map.<String, Object>of(
+                    "timestamp", System.currentTimeMillis(),
+                    "tick", tick,
+                    "totalProducts", (long) allProducts.size(),
+                    "lowStockCount", tuple.getT2(),
+                    "activeProducts", allProducts.stream().filter(ProductDTO::isActive).count(),
+                    "averageStock", allProducts.stream()
+                        .mapToInt(ProductDTO::getStockQuantity)
+                        .average()
+                        .orElse(0.0),
+                    "lowStockProducts", tuple.getT3()
+                );
+            })
+            .doOnNext(data -> log.debug("Dashboard snapshot computed for tick {}", tick));
+    }
+
+    private Mono<Map<String, Object>> analyticsSnapshot(long tick) {
+        return Mono.zip(calculateInventoryMetrics(), calculatePerformanceMetrics(), calculateAlertMetrics())
+            .map(tuple -> Map.<String, Object>of(
+                "timestamp", System.currentTimeMillis(),
+                "tick", tick,
+                "inventory", tuple.getT1(),
+                "performance", tuple.getT2(),
+                "alerts", tuple.getT3()
+            ))
+            .doOnNext(data -> log.debug("Analytics snapshot computed for tick {}", tick));
+    }
+
+    private Mono<Map<String, Object>> calculateInventoryMetrics() {
+        return Mono.zip(
+                productManagementUseCase.findAll(PageRequest.of(0, 100)).collectList(),
+                productManagementUseCase.countLowStockProducts())
+            .map(tuple -> {
+                List<ProductDTO> allProducts = tuple.getT1();
+                
+                return Map.<String, Object>of(
+                    "totalProducts", allProducts.size(),
+                    "lowStockProducts", tuple.getT2(),
+                    "totalValue", allProducts.stream()
+                        .mapToDouble(p -> p.getSalePrice().doubleValue() * p.getStockQuantity())
+                        .sum()
+                );
+            });
+    }
+
+    private Mono<Map<String, Object>> calculatePerformanceMetrics() {
+        return Mono.fromCallable(() -> {
+            UseCaseTotals current = useCaseTotals();
+            UseCaseTotals previous = lastUseCaseTotals.getAndSet(current);
+            long calls = current.count() - previous.count();
+            double seconds = Math.max(current.nanoTime() - previous.nanoTime(), 1) / 1e9;
+            
+            return Map.<String, Object>of(
+                "responseTime", calls > 0 ? (current.totalMillis() - previous.totalMillis()) / calls : 0.0,
+                "responseTimeP95", worstPercentile(0.95),
+                "throughput", calls / seconds,
+                "errorRate", calls > 0 ? 100.0 * (current.errors() - previous.errors()) / calls : 0.0,
+                "reservations", reservationCounts()
+            );
+        });
+    }
+
+    private UseCaseTotals useCaseTotals() {
+        long count = 0;
+        long errors = 0;
+        double totalMillis = 0;
+        for (Timer timer : meterRegistry.find(HotPathMetricsAspect.USE_CASE_TIMER).timers()) {
+            count += timer.count();
+            totalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+            if ("error".equals(timer.getId().getTag("outcome"))) {
+                errors += timer.count();
+            }
+        }
+        return new UseCaseTotals(System.nanoTime(), count, errors, totalMillis);
+    }
+
+    /**
+     * Mayor valor del percentil entre todos los métodos de casos de uso (ms)
+     */
+    private double worstPercentile(double percentile) {
+        double worst = 0;
+        for (Timer timer : meterRegistry.find(HotPathMetricsAspect.USE_CASE_TIMER).timers()) {
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile) {
+                    worst = Math.max(worst, value.value(TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+        return worst;
+    }
+
+    private Map<String, Long> reservationCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(HotPathMetricsAspect.RESERVATION_COUNTER).counters()) {
+            counts.put(counter.getId().getTag("result"), (long) counter.count());
+        }
+        return counts;
+    }
+
+    private Mono<Map<String, Object>> calculateAlertMetrics() {
+        return productManagementUseCase.findLowStockProducts()
+            .collectList()
+            .map(lowStock -> Map.<String, Object>of(
+                "lowStockAlerts", lowStock.size(),
+                "criticalAlerts", lowStock.stream()
+                    .filter(p -> p.getStockQuantity() == 0)
+                    .count(),
+                "alertLevel", lowStock.size() > 10 ? "HIGH" : lowStock.size() > 5 ? "MEDIUM" : "LOW"
+            ));
+    }
+
+    /**
+     * Totales acumulados de los timers de casos de uso en un instante
+     */
+    private record UseCaseTotals(long nanoTime, long count, long errors, double totalMillis) {
+    }
+}
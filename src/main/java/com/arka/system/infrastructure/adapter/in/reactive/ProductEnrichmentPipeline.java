@@ -0,0 +1,128 @@
+package com.arka.system.infrastructure.adapter.in.reactive;
+
+import com.arka.system.domain.port.out.ProductDetailsPort;
+import com.arka.system.shared.dto.ProductDTO;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Etapa de enriquecimiento de productos para el endpoint /products/enriched.
+ *
+ * Los productos se agrupan en lotes de arka.enrichment.batch-size y cada lote hace una única
+ * llamada a ProductDetailsPort; hasta arka.enrichment.concurrency lotes se resuelven a la vez y
+ * el resultado conserva el orden de entrada. Si la fuente de detalles supera
+ * arka.enrichment.details-timeout o falla, el lote sigue adelante con el producto del listado y
+ * detailsAvailable=false en lugar de cortar el stream.
+ *
+ * El estado de stock y el análisis de precio son funciones puras de unos pocos campos del
+ * producto, así que se calculan en línea (sin un Mono por producto) y se memorizan por esos
+ * campos en cachés acotadas.
+ */
+@Component
+@Slf4j
+public class ProductEnrichmentPipeline {
+
+    private final ProductDetailsPort productDetailsPort;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration detailsTimeout;
+    private final Cache<StockKey, Map<String, Object>> stockStatuses;
+    private final Cache<PriceKey, Map<String, Object>> priceAnalyses;
+
+    public ProductEnrichmentPipeline(
+            ProductDetailsPort productDetailsPort,
+            @Value("${arka.enrichment.batch-size:20}") int batchSize,
+            @Value("${arka.enrichment.concurrency:4}") int concurrency,
+            @Value("${arka.enrichment.details-timeout:500ms}") Duration detailsTimeout,
+            @Value("${arka.enrichment.memo-size:10000}") long memoSize) {
+        this.productDetailsPort = productDetailsPort;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.detailsTimeout = detailsTimeout;
+        this.stockStatuses = Caffeine.newBuilder().maximumSize(memoSize).build();
+        this.priceAnalyses = Caffeine.newBuilder().maximumSize(memoSize).build();
+    }
+
+    /**
+     * Enriquecer un flujo de productos con detalles, estado de stock y análisis de precio
+     * @param products Productos a enriquecer
+     * @return Un mapa por producto, en el mismo orden
+     */
+    public Flux<Map<String, Object>> enrich(Flux<ProductDTO> products) {
+        return products
+            .buffer(batchSize)
+            .flatMapSequential(this::enrichBatch, concurrency)
+            .flatMapIterable(Function.identity());
+    }
+
+    private Mono<List<Map<String, Object>>> enrichBatch(List<ProductDTO> batch) {
+        return productDetailsPort.findDetails(batch)
+            .timeout(detailsTimeout)
+            .onErrorResume(error -> {
+                log.warn("Product details unavailable for a batch of {} products: {}", batch.size(), error.toString());
+                return Mono.just(Map.of());
+            })
+            .map(details -> batch.stream()
+                .map(product -> enrichOne(product, details.get(product.getId())))
+                .toList());
+    }
+
+    private Map<String, Object> enrichOne(ProductDTO product, ProductDTO details) {
+        return Map.of(
+            "product", details != null ? details : product,
+            "detailsAvailable", details != null,
+            "stockStatus", stockStatus(product),
+            "priceAnalysis", priceAnalysis(product),
+            "enrichedAt", System.currentTimeMillis()
+        );
+    }
+
+    Map<String, Object> stockStatus(ProductDTO product) {
+        return stockStatuses.get(new StockKey(product.getStockQuantity(), product.getMinimumStock()), key -> {
+            boolean low = key.stockQuantity() <= key.minimumStock();
+            return Map.of(
+                "status", low ? "LOW" : "NORMAL",
+                "currentStock", key.stockQuantity(),
+                "minimumStock", key.minimumStock(),
+                "needsReplenishment", low
+            );
+        });
+    }
+
+    Map<String, Object> priceAnalysis(ProductDTO product) {
+        return priceAnalyses.get(new PriceKey(product.getSalePrice(), product.getPurchasePrice()), key -> {
+            double margin = key.salePrice().signum() == 0
+                ? 0
+                : key.salePrice().subtract(key.purchasePrice())
+                    .divide(key.salePrice(), 4, RoundingMode.HALF_UP)
+                    .doubleValue();
+            return Map.of(
+                "margin", margin,
+                "marginCategory", margin > 0.3 ? "HIGH" : margin > 0.15 ? "MEDIUM" : "LOW",
+                "salePrice", key.salePrice(),
+                "purchasePrice", key.purchasePrice()
+            );
+        });
+    }
+
+    private record StockKey(int stockQuantity, int minimumStock) {
+    }
+
+    private record PriceKey(BigDecimal salePrice, BigDecimal purchasePrice) {
+    }
+}
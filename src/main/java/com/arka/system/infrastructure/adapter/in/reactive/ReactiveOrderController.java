@@ -0,0 +1,64 @@
+package com.arka.system.infrastructure.adapter.in.reactive;
+
+import com.arka.system.domain.port.in.OrderIngestionUseCase;
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+import com.arka.system.shared.exception.InsufficientStockException;
+import com.arka.system.shared.exception.OrderQueueFullException;
+import com.arka.system.shared.exception.ProductNotFoundException;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import jakarta.validation.Valid;
+
+/**
+ * Controlador reactivo para la creación de órdenes.
+ * Con arka.orders.group-commit.enabled=true la orden se encola en OrderIngestionUseCase y el
+ * Mono se completa cuando se confirma su lote; si la cola está llena emite un error 429 sin
+ * esperar. Sin group commit, el checkout bloqueante se ejecuta en blockingScheduler.
+ */
+@RestController
+@RequestMapping("/api/reactive/orders")
+@RequiredArgsConstructor
+@Tag(name = "Reactive Orders", description = "API reactiva para creación de órdenes")
+public class ReactiveOrderController {
+
+    private final OrderManagementUseCase orderManagementUseCase;
+    private final ObjectProvider<OrderIngestionUseCase> orderIngestion;
+    private final Scheduler blockingScheduler;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Crear una orden (checkout) de forma reactiva")
+    @ApiResponse(responseCode = "201", description = "Orden creada")
+    @ApiResponse(responseCode = "429", description = "Cola de órdenes llena")
+    public Mono<OrderDTO> createOrder(@Valid @RequestBody CreateOrderCommand command) {
+        OrderIngestionUseCase ingestion = orderIngestion.getIfAvailable();
+        Mono<OrderDTO> order = ingestion != null
+            ? Mono.fromFuture(() -> ingestion.submitOrder(command))
+            : Mono.fromCallable(() -> orderManagementUseCase.createOrder(command)).subscribeOn(blockingScheduler);
+
+        return order
+                .onErrorMap(OrderQueueFullException.class,
+                    ex -> new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage()))
+                .onErrorMap(ProductNotFoundException.class,
+                    ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage()))
+                .onErrorMap(IllegalArgumentException.class,
+                    ex -> new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage()))
+                .onErrorMap(ex -> ex instanceof InsufficientStockException || ex instanceof IllegalStateException,
+                    ex -> new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage()));
+    }
+}
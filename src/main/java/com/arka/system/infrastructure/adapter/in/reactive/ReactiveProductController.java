@@ -1,9 +1,13 @@
 package com.arka.system.infrastructure.adapter.in.reactive;
 
-import com.arka.system.domain.port.in.ProductManagementUseCase;
+import com.arka.system.domain.port.in.ReactiveProductManagementUseCase;
+import com.arka.system.shared.dto.CatalogChangeDTO;
 import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.dto.ProductCursor;
+import com.arka.system.shared.dto.ProductSuggestion;
 import com.arka.system.shared.dto.CreateProductCommand;
 import com.arka.system.shared.dto.UpdateProductCommand;
+import com.arka.system.shared.dto.ReserveStockCommand;
 import com.arka.system.shared.exception.ProductNotFoundException;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +21,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -25,11 +31,15 @@ import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
 
-import java.time.Duration;
+import java.util.Map;
+
 
 /**
  * Controlador reactivo para gestión de productos usando WebFlux.
- * Proporciona endpoints no bloqueantes para operaciones de productos.
+ * Proporciona endpoints no bloqueantes para operaciones de productos;
+ * delega en ReactiveProductManagementUseCase (R2DBC) de extremo a extremo.
+ * Los listados se emiten al ritmo que marca el cliente (SSE o NDJSON), con el control de flujo
+ * de StreamRateLimiter en lugar de retardos fijos.
  */
 @RestController
 @RequestMapping("/api/reactive/products")
@@ -38,26 +48,55 @@ import java.time.Duration;
 @Tag(name = "Reactive Products", description = "API reactiva para gestión de productos")
 public class ReactiveProductController {
 
-    private final ProductManagementUseCase productManagementUseCase;
+    private final ReactiveProductManagementUseCase productManagementUseCase;
+    private final StreamRateLimiter streamRateLimiter;
 
-    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @GetMapping(produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
     @Operation(summary = "Obtener todos los productos de forma reactiva")
-    @ApiResponse(responseCode = "200", description = "Stream de productos")
+    @ApiResponse(responseCode = "200", description = "Stream de productos (SSE o NDJSON)")
     public Flux<ProductDTO> getAllProducts(
             @Parameter(description = "Número de página")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cliente configurado en arka.reactive.rate-limit.clients (opcional)")
+            @RequestHeader(value = StreamRateLimiter.CLIENT_ID_HEADER, required = false) String clientId) {
         
         log.info("Obteniendo productos de forma reactiva - página: {}, tamaño: {}", page, size);
         
-        return Flux.fromIterable(productManagementUseCase.findAll(PageRequest.of(page, size)))
-                .delayElements(Duration.ofMillis(100)) // Simular streaming
+        return productManagementUseCase.findAll(PageRequest.of(page, size))
+                .transform(products -> streamRateLimiter.limit(products, clientId))
                 .doOnNext(product -> log.debug("Enviando producto: {}", product.getSku()))
                 .doOnComplete(() -> log.info("Stream de productos completado"))
                 .doOnError(error -> log.error("Error en stream de productos", error));
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Recorrer el catálogo activo completo con paginación por cursor (keyset)")
+    @ApiResponse(responseCode = "200", description = "Stream de productos; el id de cada evento es el cursor para reanudar")
+    @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    public Flux<ServerSentEvent<ProductDTO>> streamProducts(
+            @Parameter(description = "Categoría a recorrer (opcional)")
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Cursor desde el que reanudar (opcional)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Último evento recibido; tiene prioridad sobre cursor al reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Parameter(description = "Productos consultados por bloque")
+            @RequestParam(defaultValue = "100") int chunkSize) {
+        
+        String resumeFrom = lastEventId != null ? lastEventId : cursor;
+        log.info("Recorriendo catálogo reactivo por cursor - categoría: {}, bloque: {}", categoryId, chunkSize);
+        
+        return productManagementUseCase.streamActiveProducts(categoryId, resumeFrom, chunkSize)
+                .map(product -> ServerSentEvent.builder(product)
+                    .id(new ProductCursor(categoryId, product.getId()).encode())
+                    .build())
+                .doOnComplete(() -> log.info("Recorrido por cursor completado"))
+                .onErrorMap(IllegalArgumentException.class,
+                    ex -> new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener producto por ID de forma reactiva")
     @ApiResponse(responseCode = "200", description = "Producto encontrado")
@@ -68,7 +107,7 @@ public class ReactiveProductController {
         
         log.info("Buscando producto reactivo con ID: {}", id);
         
-        return Mono.fromCallable(() -> productManagementUseCase.findById(id))
+        return productManagementUseCase.findById(id)
                 .doOnSuccess(product -> log.info("Producto encontrado: {}", product.getSku()))
                 .doOnError(error -> log.error("Error buscando producto con ID: {}", id, error))
                 .onErrorMap(ProductNotFoundException.class, 
@@ -85,7 +124,7 @@ public class ReactiveProductController {
         
         log.info("Buscando producto reactivo con SKU: {}", sku);
         
-        return Mono.fromCallable(() -> productManagementUseCase.findBySku(sku))
+        return productManagementUseCase.findBySku(sku)
                 .doOnSuccess(product -> log.info("Producto encontrado: {}", product.getSku()))
                 .doOnError(error -> log.error("Error buscando producto con SKU: {}", sku, error))
                 .onErrorMap(ProductNotFoundException.class, 
@@ -103,7 +142,7 @@ public class ReactiveProductController {
         
         log.info("Creando producto reactivo con SKU: {}", command.getSku());
         
-        return Mono.fromCallable(() -> productManagementUseCase.createProduct(command))
+        return productManagementUseCase.createProduct(command)
                 .doOnSuccess(product -> log.info("Producto creado exitosamente: {}", product.getSku()))
                 .doOnError(error -> log.error("Error creando producto", error))
                 .onErrorMap(IllegalArgumentException.class,
@@ -123,7 +162,7 @@ public class ReactiveProductController {
         
         log.info("Actualizando producto reactivo con ID: {}", id);
         
-        return Mono.fromCallable(() -> productManagementUseCase.updateProduct(id, command))
+        return productManagementUseCase.updateProduct(id, command)
                 .doOnSuccess(product -> log.info("Producto actualizado exitosamente: {}", product.getSku()))
                 .doOnError(error -> log.error("Error actualizando producto con ID: {}", id, error))
                 .onErrorMap(ProductNotFoundException.class,
@@ -132,6 +171,24 @@ public class ReactiveProductController {
                     ex -> new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage()));
     }
 
+    @PostMapping("/reserve")
+    @Operation(summary = "Reservar stock de varios productos de forma reactiva (todo o nada)")
+    @ApiResponse(responseCode = "200", description = "Stock reservado para todas las líneas; devuelve el ID de la reserva")
+    @ApiResponse(responseCode = "409", description = "Stock insuficiente en alguna línea; no se reservó nada")
+    @ApiResponse(responseCode = "404", description = "Alguno de los productos no existe")
+    public Mono<ResponseEntity<Map<String, String>>> reserveStock(
+            @Parameter(description = "Líneas a reservar")
+            @Valid @RequestBody ReserveStockCommand command) {
+        
+        log.info("Reservando stock reactivo para {} líneas", command.getLines().size());
+        
+        return productManagementUseCase.reserveStock(command.toQuantitiesByProduct())
+                .map(reservationId -> ResponseEntity.ok(Map.of("reservationId", reservationId)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.CONFLICT).build())
+                .onErrorMap(ProductNotFoundException.class,
+                    ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage()));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Eliminar producto de forma reactiva")
@@ -143,64 +200,109 @@ public class ReactiveProductController {
         
         log.info("Eliminando producto reactivo con ID: {}", id);
         
-        return Mono.fromRunnable(() -> productManagementUseCase.deleteProduct(id))
+        return productManagementUseCase.deleteProduct(id)
                 .doOnSuccess(result -> log.info("Producto eliminado exitosamente con ID: {}", id))
                 .doOnError(error -> log.error("Error eliminando producto con ID: {}", id, error))
                 .onErrorMap(ProductNotFoundException.class,
-                    ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage()))
-                .then();
+                    ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage()));
     }
 
-    @GetMapping("/category/{categoryId}")
+    @GetMapping(value = "/category/{categoryId}",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
     @Operation(summary = "Obtener productos por categoría de forma reactiva")
-    @ApiResponse(responseCode = "200", description = "Stream de productos de la categoría")
+    @ApiResponse(responseCode = "200", description = "Productos de la categoría (JSON, SSE o NDJSON)")
     public Flux<ProductDTO> getProductsByCategory(
             @Parameter(description = "ID de la categoría")
             @PathVariable Long categoryId,
             @Parameter(description = "Número de página")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cliente configurado en arka.reactive.rate-limit.clients (opcional)")
+            @RequestHeader(value = StreamRateLimiter.CLIENT_ID_HEADER, required = false) String clientId) {
         
         log.info("Obteniendo productos reactivos por categoría: {}", categoryId);
         
-        return Flux.fromIterable(productManagementUseCase.findByCategory(categoryId, PageRequest.of(page, size)))
-                .delayElements(Duration.ofMillis(50))
+        return productManagementUseCase.findByCategory(categoryId, PageRequest.of(page, size))
+                .transform(products -> streamRateLimiter.limit(products, clientId))
                 .doOnNext(product -> log.debug("Enviando producto de categoría {}: {}", categoryId, product.getSku()))
                 .doOnComplete(() -> log.info("Stream de productos por categoría {} completado", categoryId))
                 .doOnError(error -> log.error("Error en stream de productos por categoría {}", categoryId, error));
     }
 
-    @GetMapping("/low-stock")
+    @GetMapping(value = "/low-stock",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
     @Operation(summary = "Obtener productos con stock bajo de forma reactiva")
-    @ApiResponse(responseCode = "200", description = "Stream de productos con stock bajo")
-    public Flux<ProductDTO> getLowStockProducts() {
+    @ApiResponse(responseCode = "200", description = "Productos con stock bajo (JSON, SSE o NDJSON)")
+    public Flux<ProductDTO> getLowStockProducts(
+            @Parameter(description = "Cliente configurado en arka.reactive.rate-limit.clients (opcional)")
+            @RequestHeader(value = StreamRateLimiter.CLIENT_ID_HEADER, required = false) String clientId) {
         
         log.info("Obteniendo productos reactivos con stock bajo");
         
-        return Flux.fromIterable(productManagementUseCase.findLowStockProducts())
-                .delayElements(Duration.ofMillis(200)) // Delay más largo para simular procesamiento
+        return productManagementUseCase.findLowStockProducts()
+                .transform(products -> streamRateLimiter.limit(products, clientId))
                 .doOnNext(product -> log.debug("Producto con stock bajo: {} (stock: {})", 
                     product.getSku(), product.getStockQuantity()))
                 .doOnComplete(() -> log.info("Stream de productos con stock bajo completado"))
                 .doOnError(error -> log.error("Error en stream de productos con stock bajo", error));
     }
 
-    @GetMapping("/search")
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerencias de autocompletado por prefijo de nombre, marca o SKU")
+    @ApiResponse(responseCode = "200", description = "Sugerencias (ID y nombre), servidas desde memoria")
+    public Flux<ProductSuggestion> suggestProducts(
+            @Parameter(description = "Texto escrito hasta el momento")
+            @RequestParam String q,
+            @Parameter(description = "Número máximo de sugerencias (1-50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        return productManagementUseCase.suggestProducts(q, Math.min(Math.max(limit, 1), 50));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Flujo de cambios confirmados de productos y stock")
+    @ApiResponse(responseCode = "200", description = "Stream de cambios; el id de cada evento es su secuencia para reanudar")
+    @ApiResponse(responseCode = "400", description = "Secuencia inválida")
+    public Flux<ServerSentEvent<CatalogChangeDTO>> streamChanges(
+            @Parameter(description = "Última secuencia recibida (opcional; sin ella sólo se reciben cambios nuevos)")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Último evento recibido; tiene prioridad sobre since al reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        Long resumeFrom;
+        try {
+            resumeFrom = lastEventId != null ? Long.valueOf(lastEventId) : since;
+        } catch (NumberFormatException ex) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last-Event-ID inválido: " + lastEventId));
+        }
+        log.info("Suscribiendo a cambios del catálogo desde la secuencia {}", resumeFrom);
+        
+        return productManagementUseCase.streamChanges(resumeFrom)
+                .map(change -> ServerSentEvent.builder(change)
+                    .id(Long.toString(change.getSequence()))
+                    .event(change.getType().name())
+                    .build());
+    }
+
+    @GetMapping(value = "/search",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
     @Operation(summary = "Buscar productos de forma reactiva")
-    @ApiResponse(responseCode = "200", description = "Stream de productos que coinciden con la búsqueda")
+    @ApiResponse(responseCode = "200", description = "Productos que coinciden con la búsqueda (JSON, SSE o NDJSON)")
     public Flux<ProductDTO> searchProducts(
             @Parameter(description = "Término de búsqueda")
             @RequestParam String term,
             @Parameter(description = "Número de página")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cliente configurado en arka.reactive.rate-limit.clients (opcional)")
+            @RequestHeader(value = StreamRateLimiter.CLIENT_ID_HEADER, required = false) String clientId) {
         
         log.info("Búsqueda reactiva de productos con término: {}", term);
         
-        return Flux.fromIterable(productManagementUseCase.searchProducts(term, PageRequest.of(page, size)))
-                .delayElements(Duration.ofMillis(75))
+        return productManagementUseCase.searchProducts(term, PageRequest.of(page, size))
+                .transform(products -> streamRateLimiter.limit(products, clientId))
                 .doOnNext(product -> log.debug("Producto encontrado en búsqueda: {}", product.getSku()))
                 .doOnComplete(() -> log.info("Búsqueda reactiva completada para término: {}", term))
                 .doOnError(error -> log.error("Error en búsqueda reactiva para término: {}", term, error));
@@ -0,0 +1,148 @@
+package com.arka.system.infrastructure.adapter.in.reactive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Control de flujo de los endpoints de streaming.
+ *
+ * Los elementos se emiten al ritmo que pide el cliente (demanda request(n) de la escritura de la
+ * respuesta), consultando el origen en lotes de arka.reactive.prefetch con limitRate. Opcionalmente
+ * se limita además el número de elementos por segundo de cada cliente con un token bucket
+ * compartido por todos sus streams: mientras quedan tokens los elementos salen sin espera y,
+ * agotados, cada uno se retrasa hasta el siguiente token, sin bloquear hilos.
+ *
+ * El límite por defecto es arka.reactive.rate-limit.items-per-second (0 = sin límite), con
+ * ráfagas de hasta arka.reactive.rate-limit.burst elementos; arka.reactive.rate-limit.clients
+ * permite límites propios por cliente. La cabecera X-Client-Id sólo se respeta para esos clientes
+ * configurados: el resto se identifica por el usuario autenticado o, sin él, por la dirección
+ * remota, de modo que cambiar la cabecera no abre buckets nuevos. Sin petición en curso todos
+ * comparten un único bucket.
+ */
+@Component
+public class StreamRateLimiter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final String ANONYMOUS_CLIENT = "anonymous";
+
+    private final int prefetch;
+    private final double defaultItemsPerSecond;
+    private final int burst;
+    private final Map<String, Double> clientItemsPerSecond;
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
+    public StreamRateLimiter(
+            @Value("${arka.reactive.prefetch:64}") int prefetch,
+            @Value("${arka.reactive.rate-limit.items-per-second:0}") double defaultItemsPerSecond,
+            @Value("${arka.reactive.rate-limit.burst:100}") int burst,
+            @Value("#{${arka.reactive.rate-limit.clients:{:}}}") Map<String, Double> clientItemsPerSecond) {
+        this.prefetch = prefetch;
+        this.defaultItemsPerSecond = defaultItemsPerSecond;
+        this.burst = burst;
+        this.clientItemsPerSecond = Map.copyOf(clientItemsPerSecond);
+    }
+
+    /**
+     * Aplicar la prebúsqueda por lotes y el límite de elementos por segundo del cliente
+     * @param source Flujo a emitir
+     * @param clientId Identificador del cliente (cabecera X-Client-Id), o null; se ignora si no
+     * es un cliente configurado
+     * @return Flujo con control de demanda y, si procede, limitado en ritmo
+     */
+    public <T> Flux<T> limit(Flux<T> source, String clientId) {
+        String client = clientKey(clientId, currentUser(), currentRemoteAddress());
+        double itemsPerSecond = clientItemsPerSecond.getOrDefault(client, defaultItemsPerSecond);
+        Flux<T> demandDriven = source.limitRate(prefetch);
+        if (itemsPerSecond <= 0) {
+            return demandDriven;
+        }
+        TokenBucket bucket = buckets.get(client, key -> new TokenBucket(itemsPerSecond, burst));
+        return demandDriven.concatMap(item -> {
+            long waitNanos = bucket.reserve();
+            return waitNanos == 0
+                ? Mono.just(item)
+                : Mono.delay(Duration.ofNanos(waitNanos)).thenReturn(item);
+        });
+    }
+
+    /**
+     * Clave del bucket: el cliente configurado de la cabecera, el usuario autenticado, la dirección
+     * remota o, si no hay ninguno, el bucket anónimo compartido
+     */
+    String clientKey(String clientId, String user, String remoteAddress) {
+        if (clientId != null && clientItemsPerSecond.containsKey(clientId)) {
+            return clientId;
+        }
+        if (user != null) {
+            return "user:" + user;
+        }
+        if (remoteAddress != null) {
+            return "ip:" + remoteAddress;
+        }
+        return ANONYMOUS_CLIENT;
+    }
+
+    /**
+     * Se llama al montar el flujo, en el hilo de la petición
+     */
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static String currentRemoteAddress() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+            ? attributes.getRequest().getRemoteAddr()
+            : null;
+    }
+
+    /**
+     * Token bucket por reserva: cada llamada reserva el siguiente token libre y devuelve cuánto
+     * hay que esperar hasta él. Los tokens no usados se acumulan hasta la ráfaga máxima (el token
+     * en curso más burst - 1 de crédito).
+     */
+    static final class TokenBucket {
+
+        private final long intervalNanos;
+        private final long maxCreditNanos;
+        private long nextFreeNanos;
+
+        TokenBucket(double itemsPerSecond, int burst) {
+            this.intervalNanos = Math.max(1, (long) (1_000_000_000L / itemsPerSecond));
+            this.maxCreditNanos = intervalNanos * (Math.max(burst, 1) - 1);
+            this.nextFreeNanos = System.nanoTime() - maxCreditNanos;
+        }
+
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            if (nextFreeNanos < now - maxCreditNanos) {
+                nextFreeNanos = now - maxCreditNanos;
+            }
+            long waitNanos = Math.max(0, nextFreeNanos - now);
+            nextFreeNanos += intervalNanos;
+            return waitNanos;
+        }
+    }
+}
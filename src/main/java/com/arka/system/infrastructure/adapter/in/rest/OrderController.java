@@ -0,0 +1,155 @@
+package com.arka.system.infrastructure.adapter.in.rest;
+
+import com.arka.system.domain.model.Order.OrderStatus;
+import com.arka.system.domain.port.in.OrderIngestionUseCase;
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+import com.arka.system.shared.exception.InsufficientStockException;
+import com.arka.system.shared.exception.OrderNotFoundException;
+import com.arka.system.shared.exception.OrderQueueFullException;
+import com.arka.system.shared.exception.ProductNotFoundException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.validation.annotation.Validated;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador REST para gestión de órdenes.
+ * Adaptador de entrada que expone los casos de uso de órdenes como endpoints HTTP.
+ * 
+ * Con arka.orders.group-commit.enabled=true las órdenes nuevas pasan por OrderIngestionUseCase
+ * y la respuesta se envía de forma asíncrona cuando se confirma su lote.
+ */
+@RestController
+@RequestMapping("/orders")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class OrderController {
+    
+    private final OrderManagementUseCase orderManagementUseCase;
+    private final ObjectProvider<OrderIngestionUseCase> orderIngestion;
+    
+    /**
+     * Crear una orden en un único paso (checkout), directamente o por group commit
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<OrderDTO>> createOrder(@Valid @RequestBody CreateOrderCommand command) {
+        OrderIngestionUseCase ingestion = orderIngestion.getIfAvailable();
+        CompletableFuture<OrderDTO> order = ingestion != null
+            ? ingestion.submitOrder(command)
+            : CompletableFuture.completedFuture(orderManagementUseCase.createOrder(command));
+        return order.thenApply(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+    
+    /**
+     * Obtener una orden por ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
+        return ResponseEntity.ok(orderManagementUseCase.getOrderById(id));
+    }
+    
+    /**
+     * Obtener órdenes de un cliente
+     */
+    @GetMapping(params = "customerId")
+    public ResponseEntity<List<OrderDTO>> getOrdersByCustomer(@RequestParam Long customerId) {
+        return ResponseEntity.ok(orderManagementUseCase.getOrdersByCustomer(customerId));
+    }
+    
+    /**
+     * Obtener órdenes por estado
+     */
+    @GetMapping(params = "status")
+    public ResponseEntity<List<OrderDTO>> getOrdersByStatus(@RequestParam OrderStatus status) {
+        return ResponseEntity.ok(orderManagementUseCase.getOrdersByStatus(status));
+    }
+    
+    /**
+     * Confirmar una orden pendiente
+     */
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<OrderDTO> confirmOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderManagementUseCase.confirmOrder(id));
+    }
+    
+    /**
+     * Cancelar una orden, devolviendo su stock
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<OrderDTO> cancelOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderManagementUseCase.cancelOrder(id));
+    }
+    
+    /**
+     * Total de ventas de las órdenes creadas en un rango de fechas (ISO-8601, ambos incluidos)
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<Map<String, Object>> getTotalSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        BigDecimal total = orderManagementUseCase.getTotalSalesBetween(start, end);
+        return ResponseEntity.ok(Map.of("start", start, "end", end, "totalSales", total));
+    }
+    
+    /**
+     * Recalcular desde las órdenes los agregados de ventas por hora
+     */
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSalesRollup() {
+        long orders = orderManagementUseCase.rebuildSalesRollup();
+        return ResponseEntity.ok(Map.of("orders", orders));
+    }
+    
+    /**
+     * Orden o producto inexistente
+     */
+    @ExceptionHandler({OrderNotFoundException.class, ProductNotFoundException.class})
+    public ResponseEntity<Map<String, String>> handleNotFound(RuntimeException ex) {
+        log.warn("Not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
+    }
+    
+    /**
+     * Cliente inexistente o inactivo
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+        log.warn("Invalid order request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(ex.getMessage())));
+    }
+    
+    /**
+     * Stock insuficiente, producto inactivo o transición de estado no permitida
+     */
+    @ExceptionHandler({InsufficientStockException.class, IllegalStateException.class})
+    public ResponseEntity<Map<String, String>> handleConflict(RuntimeException ex) {
+        log.warn("Order conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+    }
+    
+    /**
+     * Cola de ingesta llena: el cliente debe reintentar más tarde
+     */
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleQueueFull(OrderQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("error", ex.getMessage()));
+    }
+}
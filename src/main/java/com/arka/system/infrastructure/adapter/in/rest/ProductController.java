@@ -2,8 +2,14 @@ package com.arka.system.infrastructure.adapter.in.rest;
 
 import com.arka.system.domain.port.in.ProductManagementUseCase;
 import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.dto.CursorPage;
+import com.arka.system.shared.dto.ProductField;
+import com.arka.system.shared.dto.ProductFacetsDTO;
+import com.arka.system.shared.dto.ProductSuggestion;
+import com.arka.system.shared.dto.ReserveStockCommand;
 import com.arka.system.shared.dto.CreateProductCommand;
 import com.arka.system.shared.dto.UpdateProductCommand;
+import com.arka.system.shared.exception.InsufficientStockException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,10 +19,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para gestión de productos.
@@ -82,6 +90,28 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
     
+    /**
+     * Listar productos activos devolviendo sólo los campos indicados (p. ej. fields=id,name,salePrice)
+     */
+    @GetMapping(params = {"fields", "!size"})
+    public ResponseEntity<List<Map<String, Object>>> getActiveProductFields(@RequestParam String fields) {
+        return ResponseEntity.ok(
+            productManagementUseCase.getActiveProductFields(ProductField.parse(fields), null, false));
+    }
+    
+    /**
+     * Listar productos activos paginados por cursor (keyset).
+     * Se activa al enviar el parámetro size; para la página siguiente se reenvía el nextCursor recibido.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<CursorPage<ProductDTO>> getActiveProductsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam @Positive @Max(500) int size,
+            @RequestParam(required = false) Long categoryId) {
+        CursorPage<ProductDTO> page = productManagementUseCase.findActiveProductsPage(categoryId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
     /**
      * Listar productos por categoría
      */
@@ -91,6 +121,38 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
     
+    /**
+     * Listar productos por categoría devolviendo sólo los campos indicados
+     */
+    @GetMapping(value = "/category/{categoryId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getProductFieldsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam String fields) {
+        return ResponseEntity.ok(
+            productManagementUseCase.getActiveProductFields(ProductField.parse(fields), categoryId, false));
+    }
+    
+    /**
+     * Sugerencias de autocompletado (en memoria, sin consultar la base de datos)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(
+            @RequestParam @NotBlank String q,
+            @RequestParam(defaultValue = "10") @Positive @Max(50) int limit) {
+        return ResponseEntity.ok(productManagementUseCase.suggestProducts(q, limit));
+    }
+    
+    /**
+     * Conteos por categoría, marca y franja de precio de los productos activos que cumplen el filtro
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDTO> getProductFacets(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String priceBand) {
+        return ResponseEntity.ok(productManagementUseCase.getProductFacets(categoryId, brand, priceBand));
+    }
+    
     /**
      * Buscar productos por texto
      */
@@ -113,43 +175,90 @@ public class ProductController {
     }
     
     /**
-     * Reservar stock para una venta
+     * Reservar stock para una venta; devuelve el ID de la reserva
      */
     @PostMapping("/{id}/reserve")
-    public ResponseEntity<Void> reserveStock(
+    public ResponseEntity<Map<String, String>> reserveStock(
             @PathVariable Long id,
             @RequestParam @NotNull @Positive Integer quantity) {
         log.info("Reserving {} units of product ID: {}", quantity, id);
-        boolean reserved = productManagementUseCase.reserveStock(id, quantity);
-        if (reserved) {
-            return ResponseEntity.ok().build();
-        } else {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build(); // Stock insuficiente
+        return productManagementUseCase.reserveStock(id, quantity)
+            .map(reservationId -> ResponseEntity.ok(Map.of("reservationId", reservationId)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build()); // Stock insuficiente
+    }
+    
+    /**
+     * Reservar stock de varios productos en una sola operación (todo o nada)
+     */
+    @PostMapping("/reserve")
+    public ResponseEntity<Map<String, String>> reserveStock(@Valid @RequestBody ReserveStockCommand command) {
+        log.info("Reserving stock for {} lines", command.getLines().size());
+        return productManagementUseCase.reserveStock(command.toQuantitiesByProduct())
+            .map(reservationId -> ResponseEntity.ok(Map.of("reservationId", reservationId)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build()); // Stock insuficiente en alguna línea
+    }
+    
+    /**
+     * Liberar una reserva (sin efecto si es desconocida o ya venció)
+     */
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<Void> releaseStock(@PathVariable String reservationId) {
+        log.info("Releasing reservation: {}", reservationId);
+        productManagementUseCase.releaseStock(reservationId);
+        return ResponseEntity.ok().build();
+    }
+    
+    /**
+     * Confirmar la venta de una reserva
+     */
+    @PostMapping("/reservations/{reservationId}/confirm-sale")
+    public ResponseEntity<List<ProductDTO>> confirmSale(@PathVariable String reservationId) {
+        log.info("Confirming sale for reservation: {}", reservationId);
+        List<ProductDTO> updatedProducts = productManagementUseCase.confirmSale(reservationId);
+        if (updatedProducts.isEmpty()) {
+            return ResponseEntity.notFound().build(); // Reserva desconocida o vencida
         }
+        return ResponseEntity.ok(updatedProducts);
     }
     
     /**
-     * Liberar stock reservado
+     * Liberar una reserva de una sola línea de este producto y cantidad
+     * @deprecated Usar POST /products/reservations/{reservationId}/release
      */
+    @Deprecated
     @PostMapping("/{id}/release")
     public ResponseEntity<Void> releaseStock(
             @PathVariable Long id,
             @RequestParam @NotNull @Positive Integer quantity) {
-        log.info("Releasing {} units of product ID: {}", quantity, id);
-        productManagementUseCase.releaseStock(id, quantity);
+        log.warn("Deprecated endpoint: releasing {} units of product ID: {}", quantity, id);
+        if (!productManagementUseCase.releaseStock(id, quantity)) {
+            return ResponseEntity.notFound().build(); // Ninguna reserva vigente coincide
+        }
         return ResponseEntity.ok().build();
     }
     
     /**
-     * Confirmar venta
+     * Confirmar la venta de una reserva de una sola línea de este producto y cantidad
+     * @deprecated Usar POST /products/reservations/{reservationId}/confirm-sale
      */
+    @Deprecated
     @PostMapping("/{id}/confirm-sale")
     public ResponseEntity<ProductDTO> confirmSale(
             @PathVariable Long id,
             @RequestParam @NotNull @Positive Integer quantity) {
-        log.info("Confirming sale of {} units of product ID: {}", quantity, id);
-        ProductDTO updatedProduct = productManagementUseCase.confirmSale(id, quantity);
-        return ResponseEntity.ok(updatedProduct);
+        log.warn("Deprecated endpoint: confirming sale of {} units of product ID: {}", quantity, id);
+        return productManagementUseCase.confirmSale(id, quantity)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build()); // Ninguna reserva vigente coincide
+    }
+    
+    /**
+     * Obtener el stock disponible para prometer (stock menos reservas vigentes)
+     */
+    @GetMapping("/{id}/available")
+    public ResponseEntity<Map<String, Integer>> getAvailableStock(@PathVariable Long id) {
+        int available = productManagementUseCase.getAvailableStock(id);
+        return ResponseEntity.ok(Map.of("available", available));
     }
     
     /**
@@ -161,6 +270,15 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
     
+    /**
+     * Obtener productos con stock bajo devolviendo sólo los campos indicados
+     */
+    @GetMapping(value = "/low-stock", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getLowStockProductFields(@RequestParam String fields) {
+        return ResponseEntity.ok(
+            productManagementUseCase.getActiveProductFields(ProductField.parse(fields), null, true));
+    }
+    
     /**
      * Desactivar un producto
      */
@@ -180,4 +298,22 @@ public class ProductController {
         productManagementUseCase.activateProduct(id);
         return ResponseEntity.ok().build();
     }
+    
+    /**
+     * Parámetros inválidos (por ejemplo, un cursor de paginación corrupto o un campo desconocido en fields)
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+        log.warn("Invalid request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(ex.getMessage())));
+    }
+    
+    /**
+     * Stock insuficiente al confirmar una venta
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Map<String, String>> handleInsufficientStock(InsufficientStockException ex) {
+        log.warn("Stock conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+    }
 }
@@ -0,0 +1,130 @@
+package com.arka.system.infrastructure.adapter.in.scheduler;
+
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.shared.dto.AbandonedOrderSweep;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Barrido periódico de órdenes abandonadas: pendientes creadas hace más de pending-timeout.
+ *
+ * Cada pasada recorre las órdenes pendientes anteriores al corte en lotes de batch-size por
+ * keyset sobre el índice (status, order_date, id), con OrderManagementUseCase.cancelAbandonedOrders:
+ * cada lote bloquea sus órdenes, devuelve el stock en un único batch y las marca CANCELLED en
+ * su propia transacción. La memoria queda acotada a un lote y, si el proceso cae a mitad de
+ * pasada, los lotes confirmados ya no están pendientes y los demás se deshicieron, así que la
+ * siguiente pasada retoma donde quedó sin devolver stock dos veces.
+ *
+ * Métricas: arka.orders.abandoned.cancelled y arka.orders.abandoned.released-units (contadores)
+ * y arka.orders.abandoned.sweep (timer por pasada).
+ *
+ * Cancela órdenes de clientes, por lo que está desactivado por defecto: se activa con
+ * arka.orders.abandoned.enabled=true, ajustando pending-timeout al plazo de pago del negocio.
+ */
+@Component
+@ConditionalOnProperty(name = "arka.orders.abandoned.enabled", havingValue = "true")
+@Slf4j
+public class AbandonedOrderSweeper {
+
+    private final OrderManagementUseCase orderManagementUseCase;
+    private final Duration pendingTimeout;
+    private final int batchSize;
+    private final Duration sweepInterval;
+    private final Counter cancelledOrders;
+    private final Counter releasedUnits;
+    private final Timer sweepTimer;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "abandoned-order-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AbandonedOrderSweeper(
+            OrderManagementUseCase orderManagementUseCase,
+            MeterRegistry meterRegistry,
+            @Value("${arka.orders.abandoned.pending-timeout:30m}") Duration pendingTimeout,
+            @Value("${arka.orders.abandoned.batch-size:500}") int batchSize,
+            @Value("${arka.orders.abandoned.sweep-interval:5m}") Duration sweepInterval) {
+        this.orderManagementUseCase = orderManagementUseCase;
+        this.pendingTimeout = pendingTimeout;
+        this.batchSize = batchSize;
+        this.sweepInterval = sweepInterval;
+        this.cancelledOrders = Counter.builder("arka.orders.abandoned.cancelled")
+            .description("Órdenes pendientes canceladas por abandono")
+            .register(meterRegistry);
+        this.releasedUnits = Counter.builder("arka.orders.abandoned.released-units")
+            .description("Unidades devueltas al stock por órdenes abandonadas")
+            .register(meterRegistry);
+        this.sweepTimer = Timer.builder("arka.orders.abandoned.sweep")
+            .description("Duración de cada pasada del barrido de órdenes abandonadas")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::sweepSafely,
+            sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Abandoned order sweeper started (pending timeout {}, batch size {}, interval {})",
+            pendingTimeout, batchSize, sweepInterval);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Cancelar todas las órdenes pendientes anteriores al corte, lote a lote
+     * @return Número de órdenes canceladas en la pasada
+     */
+    public int sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingTimeout);
+        long start = System.nanoTime();
+        int cancelled = 0;
+        long units = 0;
+        AbandonedOrderSweep batch = null;
+        do {
+            batch = orderManagementUseCase.cancelAbandonedOrders(cutoff,
+                batch != null ? batch.getLastOrderDate() : null,
+                batch != null ? batch.getLastOrderId() : null,
+                batchSize);
+            cancelled += batch.getCancelledOrders();
+            units += batch.getReleasedUnits();
+            cancelledOrders.increment(batch.getCancelledOrders());
+            releasedUnits.increment(batch.getReleasedUnits());
+        } while (!batch.isLastPage());
+
+        long elapsedNanos = System.nanoTime() - start;
+        sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (cancelled > 0) {
+            log.info("Cancelled {} abandoned orders ({} units returned to stock) in {} ms ({} orders/s)",
+                cancelled, units, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(cancelled / Math.max(elapsedNanos / 1e9, 1e-3)));
+        }
+        return cancelled;
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Abandoned order sweep failed; it will be retried in {}", sweepInterval, e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.arka.system.infrastructure.adapter.out.cache;
+
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductSummary;
+import com.arka.system.domain.port.out.ProductRepositoryPort;
+import com.arka.system.infrastructure.adapter.out.persistence.ProductRepositoryAdapter;
+import com.arka.system.shared.dto.ProductField;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decorador de ProductRepositoryPort que sirve las lecturas por ID y por SKU desde ProductCache.
+ *
+ * Sólo se lee de la caché fuera de transacciones de escritura; dentro de ellas se consulta
+ * siempre la base de datos para trabajar con entidades gestionadas. Toda escritura invalida el
+ * producto afectado de inmediato y de nuevo al completar la transacción; las cargas que
+ * coinciden con una invalidación no se guardan (ProductCache.putIfNotInvalidatedSince).
+ */
+@Component
+@Primary
+@RequiredArgsConstructor
+public class CachingProductRepositoryAdapter implements ProductRepositoryPort {
+
+    private final ProductRepositoryAdapter delegate;
+    private final ProductCache productCache;
+
+    @Override
+    public Product save(Product product) {
+        productCache.invalidate(product.getId());
+        Product saved = delegate.save(product);
+        productCache.invalidateNowAndOnCompletion(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return cacheable() ? cachedById(id) : delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return cacheable() ? cachedBySku(sku) : delegate.findBySku(sku);
+    }
+
+    @Override
+    public Optional<Product> findDetailById(Long id) {
+        return cacheable() ? cachedById(id) : delegate.findDetailById(id);
+    }
+
+    @Override
+    public Optional<Product> findDetailBySku(String sku) {
+        return cacheable() ? cachedBySku(sku) : delegate.findDetailBySku(sku);
+    }
+
+    @Override
+    public List<Product> findAll(PageRequest pageRequest) {
+        return delegate.findAll(pageRequest);
+    }
+
+    @Override
+    public List<Product> findAllActive() {
+        return delegate.findAllActive();
+    }
+
+    @Override
+    public List<Product> findByCategoryId(Long categoryId) {
+        return delegate.findByCategoryId(categoryId);
+    }
+
+    @Override
+    public List<Product> findByNameOrDescriptionOrBrandContaining(String searchText) {
+        return delegate.findByNameOrDescriptionOrBrandContaining(searchText);
+    }
+
+    @Override
+    public List<Product> findLowStockProducts() {
+        return delegate.findLowStockProducts();
+    }
+
+    @Override
+    public List<ProductSummary> findActiveSummaries() {
+        return delegate.findActiveSummaries();
+    }
+
+    @Override
+    public List<ProductSummary> findActiveSummariesByCategoryId(Long categoryId) {
+        return delegate.findActiveSummariesByCategoryId(categoryId);
+    }
+
+    @Override
+    public List<ProductSummary> findLowStockSummaries() {
+        return delegate.findLowStockSummaries();
+    }
+
+    @Override
+    public List<Map<String, Object>> findActiveFields(List<ProductField> fields, Long categoryId, boolean lowStockOnly) {
+        return delegate.findActiveFields(fields, categoryId, lowStockOnly);
+    }
+
+    @Override
+    public boolean updateStock(Long productId, Integer quantity) {
+        boolean updated = delegate.updateStock(productId, quantity);
+        productCache.invalidateNowAndOnCompletion(productId);
+        return updated;
+    }
+
+    @Override
+    public List<Product> findByIds(List<Long> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public Optional<Integer> findStockQuantity(Long productId) {
+        return delegate.findStockQuantity(productId);
+    }
+
+    @Override
+    public Map<Long, Integer> findStockQuantities(Collection<Long> productIds) {
+        return delegate.findStockQuantities(productIds);
+    }
+
+    @Override
+    public boolean decrementStock(Long productId, Integer quantity) {
+        boolean decremented = delegate.decrementStock(productId, quantity);
+        productCache.invalidateNowAndOnCompletion(productId);
+        return decremented;
+    }
+
+    @Override
+    public List<Long> decrementStockAll(Map<Long, Integer> quantities) {
+        List<Long> rejected = delegate.decrementStockAll(quantities);
+        quantities.keySet().forEach(productCache::invalidateNowAndOnCompletion);
+        return rejected;
+    }
+
+    @Override
+    public boolean incrementStock(Long productId, Integer quantity) {
+        boolean incremented = delegate.incrementStock(productId, quantity);
+        productCache.invalidateNowAndOnCompletion(productId);
+        return incremented;
+    }
+
+    @Override
+    public List<Long> incrementStockAll(Map<Long, Integer> quantities) {
+        List<Long> missing = delegate.incrementStockAll(quantities);
+        quantities.keySet().forEach(productCache::invalidateNowAndOnCompletion);
+        return missing;
+    }
+
+    @Override
+    public boolean existsBySku(String sku) {
+        return productCache.containsSku(sku) || delegate.existsBySku(sku);
+    }
+
+    @Override
+    public boolean existsBySkuAndIdNot(String sku, Long excludeId) {
+        return delegate.existsBySkuAndIdNot(sku, excludeId);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        productCache.invalidateNowAndOnCompletion(id);
+    }
+
+    @Override
+    public long countActiveProducts() {
+        return delegate.countActiveProducts();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return productCache.containsId(id) || delegate.existsById(id);
+    }
+
+    @Override
+    public List<Product> findByCategoryIdAndActiveTrue(Long categoryId, PageRequest pageRequest) {
+        return delegate.findByCategoryIdAndActiveTrue(categoryId, pageRequest);
+    }
+
+    @Override
+    public List<Product> findActiveAfter(Long afterId, int limit) {
+        return delegate.findActiveAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Product> findActiveByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        return delegate.findActiveByCategoryIdAfter(categoryId, afterId, limit);
+    }
+
+    @Override
+    public List<Product> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrBrandContainingIgnoreCase(
+            String name, String description, String brand, PageRequest pageRequest) {
+        return delegate.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrBrandContainingIgnoreCase(
+            name, description, brand, pageRequest);
+    }
+
+    private boolean cacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private Optional<Product> cachedById(Long id) {
+        Product cached = productCache.getById(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = productCache.loadStamp();
+        Optional<Product> loaded = delegate.findDetailById(id);
+        loaded.ifPresent(product -> productCache.putIfNotInvalidatedSince(product, stamp));
+        return loaded;
+    }
+
+    private Optional<Product> cachedBySku(String sku) {
+        Product cached = productCache.getBySku(sku);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = productCache.loadStamp();
+        Optional<Product> loaded = delegate.findDetailBySku(sku);
+        loaded.ifPresent(product -> productCache.putIfNotInvalidatedSince(product, stamp));
+        return loaded;
+    }
+}
@@ -0,0 +1,222 @@
+package com.arka.system.infrastructure.adapter.out.cache;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductAttribute;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en proceso de productos (Caffeine, desalojo W-TinyLFU con tamaño máximo y TTL).
+ *
+ * Mantiene un índice doble: id → producto (con categoría y atributos cargados) y sku → id.
+ * Las entradas son instantáneas desacopladas de JPA y cada lectura devuelve una copia, de modo
+ * que los llamadores no pueden alterar el contenido cacheado. Las estadísticas de aciertos,
+ * fallos y desalojos se publican en Micrometer como cache.* con tag cache=products.
+ *
+ * Los valores leídos de la base de datos se guardan con putIfNotInvalidatedSince: cada
+ * invalidación deja en el producto una marca de un contador global, y la carga sólo se guarda
+ * si no hay una marca posterior a la que se tomó (loadStamp) antes de leer. Así una lectura
+ * concurrente con una escritura no puede volver a cachear el valor anterior al commit.
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    private final Cache<Long, Product> productsById;
+    private final Map<String, Long> idsBySku = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    // Última marca de invalidación por producto; acotado por el número de productos
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    public ProductCache(
+            MeterRegistry meterRegistry,
+            @Value("${arka.cache.products.maximum-size:10000}") long maximumSize,
+            @Value("${arka.cache.products.ttl:10m}") Duration ttl) {
+        this.productsById = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            // Desalojos por tamaño o expiración; las invalidaciones explícitas limpian el índice directamente
+            .evictionListener((Long id, Product product, RemovalCause cause) -> {
+                if (id != null && product != null) {
+                    idsBySku.remove(product.getSku(), id);
+                }
+            })
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "products");
+        log.info("Product cache enabled (maximumSize={}, ttl={})", maximumSize, ttl);
+    }
+
+    /**
+     * Obtener una copia del producto cacheado por ID
+     * @param id ID del producto
+     * @return Copia del producto, o null si no está en caché
+     */
+    public Product getById(Long id) {
+        Product cached = productsById.getIfPresent(id);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * Obtener una copia del producto cacheado por SKU
+     * @param sku SKU del producto
+     * @return Copia del producto, o null si no está en caché
+     */
+    public Product getBySku(String sku) {
+        Product cached = snapshotBySku(sku);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * Verificar si hay un producto cacheado con el ID indicado
+     */
+    public boolean containsId(Long id) {
+        return productsById.getIfPresent(id) != null;
+    }
+
+    /**
+     * Verificar si hay un producto cacheado con el SKU indicado
+     */
+    public boolean containsSku(String sku) {
+        return snapshotBySku(sku) != null;
+    }
+
+    /**
+     * Tomar la marca que debe acompañar a una lectura de la base de datos destinada a la caché
+     * @return Marca a pasar a putIfNotInvalidatedSince
+     */
+    public long loadStamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Guardar una instantánea del producto en ambos índices salvo que se haya invalidado después
+     * de tomar la marca; la comprobación y la escritura son atómicas frente a invalidate
+     * @param product Producto con categoría y atributos ya cargados
+     * @param stamp Marca tomada con loadStamp antes de la lectura
+     * @return true si se guardó
+     */
+    public boolean putIfNotInvalidatedSince(Product product, long stamp) {
+        Product snapshot = copyOf(product);
+        Long id = snapshot.getId();
+        boolean[] stored = new boolean[1];
+        productsById.asMap().compute(id, (key, current) -> {
+            Long invalidated = invalidatedAt.get(key);
+            if (invalidated != null && invalidated > stamp) {
+                return current;
+            }
+            idsBySku.put(snapshot.getSku(), key);
+            stored[0] = true;
+            return snapshot;
+        });
+        return stored[0];
+    }
+
+    /**
+     * Descartar un producto de ambos índices
+     * @param productId ID del producto, puede ser null para productos aún no persistidos
+     */
+    public void invalidate(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        // La marca se deja bajo el mismo bloqueo de clave que usa putIfNotInvalidatedSince
+        productsById.asMap().compute(productId, (key, removed) -> {
+            invalidatedAt.put(key, invalidations.incrementAndGet());
+            if (removed != null) {
+                idsBySku.remove(removed.getSku(), key);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Descartar un producto ahora y de nuevo al completar la transacción en curso, para eliminar
+     * valores que otra lectura concurrente haya cacheado antes del commit
+     * @param productId ID del producto
+     */
+    public void invalidateNowAndOnCompletion(Long productId) {
+        invalidate(productId);
+        if (productId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(productId);
+            }
+        });
+    }
+
+    private Product snapshotBySku(String sku) {
+        Long id = idsBySku.get(sku);
+        if (id == null) {
+            return null;
+        }
+        Product cached = productsById.getIfPresent(id);
+        // El índice puede quedar desfasado tras un desalojo; sólo es válido si el SKU coincide
+        return cached != null && sku.equals(cached.getSku()) ? cached : null;
+    }
+
+    private static Product copyOf(Product source) {
+        Product copy = Product.builder()
+            .id(source.getId())
+            .sku(source.getSku())
+            .name(source.getName())
+            .description(source.getDescription())
+            .brand(source.getBrand())
+            .purchasePrice(source.getPurchasePrice())
+            .salePrice(source.getSalePrice())
+            .stockQuantity(source.getStockQuantity())
+            .minimumStock(source.getMinimumStock())
+            .weight(source.getWeight())
+            .dimensions(source.getDimensions())
+            .active(source.getActive())
+            .category(copyOf(source.getCategory()))
+            .createdAt(source.getCreatedAt())
+            .updatedAt(source.getUpdatedAt())
+            .build();
+
+        if (source.getAttributes() != null) {
+            List<ProductAttribute> attributes = new ArrayList<>(source.getAttributes().size());
+            for (ProductAttribute attribute : source.getAttributes()) {
+                attributes.add(new ProductAttribute(
+                    attribute.getId(), attribute.getAttributeName(), attribute.getAttributeValue(), copy));
+            }
+            copy.setAttributes(attributes);
+        }
+        return copy;
+    }
+
+    private static Category copyOf(Category source) {
+        if (source == null) {
+            return null;
+        }
+        return Category.builder()
+            .id(source.getId())
+            .name(source.getName())
+            .description(source.getDescription())
+            .active(source.getActive())
+            .createdAt(source.getCreatedAt())
+            .updatedAt(source.getUpdatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.arka.system.infrastructure.adapter.out.enrichment;
+
+import com.arka.system.domain.port.out.ProductDetailsPort;
+import com.arka.system.shared.dto.ProductDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sustituto local del servicio externo de detalles de producto.
+ *
+ * Simula la latencia de una llamada remota por lote (arka.enrichment.stub-latency) con un
+ * temporizador, sin ocupar hilos, y devuelve los propios productos como detalles.
+ */
+@Component
+@Slf4j
+public class LocalProductDetailsAdapter implements ProductDetailsPort {
+
+    private final Duration latency;
+
+    public LocalProductDetailsAdapter(@Value("${arka.enrichment.stub-latency:50ms}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Mono<Map<Long, ProductDTO>> findDetails(List<ProductDTO> products) {
+        return Mono.delay(latency)
+            .map(tick -> {
+                Map<Long, ProductDTO> details = new LinkedHashMap<>();
+                products.forEach(product -> details.put(product.getId(), product));
+                log.debug("Resolved details for {} products", details.size());
+                return details;
+            });
+    }
+}
@@ -0,0 +1,185 @@
+package com.arka.system.infrastructure.adapter.out.inventory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Diario de solo anexado para los movimientos de stock del StockLedger.
+ *
+ * Se organiza en segmentos numerados (segment-NNN.log); cada línea es "productId delta".
+ * Un segmento se elimina sólo cuando sus deltas ya se aplicaron en la base de datos, por lo que
+ * los segmentos presentes al arrancar contienen movimientos pendientes de aplicar.
+ *
+ * Un movimiento es duradero cuando sync ha forzado a disco su línea. Las llamadas concurrentes
+ * se agrupan: un único force cubre todas las líneas escritas antes de empezar, y los hilos
+ * que esperaban ese force no lanzan otro.
+ */
+@Slf4j
+class StockJournal {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final Path directory;
+
+    StockJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio del diario de stock: " + directory, e);
+        }
+    }
+
+    /**
+     * Abrir (o crear) un segmento para anexar movimientos
+     */
+    Segment open(long segmentId) {
+        try {
+            FileChannel channel = FileChannel.open(segmentPath(segmentId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return new Segment(segmentId, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el segmento " + segmentId + " del diario de stock", e);
+        }
+    }
+
+    /**
+     * IDs de los segmentos existentes, en orden ascendente
+     */
+    List<Long> segmentIds() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(path -> SEGMENT_NAME.matcher(path.getFileName().toString()))
+                .filter(Matcher::matches)
+                .map(matcher -> Long.parseLong(matcher.group(1)))
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo listar el diario de stock en " + directory, e);
+        }
+    }
+
+    /**
+     * Leer un segmento y acumular sus deltas por producto.
+     * Una última línea incompleta (escritura interrumpida por una caída) se descarta.
+     */
+    Map<Long, Long> readDeltas(long segmentId) {
+        Map<Long, Long> deltas = new HashMap<>();
+        try {
+            String content = Files.readString(segmentPath(segmentId), StandardCharsets.UTF_8);
+            int lineStart = 0;
+            int lineEnd;
+            while ((lineEnd = content.indexOf('\n', lineStart)) >= 0) {
+                String line = content.substring(lineStart, lineEnd);
+                lineStart = lineEnd + 1;
+                int separator = line.indexOf(' ');
+                if (separator <= 0) {
+                    log.warn("Skipping malformed stock journal entry in segment {}: '{}'", segmentId, line);
+                    continue;
+                }
+                deltas.merge(Long.parseLong(line.substring(0, separator)),
+                    Long.parseLong(line.substring(separator + 1)), Long::sum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el segmento " + segmentId + " del diario de stock", e);
+        }
+        return deltas;
+    }
+
+    void delete(long segmentId) {
+        try {
+            Files.deleteIfExists(segmentPath(segmentId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo eliminar el segmento " + segmentId + " del diario de stock", e);
+        }
+    }
+
+    private Path segmentPath(long segmentId) {
+        return directory.resolve(String.format("segment-%019d.log", segmentId));
+    }
+
+    /**
+     * Segmento abierto para anexar. FileChannel serializa internamente las escrituras
+     * concurrentes en modo APPEND, de modo que cada línea se escribe completa.
+     */
+    static final class Segment implements AutoCloseable {
+
+        private final long id;
+        private final FileChannel channel;
+        private final AtomicLong appended = new AtomicLong();
+        private final Object forceLock = new Object();
+        private volatile long forced;
+
+        private Segment(long id, FileChannel channel) {
+            this.id = id;
+            this.channel = channel;
+        }
+
+        long id() {
+            return id;
+        }
+
+        /**
+         * Anexar un movimiento sin forzarlo a disco
+         * @return Número de secuencia de la línea, para sync
+         */
+        long append(long productId, long delta) {
+            ByteBuffer line = ByteBuffer.wrap((productId + " " + delta + "\n").getBytes(StandardCharsets.US_ASCII));
+            try {
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo escribir en el segmento " + id + " del diario de stock", e);
+            }
+            // La secuencia se asigna con la línea ya escrita: un force posterior la cubre
+            return appended.incrementAndGet();
+        }
+
+        /**
+         * Forzar a disco las líneas escritas hasta la secuencia indicada, si otro hilo no lo hizo ya
+         */
+        void sync(long sequence) {
+            if (forced >= sequence) {
+                return;
+            }
+            synchronized (forceLock) {
+                if (forced >= sequence) {
+                    return;
+                }
+                long target = appended.get();
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("No se pudo forzar a disco el segmento " + id + " del diario de stock", e);
+                }
+                forced = target;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo cerrar el segmento " + id + " del diario de stock", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.arka.system.infrastructure.adapter.out.inventory;
+
+import com.arka.system.domain.port.out.StockLevelPort;
+import com.arka.system.infrastructure.adapter.out.cache.ProductCache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Libro de stock en memoria con escritura diferida (write-behind) a products.stock_quantity.
+ * Se activa con arka.inventory.ledger.enabled=true y sustituye a los UPDATE por fila en
+ * ProductRepositoryAdapter para updateStock, decrementStock, incrementStock y decrementStockAll.
+ *
+ * Cada producto tiene su propia celda AtomicLong con el stock disponible, que es la fuente de
+ * verdad: los decrementos condicionales se resuelven con CAS, sin bloqueos de fila. Cada
+ * movimiento se anexa como delta al segmento activo de StockJournal, se fuerza a disco antes de
+ * devolver el resultado (fsync agrupado entre los hilos concurrentes) y se acumula en un LongAdder
+ * del lote en curso. Periódicamente se rota el segmento y los deltas del lote cerrado se aplican
+ * en un único batch JDBC junto con el punto de control (último segmento aplicado), en la misma
+ * transacción; después se borra el segmento. Al arrancar se reaplican los segmentos posteriores
+ * al punto de control, de modo que cada delta se aplica exactamente una vez aunque haya caídas.
+ *
+ * Los movimientos hechos dentro de una transacción que termina en rollback se compensan.
+ * La columna stock_quantity va por detrás del libro como máximo un intervalo de volcado, por lo
+ * que las lecturas de stock se sirven del libro (StockLevelPort) y el adaptador R2DBC también
+ * escribe el stock a través de él.
+ */
+@Component
+@ConditionalOnProperty(name = "arka.inventory.ledger.enabled", havingValue = "true")
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class StockLedger implements StockLevelPort {
+
+    private static final String APPLY_DELTA_SQL = "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    private final Map<Long, AtomicLong> cells = new ConcurrentHashMap<>();
+    private final ReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    private final Deque<Batch> unflushed = new ArrayDeque<>();
+    private final StockJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCache productCache;
+    private final Duration flushInterval;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-ledger-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Batch current;
+
+    public StockLedger(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ProductCache productCache,
+            @Value("${arka.inventory.ledger.journal-dir:./data/stock-ledger}") Path journalDirectory,
+            @Value("${arka.inventory.ledger.flush-interval:200ms}") Duration flushInterval) {
+        this.journal = new StockJournal(journalDirectory);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productCache = productCache;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS stock_ledger_checkpoint " +
+            "(id INT PRIMARY KEY, last_segment BIGINT NOT NULL)");
+        long lastSegment = recover();
+        current = new Batch(journal.open(lastSegment + 1));
+        flusher.scheduleWithFixedDelay(this::flushSafely,
+            flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Stock ledger started (journal segment {}, flush interval {})", current.segment.id(), flushInterval);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushInterval.toMillis() * 5, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        current.segment.close();
+    }
+
+    /**
+     * Decrementar el stock si hay suficiente disponible
+     * @return true si se decrementó; false si no hay stock suficiente o el producto no existe
+     */
+    public boolean tryDecrement(Long productId, int quantity) {
+        rotationLock.readLock().lock();
+        try {
+            AtomicLong cell = cell(productId);
+            if (cell == null) {
+                return false;
+            }
+            long available;
+            do {
+                available = cell.get();
+                if (available < quantity) {
+                    return false;
+                }
+            } while (!cell.compareAndSet(available, available - quantity));
+            record(productId, -quantity);
+            return true;
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Decrementar el stock de varios productos en orden ascendente de ID.
+     * Las líneas aplicadas se compensan si la transacción en curso termina en rollback.
+     * @return IDs de los productos sin stock suficiente o inexistentes
+     */
+    public List<Long> tryDecrementAll(Map<Long, Integer> quantities) {
+        List<Long> rejected = new ArrayList<>();
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (!tryDecrement(productId, quantity)) {
+                rejected.add(productId);
+            }
+        });
+        return rejected;
+    }
+
+    /**
+     * Incrementar el stock de un producto
+     * @return false si el producto no existe
+     */
+    public boolean increment(Long productId, int quantity) {
+        rotationLock.readLock().lock();
+        try {
+            AtomicLong cell = cell(productId);
+            if (cell == null) {
+                return false;
+            }
+            cell.addAndGet(quantity);
+            record(productId, quantity);
+            return true;
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fijar el stock de un producto a una cantidad absoluta
+     * @return false si el producto no existe
+     */
+    public boolean set(Long productId, int quantity) {
+        rotationLock.readLock().lock();
+        try {
+            AtomicLong cell = cell(productId);
+            if (cell == null) {
+                return false;
+            }
+            long previous = cell.getAndSet(quantity);
+            record(productId, quantity - previous);
+            return true;
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stock disponible según el libro (se carga de la base de datos en el primer acceso)
+     * @return Stock disponible, o null si el producto no existe
+     */
+    public Long available(Long productId) {
+        AtomicLong cell = cell(productId);
+        return cell != null ? cell.get() : null;
+    }
+
+    /**
+     * Stock disponible según el libro sólo si el producto ya tiene celda, sin cargarla; si no la
+     * tiene, stock_quantity está al día porque el libro no ha registrado movimientos suyos
+     * @return Stock disponible, o null si el producto no tiene celda
+     */
+    public Long peek(Long productId) {
+        AtomicLong cell = cells.get(productId);
+        return cell != null ? cell.get() : null;
+    }
+
+    @Override
+    public Optional<Integer> findCurrentStock(Long productId) {
+        return Optional.ofNullable(peek(productId)).map(Long::intValue);
+    }
+
+    /**
+     * Olvidar la celda de un producto eliminado
+     */
+    public void forget(Long productId) {
+        cells.remove(productId);
+    }
+
+    private AtomicLong cell(Long productId) {
+        AtomicLong cell = cells.get(productId);
+        if (cell != null) {
+            return cell;
+        }
+        return cells.computeIfAbsent(productId, id -> {
+            try {
+                Integer stock = jdbcTemplate.queryForObject(
+                    "SELECT stock_quantity FROM products WHERE id = ?", Integer.class, id);
+                return new AtomicLong(stock);
+            } catch (EmptyResultDataAccessException e) {
+                return null;
+            }
+        });
+    }
+
+    private void record(Long productId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        Batch batch = current;
+        long sequence = batch.segment.append(productId, delta);
+        batch.pending.computeIfAbsent(productId, id -> new LongAdder()).add(delta);
+        // El movimiento no se confirma al llamador hasta que su línea está en disco
+        batch.segment.sync(sequence);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        compensate(productId, -delta);
+                    }
+                }
+            });
+        }
+    }
+
+    private void compensate(Long productId, long delta) {
+        rotationLock.readLock().lock();
+        try {
+            AtomicLong cell = cells.get(productId);
+            if (cell != null) {
+                cell.addAndGet(delta);
+            }
+            Batch batch = current;
+            long sequence = batch.segment.append(productId, delta);
+            batch.pending.computeIfAbsent(productId, id -> new LongAdder()).add(delta);
+            batch.segment.sync(sequence);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Stock ledger flush failed; pending batches will be retried", e);
+        }
+    }
+
+    /**
+     * Rotar el segmento activo y aplicar los lotes cerrados; package-private para las pruebas
+     */
+    synchronized void flush() {
+        Batch closed;
+        rotationLock.writeLock().lock();
+        try {
+            closed = current;
+            current = new Batch(journal.open(closed.segment.id() + 1));
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+        closed.segment.close();
+        unflushed.addLast(closed);
+
+        // Los lotes se aplican en orden: el punto de control siempre es el último segmento aplicado
+        while (!unflushed.isEmpty()) {
+            Batch batch = unflushed.peekFirst();
+            Map<Long, Long> deltas = new TreeMap<>();
+            batch.pending.forEach((productId, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) {
+                    deltas.put(productId, delta);
+                }
+            });
+            apply(batch.segment.id(), deltas);
+            journal.delete(batch.segment.id());
+            unflushed.removeFirst();
+            deltas.keySet().forEach(productCache::invalidate);
+        }
+    }
+
+    private long recover() {
+        long checkpoint = readCheckpoint();
+        long lastSegment = checkpoint;
+        for (long segmentId : journal.segmentIds()) {
+            if (segmentId > checkpoint) {
+                Map<Long, Long> deltas = new TreeMap<>(journal.readDeltas(segmentId));
+                log.info("Replaying stock journal segment {} ({} products)", segmentId, deltas.size());
+                apply(segmentId, deltas);
+            }
+            journal.delete(segmentId);
+            lastSegment = Math.max(lastSegment, segmentId);
+        }
+        return lastSegment;
+    }
+
+    private void apply(long segmentId, Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(deltas.entrySet());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.getValue());
+                    ps.setLong(2, row.getKey());
+                });
+            }
+            if (jdbcTemplate.update("UPDATE stock_ledger_checkpoint SET last_segment = ? WHERE id = 1", segmentId) == 0) {
+                jdbcTemplate.update("INSERT INTO stock_ledger_checkpoint (id, last_segment) VALUES (1, ?)", segmentId);
+            }
+        });
+    }
+
+    private long readCheckpoint() {
+        List<Long> checkpoint = jdbcTemplate.queryForList(
+            "SELECT last_segment FROM stock_ledger_checkpoint WHERE id = 1", Long.class);
+        return checkpoint.isEmpty() ? 0 : checkpoint.get(0);
+    }
+
+    /**
+     * Lote de movimientos asociado a un segmento del diario
+     */
+    private static final class Batch {
+
+        private final StockJournal.Segment segment;
+        private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+        private Batch(StockJournal.Segment segment) {
+            this.segment = segment;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.model.Customer;
+import com.arka.system.domain.port.out.CustomerRepositoryPort;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * Adaptador de persistencia para clientes.
+ * Implementa el puerto de salida CustomerRepositoryPort usando JPA.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CustomerRepositoryAdapter implements CustomerRepositoryPort {
+    
+    private final JpaCustomerRepository jpaCustomerRepository;
+    
+    @Override
+    public Optional<Customer> findById(Long id) {
+        return jpaCustomerRepository.findById(id);
+    }
+}
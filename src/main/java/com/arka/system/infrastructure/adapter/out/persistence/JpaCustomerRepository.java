@@ -0,0 +1,13 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.model.Customer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio JPA para persistencia de clientes.
+ */
+@Repository
+public interface JpaCustomerRepository extends JpaRepository<Customer, Long> {
+}
@@ -0,0 +1,110 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.model.Order;
+import com.arka.system.domain.model.Order.OrderStatus;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para persistencia de órdenes.
+ * 
+ * Cada consulta filtra por columnas indexadas en orders: customer_id (idx_order_customer),
+ * status (idx_order_status) y order_date (idx_order_date). Los listados traen el cliente en
+ * el mismo SELECT; las líneas se cargan bajo demanda en lotes (hibernate.default_batch_fetch_size).
+ * Los recorridos por páginas de un estado usan keyset sobre idx_order_status_date.
+ */
+@Repository
+public interface JpaOrderRepository extends JpaRepository<Order, Long> {
+    
+    /**
+     * Buscar orden por ID con cliente y líneas
+     */
+    @Override
+    @EntityGraph(attributePaths = {"customer", "orderItems"})
+    Optional<Order> findById(Long id);
+    
+    @EntityGraph(attributePaths = "customer")
+    List<Order> findByCustomerId(Long customerId);
+    
+    @EntityGraph(attributePaths = "customer")
+    List<Order> findByStatus(OrderStatus status);
+    
+    @EntityGraph(attributePaths = "customer")
+    List<Order> findByCustomerIdAndStatus(Long customerId, OrderStatus status);
+    
+    @EntityGraph(attributePaths = "customer")
+    List<Order> findByOrderDateBefore(LocalDateTime date);
+    
+    @EntityGraph(attributePaths = "customer")
+    List<Order> findByStatusAndOrderDateBefore(OrderStatus status, LocalDateTime date);
+    
+    @EntityGraph(attributePaths = "customer")
+    List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    @EntityGraph(attributePaths = "customer")
+    List<Order> findByStatusAndOrderDateBetween(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Primera página de órdenes con el estado creadas antes de la fecha, bloqueadas (FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.orderDate < :date " +
+           "ORDER BY o.orderDate, o.id")
+    List<Order> findPageForUpdate(@Param("status") OrderStatus status,
+                                  @Param("date") LocalDateTime date,
+                                  Pageable pageable);
+    
+    /**
+     * Página siguiente a (afterDate, afterId) de órdenes con el estado creadas antes de la fecha,
+     * bloqueadas (FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.orderDate < :date " +
+           "AND (o.orderDate > :afterDate OR (o.orderDate = :afterDate AND o.id > :afterId)) " +
+           "ORDER BY o.orderDate, o.id")
+    List<Order> findPageAfterForUpdate(@Param("status") OrderStatus status,
+                                       @Param("date") LocalDateTime date,
+                                       @Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    long countByStatus(OrderStatus status);
+    
+    long countByCustomerId(Long customerId);
+    
+    /**
+     * Suma de total_amount de las órdenes con alguno de los estados indicados en el rango de fechas
+     */
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o " +
+           "WHERE o.orderDate BETWEEN :startDate AND :endDate AND o.status IN :statuses")
+    BigDecimal sumTotalAmountBetween(@Param("startDate") LocalDateTime startDate,
+                                     @Param("endDate") LocalDateTime endDate,
+                                     @Param("statuses") Collection<OrderStatus> statuses);
+    
+    /**
+     * Suma de total_amount de las órdenes con alguno de los estados indicados en [startDate, firstHour)
+     * o en [lastHour, endDate]: los extremos de un rango cuyas horas completas salen de SalesRollup
+     */
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status IN :statuses AND (" +
+           "(o.orderDate >= :startDate AND o.orderDate < :firstHour) OR " +
+           "(o.orderDate >= :lastHour AND o.orderDate <= :endDate))")
+    BigDecimal sumTotalAmountOutside(@Param("startDate") LocalDateTime startDate,
+                                     @Param("firstHour") LocalDateTime firstHour,
+                                     @Param("lastHour") LocalDateTime lastHour,
+                                     @Param("endDate") LocalDateTime endDate,
+                                     @Param("statuses") Collection<OrderStatus> statuses);
+}
@@ -2,55 +2,131 @@ package com.arka.system.infrastructure.adapter.out.persistence;
 
 import com.arka.system.domain.port.out.ProductRepositoryPort;
 import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductSummary;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio JPA para persistencia de productos.
  * Implementa el puerto de salida ProductRepositoryPort.
+ * 
+ * Planes de carga: las consultas de listado traen la categoría en el mismo SELECT
+ * (plan "resumen", sin atributos) y las de detalle traen además los atributos
+ * (plan "detalle"), evitando las cargas perezosas N+1 al mapear a DTO.
+ * Los listados de solo lectura usan proyecciones ProductSummary, que no son entidades gestionadas.
  */
 @Repository
-public interface JpaProductRepository extends JpaRepository<Product, Long> {
+public interface JpaProductRepository extends JpaRepository<Product, Long>, ProductFieldQueryRepository {
+    
+    String SELECT_SUMMARY = "SELECT new com.arka.system.domain.model.ProductSummary(" +
+        "p.id, p.sku, p.name, p.brand, p.purchasePrice, p.salePrice, p.stockQuantity, p.minimumStock, " +
+        "p.active, c.id, c.name) FROM Product p JOIN p.category c ";
     
     /**
      * Buscar producto por SKU
      */
     Optional<Product> findBySku(String sku);
     
+    /**
+     * Buscar producto por ID con categoría y atributos (plan "detalle")
+     */
+    @EntityGraph(attributePaths = {"category", "attributes"})
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findDetailById(@Param("id") Long id);
+    
+    /**
+     * Buscar producto por SKU con categoría y atributos (plan "detalle")
+     */
+    @EntityGraph(attributePaths = {"category", "attributes"})
+    @Query("SELECT p FROM Product p WHERE p.sku = :sku")
+    Optional<Product> findDetailBySku(@Param("sku") String sku);
+    
+    /**
+     * Buscar todos los productos con paginación (plan "resumen")
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+    
     /**
      * Buscar todos los productos activos
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.active = true")
     List<Product> findAllActive();
     
     /**
      * Buscar productos por categoría
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.active = true")
     List<Product> findByCategoryId(@Param("categoryId") Long categoryId);
     
     /**
      * Buscar productos por texto en nombre, descripción o marca
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.active = true AND " +
            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
            "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
            "LOWER(p.brand) LIKE LOWER(CONCAT('%', :searchText, '%')))")
     List<Product> findByNameOrDescriptionOrBrandContaining(@Param("searchText") String searchText);
     
+    /**
+     * Buscar productos por ID (plan "resumen"), en cualquier orden
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * Buscar productos con stock por debajo del mínimo
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.active = true AND p.stockQuantity <= p.minimumStock")
     List<Product> findLowStockProducts();
     
+    /**
+     * Proyección de los productos activos
+     */
+    @Query(SELECT_SUMMARY + "WHERE p.active = true ORDER BY p.id")
+    List<ProductSummary> findActiveSummaries();
+    
+    /**
+     * Proyección de los productos activos de una categoría
+     */
+    @Query(SELECT_SUMMARY + "WHERE c.id = :categoryId AND p.active = true ORDER BY p.id")
+    List<ProductSummary> findActiveSummariesByCategoryId(@Param("categoryId") Long categoryId);
+    
+    /**
+     * Proyección de los productos activos con stock por debajo del mínimo
+     */
+    @Query(SELECT_SUMMARY + "WHERE p.active = true AND p.stockQuantity <= p.minimumStock ORDER BY p.id")
+    List<ProductSummary> findLowStockSummaries();
+    
+    /**
+     * Obtener sólo el stock de un producto
+     */
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+    
+    /**
+     * Obtener el stock de varios productos como pares [id, stockQuantity]
+     */
+    @Query("SELECT p.id, p.stockQuantity FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findStockQuantitiesByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * Actualizar stock de un producto de forma atómica
      */
@@ -92,14 +168,37 @@ public interface JpaProductRepository extends JpaRepository<Product, Long> {
     /**
      * Buscar productos por categoría con paginación
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.active = true")
     org.springframework.data.domain.Page<Product> findByCategoryIdAndActiveTrue(
         @Param("categoryId") Long categoryId, 
         org.springframework.data.domain.Pageable pageable);
     
+    /**
+     * Buscar productos activos posteriores a un ID (keyset). El Pageable sólo limita
+     * el tamaño: al devolver List no se ejecuta COUNT(*) ni se usa OFFSET.
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE p.active = true AND p.id > :afterId ORDER BY p.id")
+    List<Product> findActiveAfter(
+        @Param("afterId") Long afterId,
+        org.springframework.data.domain.Pageable limit);
+    
+    /**
+     * Buscar productos activos de una categoría posteriores a un ID (keyset sobre (category_id, id))
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.active = true " +
+           "AND p.id > :afterId ORDER BY p.id")
+    List<Product> findActiveByCategoryIdAfter(
+        @Param("categoryId") Long categoryId,
+        @Param("afterId") Long afterId,
+        org.springframework.data.domain.Pageable limit);
+    
     /**
      * Buscar productos por texto con paginación
      */
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.active = true AND " +
            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
            "LOWER(p.description) LIKE LOWER(CONCAT('%', :description, '%')) OR " +
@@ -0,0 +1,41 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.model.StockHold;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JPA para las reservas temporales de stock.
+ */
+@Repository
+public interface JpaStockHoldRepository extends JpaRepository<StockHold, Long> {
+    
+    /**
+     * Líneas de una reserva
+     */
+    List<StockHold> findByReservationId(String reservationId);
+    
+    /**
+     * Reservas vigentes de una sola línea con ese producto y cantidad, por vencimiento
+     */
+    @Query("SELECT h.reservationId FROM StockHold h WHERE h.productId = :productId AND h.quantity = :quantity " +
+           "AND h.expiresAt > :now AND NOT EXISTS (SELECT o.id FROM StockHold o " +
+           "WHERE o.reservationId = h.reservationId AND o.id <> h.id) ORDER BY h.expiresAt, h.id")
+    List<String> findSingleLineReservationIds(@Param("productId") Long productId, @Param("quantity") Integer quantity,
+                                              @Param("now") LocalDateTime now, Limit limit);
+    
+    /**
+     * Eliminar una reserva; devuelve 0 si ya fue eliminada por otra operación
+     */
+    @Modifying
+    @Query("DELETE FROM StockHold h WHERE h.id = :id")
+    int deleteHoldById(@Param("id") Long id);
+}
@@ -0,0 +1,164 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.event.OrderSalesChangedEvent;
+import com.arka.system.domain.model.Order;
+import com.arka.system.domain.model.Order.OrderStatus;
+import com.arka.system.domain.port.out.OrderRepositoryPort;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador de persistencia para órdenes.
+ * Implementa el puerto de salida OrderRepositoryPort usando JPA.
+ * Una orden se guarda junto con sus líneas (cascade): los IDs se toman de secuencias por
+ * bloques y los INSERT de órdenes y líneas se envían en batches JDBC (hibernate.jdbc.batch_size).
+ * 
+ * Cada guardado o borrado que cambia lo que una orden aporta a las ventas publica un
+ * OrderSalesChangedEvent, que mantiene SalesRollup. getTotalSalesBetween suma las horas completas
+ * del rango desde SalesRollup en O(log n) y sólo consulta las órdenes de las horas incompletas
+ * de los extremos.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class OrderRepositoryAdapter implements OrderRepositoryPort {
+    
+    private final JpaOrderRepository jpaOrderRepository;
+    private final SalesRollup salesRollup;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    public Order save(Order order) {
+        if (order.getOrderItems() != null) {
+            order.getOrderItems().forEach(item -> item.setOrder(order));
+        }
+        Order saved = jpaOrderRepository.save(order);
+        
+        // Estado leído (o ninguno si es nueva) frente al guardado
+        BigDecimal delta = saleAmount(saved.getStatus(), saved.getTotalAmount())
+            .subtract(saleAmount(saved.getPersistedStatus(), saved.getPersistedTotalAmount()));
+        saved.rememberPersistedState();
+        if (delta.signum() != 0) {
+            LocalDateTime orderDate = saved.getOrderDate() != null ? saved.getOrderDate() : LocalDateTime.now();
+            eventPublisher.publishEvent(new OrderSalesChangedEvent(orderDate, delta));
+        }
+        return saved;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Order> findById(Long id) {
+        return jpaOrderRepository.findById(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByCustomerId(Long customerId) {
+        return jpaOrderRepository.findByCustomerId(customerId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByStatus(OrderStatus status) {
+        return jpaOrderRepository.findByStatus(status);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByCustomerIdAndStatus(Long customerId, OrderStatus status) {
+        return jpaOrderRepository.findByCustomerIdAndStatus(customerId, status);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByOrderDateBefore(LocalDateTime date) {
+        return jpaOrderRepository.findByOrderDateBefore(date);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByStatusAndOrderDateBefore(OrderStatus status, LocalDateTime date) {
+        return jpaOrderRepository.findByStatusAndOrderDateBefore(status, date);
+    }
+    
+    @Override
+    public List<Order> findPageByStatusAndOrderDateBefore(OrderStatus status, LocalDateTime date,
+                                                          LocalDateTime afterDate, Long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return afterDate == null
+            ? jpaOrderRepository.findPageForUpdate(status, date, page)
+            : jpaOrderRepository.findPageAfterForUpdate(status, date, afterDate, afterId, page);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return jpaOrderRepository.findByOrderDateBetween(startDate, endDate);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByStatusAndOrderDateBetween(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate) {
+        return jpaOrderRepository.findByStatusAndOrderDateBetween(status, startDate, endDate);
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        jpaOrderRepository.findById(id).ifPresent(order -> {
+            jpaOrderRepository.delete(order);
+            BigDecimal amount = saleAmount(order.getStatus(), order.getTotalAmount());
+            if (amount.signum() != 0) {
+                eventPublisher.publishEvent(new OrderSalesChangedEvent(order.getOrderDate(), amount.negate()));
+            }
+        });
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long countByStatus(OrderStatus status) {
+        return jpaOrderRepository.countByStatus(status);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long countByCustomerId(Long customerId) {
+        return jpaOrderRepository.countByCustomerId(customerId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalSalesBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime firstHour = startDate.truncatedTo(ChronoUnit.HOURS);
+        if (firstHour.isBefore(startDate)) {
+            firstHour = firstHour.plusHours(1);
+        }
+        LocalDateTime lastHour = endDate.truncatedTo(ChronoUnit.HOURS);
+        if (!salesRollup.isReady() || !firstHour.isBefore(lastHour)) {
+            return jpaOrderRepository.sumTotalAmountBetween(startDate, endDate, SalesRollup.SALE_STATUSES);
+        }
+        
+        // Horas completas [firstHour, lastHour) desde el agregado; los extremos, de las órdenes
+        return salesRollup.sumHours(firstHour, lastHour).add(jpaOrderRepository.sumTotalAmountOutside(
+            startDate, firstHour, lastHour, endDate, SalesRollup.SALE_STATUSES));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long rebuildSalesRollup() {
+        return salesRollup.rebuild();
+    }
+    
+    private static BigDecimal saleAmount(OrderStatus status, BigDecimal totalAmount) {
+        return status != null && status.isSale() && totalAmount != null ? totalAmount : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,22 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.shared.dto.ProductField;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fragmento de JpaProductRepository para consultas de productos activos que seleccionan
+ * únicamente las columnas solicitadas (parámetro fields=).
+ */
+public interface ProductFieldQueryRepository {
+
+    /**
+     * Seleccionar campos concretos de los productos activos, ordenados por ID
+     * @param fields Campos a seleccionar
+     * @param categoryId ID de la categoría por la que filtrar (null para no filtrar)
+     * @param lowStockOnly true para devolver sólo productos con stock por debajo del mínimo
+     * @return Una fila por producto con los campos solicitados, en el orden pedido
+     */
+    List<Map<String, Object>> findActiveFields(List<ProductField> fields, Long categoryId, boolean lowStockOnly);
+}
@@ -0,0 +1,73 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+import com.arka.system.shared.dto.ProductField;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación con Criteria API del fragmento ProductFieldQueryRepository.
+ * Construye un SELECT de tuplas con sólo las columnas pedidas; la categoría se une
+ * únicamente si alguno de los campos la requiere. Las tuplas no son entidades gestionadas.
+ */
+public class ProductFieldQueryRepositoryImpl implements ProductFieldQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findActiveFields(List<ProductField> fields, Long categoryId, boolean lowStockOnly) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = fields.stream().anyMatch(ProductField::isCategoryField)
+            ? product.join("category")
+            : null;
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (ProductField field : fields) {
+            String attribute = field.getAttributePath();
+            selections.add(field.isCategoryField()
+                ? category.get(attribute.substring("category.".length()))
+                : product.get(attribute));
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(product.get("active")));
+        if (categoryId != null) {
+            predicates.add(cb.equal(product.get("category").get("id"), categoryId));
+        }
+        if (lowStockOnly) {
+            predicates.add(cb.le(product.<Integer>get("stockQuantity"), product.<Integer>get("minimumStock")));
+        }
+
+        query.multiselect(selections)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.asc(product.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(fields.get(i).getJsonName(), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
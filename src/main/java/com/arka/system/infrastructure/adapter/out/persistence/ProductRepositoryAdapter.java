@@ -1,29 +1,62 @@
 package com.arka.system.infrastructure.adapter.out.persistence;
 
+import com.arka.system.domain.event.ProductChangedEvent;
+import com.arka.system.domain.event.StockChangedEvent;
 import com.arka.system.domain.port.out.ProductRepositoryPort;
 import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductSummary;
+import com.arka.system.infrastructure.adapter.out.inventory.StockLedger;
+import com.arka.system.shared.dto.ProductField;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Adaptador de persistencia para productos.
  * Implementa el puerto de salida ProductRepositoryPort usando JPA.
+ * Si StockLedger está activo, los movimientos de stock se resuelven en memoria y se
+ * vuelcan a la base de datos de forma diferida; las lecturas de stock se sirven del libro.
+ * Las altas, modificaciones y eliminaciones publican ProductChangedEvent para los índices del catálogo,
+ * y los movimientos de stock aplicados, StockChangedEvent.
  */
 @Component
 @RequiredArgsConstructor
 @Transactional
 public class ProductRepositoryAdapter implements ProductRepositoryPort {
     
+    private static final String DECREMENT_STOCK_SQL =
+        "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+    
+    private static final String INCREMENT_STOCK_SQL =
+        "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+    
     private final JpaProductRepository jpaProductRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<StockLedger> stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public Product save(Product product) {
-        return jpaProductRepository.save(product);
+        Product saved = jpaProductRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved.getId()));
+        return saved;
     }
     
     @Override
@@ -38,6 +71,18 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         return jpaProductRepository.findBySku(sku);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findDetailById(Long id) {
+        return jpaProductRepository.findDetailById(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findDetailBySku(String sku) {
+        return jpaProductRepository.findDetailBySku(sku);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Product> findAllActive() {
@@ -56,28 +101,176 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         return jpaProductRepository.findByNameOrDescriptionOrBrandContaining(searchText);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> byId = jpaProductRepository.findByIdIn(ids).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Product> findLowStockProducts() {
         return jpaProductRepository.findLowStockProducts();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSummary> findActiveSummaries() {
+        return jpaProductRepository.findActiveSummaries();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSummary> findActiveSummariesByCategoryId(Long categoryId) {
+        return jpaProductRepository.findActiveSummariesByCategoryId(categoryId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSummary> findLowStockSummaries() {
+        return jpaProductRepository.findLowStockSummaries();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findActiveFields(List<ProductField> fields, Long categoryId, boolean lowStockOnly) {
+        List<Map<String, Object>> rows = jpaProductRepository.findActiveFields(fields, categoryId, lowStockOnly);
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null && fields.contains(ProductField.ID) && fields.contains(ProductField.STOCK_QUANTITY)) {
+            // Las filas no son entidades gestionadas: el stock del libro se puede sustituir sin escribirlo
+            for (Map<String, Object> row : rows) {
+                Long ledgerStock = ledger.peek((Long) row.get(ProductField.ID.getJsonName()));
+                if (ledgerStock != null) {
+                    row.put(ProductField.STOCK_QUANTITY.getJsonName(), ledgerStock.intValue());
+                }
+            }
+        }
+        return rows;
+    }
+    
     @Override
     public boolean updateStock(Long productId, Integer quantity) {
-        int updatedRows = jpaProductRepository.updateStockById(productId, quantity);
-        return updatedRows > 0;
+        StockLedger ledger = stockLedger.getIfAvailable();
+        boolean updated = ledger != null
+            ? ledger.set(productId, quantity)
+            : jpaProductRepository.updateStockById(productId, quantity) > 0;
+        return stockChanged(productId, updated);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Integer> findStockQuantity(Long productId) {
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null) {
+            return Optional.ofNullable(ledger.available(productId)).map(Long::intValue);
+        }
+        return jpaProductRepository.findStockQuantityById(productId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> findStockQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null) {
+            productIds.forEach(id -> findStockQuantity(id).ifPresent(quantity -> stock.put(id, quantity)));
+            return stock;
+        }
+        for (Object[] row : jpaProductRepository.findStockQuantitiesByIdIn(productIds)) {
+            stock.put((Long) row[0], (Integer) row[1]);
+        }
+        return stock;
     }
     
     @Override
     public boolean decrementStock(Long productId, Integer quantity) {
-        int updatedRows = jpaProductRepository.decrementStockById(productId, quantity);
-        return updatedRows > 0;
+        StockLedger ledger = stockLedger.getIfAvailable();
+        boolean decremented = ledger != null
+            ? ledger.tryDecrement(productId, quantity)
+            : jpaProductRepository.decrementStockById(productId, quantity) > 0;
+        return stockChanged(productId, decremented);
+    }
+    
+    @Override
+    public List<Long> decrementStockAll(Map<Long, Integer> quantities) {
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null) {
+            return stockChanged(quantities, ledger.tryDecrementAll(quantities));
+        }
+        
+        // Orden ascendente de ID: orden de bloqueo determinista entre reservas concurrentes
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        
+        int[][] updatedRows = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        });
+        
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            int count = updatedRows[0][i];
+            // SUCCESS_NO_INFO: el driver no informa filas afectadas; se asume aplicada
+            if (count == 0 || (count < 0 && count != Statement.SUCCESS_NO_INFO)) {
+                rejected.add(lines.get(i).getKey());
+            }
+        }
+        return stockChanged(quantities, rejected);
     }
     
     @Override
     public boolean incrementStock(Long productId, Integer quantity) {
-        int updatedRows = jpaProductRepository.incrementStockById(productId, quantity);
-        return updatedRows > 0;
+        StockLedger ledger = stockLedger.getIfAvailable();
+        boolean incremented = ledger != null
+            ? ledger.increment(productId, quantity)
+            : jpaProductRepository.incrementStockById(productId, quantity) > 0;
+        return stockChanged(productId, incremented);
+    }
+    
+    @Override
+    public List<Long> incrementStockAll(Map<Long, Integer> quantities) {
+        StockLedger ledger = stockLedger.getIfAvailable();
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        List<Long> missing = new ArrayList<>();
+        
+        if (ledger != null) {
+            lines.forEach(line -> {
+                if (!ledger.increment(line.getKey(), line.getValue())) {
+                    missing.add(line.getKey());
+                }
+            });
+            return stockChanged(quantities, missing);
+        }
+        
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        
+        int[][] updatedRows = jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+        });
+        
+        for (int i = 0; i < lines.size(); i++) {
+            int count = updatedRows[0][i];
+            // SUCCESS_NO_INFO: el driver no informa filas afectadas; se asume aplicada
+            if (count == 0 || (count < 0 && count != Statement.SUCCESS_NO_INFO)) {
+                missing.add(lines.get(i).getKey());
+            }
+        }
+        return stockChanged(quantities, missing);
     }
     
     @Override
@@ -110,6 +303,18 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         return jpaProductRepository.findByCategoryIdAndActiveTrue(categoryId, pageRequest).getContent();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findActiveAfter(Long afterId, int limit) {
+        return jpaProductRepository.findActiveAfter(afterId, PageRequest.ofSize(limit));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findActiveByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        return jpaProductRepository.findActiveByCategoryIdAfter(categoryId, afterId, PageRequest.ofSize(limit));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Product> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseOrBrandContainingIgnoreCase(
@@ -121,6 +326,11 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
     @Override
     public void deleteById(Long id) {
         jpaProductRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null) {
+            ledger.forget(id);
+        }
     }
     
     @Override
@@ -128,4 +338,23 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
     public long countActiveProducts() {
         return jpaProductRepository.countActiveProducts();
     }
+    
+    private boolean stockChanged(Long productId, boolean applied) {
+        if (applied) {
+            eventPublisher.publishEvent(StockChangedEvent.of(productId));
+        }
+        return applied;
+    }
+    
+    /**
+     * Publicar StockChangedEvent con las líneas aplicadas (las no rechazadas)
+     */
+    private List<Long> stockChanged(Map<Long, Integer> quantities, List<Long> rejected) {
+        if (rejected.size() < quantities.size()) {
+            List<Long> applied = new ArrayList<>(quantities.keySet());
+            applied.removeAll(rejected);
+            eventPublisher.publishEvent(StockChangedEvent.of(applied));
+        }
+        return rejected;
+    }
 }
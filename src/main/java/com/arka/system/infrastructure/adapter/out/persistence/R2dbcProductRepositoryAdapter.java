@@ -0,0 +1,384 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.event.ProductChangedEvent;
+import com.arka.system.domain.event.StockChangedEvent;
+import com.arka.system.domain.port.out.ReactiveProductRepositoryPort;
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+import com.arka.system.infrastructure.adapter.out.cache.ProductCache;
+import com.arka.system.infrastructure.adapter.out.inventory.StockLedger;
+
+import io.r2dbc.spi.Readable;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import lombok.RequiredArgsConstructor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Adaptador de persistencia reactivo para productos.
+ * Implementa ReactiveProductRepositoryPort usando R2DBC (DatabaseClient) sobre las mismas
+ * tablas que mapea JPA, de modo que ningún acceso a datos bloquea hilos.
+ *
+ * Las entidades se reconstruyen con la categoría (id y nombre) vía JOIN; los atributos
+ * y los items de orden no se cargan, ya que R2DBC no gestiona relaciones.
+ *
+ * Como escribe sobre las mismas filas que el adaptador JPA, cada escritura invalida el
+ * producto en ProductCache para que las lecturas bloqueantes no sirvan datos obsoletos, y las
+ * altas, modificaciones y eliminaciones publican ProductChangedEvent para los índices del catálogo
+ * (StockChangedEvent los movimientos de stock aplicados).
+ *
+ * El stock sólo se escribe en el alta y con los movimientos de stock; las modificaciones no lo
+ * tocan. Si StockLedger está activo, los movimientos pasan por el libro, como en el adaptador JPA,
+ * y el stock leído se toma de él, ya que la columna va por detrás.
+ */
+@Component
+@RequiredArgsConstructor
+public class R2dbcProductRepositoryAdapter implements ReactiveProductRepositoryPort {
+
+    private static final String SELECT_PRODUCT =
+        "SELECT p.id, p.sku, p.name, p.description, p.brand, p.purchase_price, p.sale_price, " +
+        "p.stock_quantity, p.minimum_stock, p.weight_kg, p.dimensions, p.active, p.category_id, " +
+        "p.created_at, p.updated_at, c.name AS category_name " +
+        "FROM products p LEFT JOIN categories c ON c.id = p.category_id ";
+
+    private final DatabaseClient databaseClient;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<StockLedger> stockLedger;
+    private final Scheduler blockingScheduler;
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return product.getId() == null ? insert(product) : update(product);
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        return databaseClient.sql(SELECT_PRODUCT + "WHERE p.id = :id")
+            .bind("id", id)
+            .map(this::toProduct)
+            .one();
+    }
+
+    @Override
+    public Mono<Product> findBySku(String sku) {
+        return databaseClient.sql(SELECT_PRODUCT + "WHERE p.sku = :sku")
+            .bind("sku", sku)
+            .map(this::toProduct)
+            .one();
+    }
+
+    @Override
+    public Flux<Product> findAll(PageRequest pageRequest) {
+        return databaseClient.sql(SELECT_PRODUCT + "ORDER BY p.id LIMIT :limit OFFSET :offset")
+            .bind("limit", pageRequest.getPageSize())
+            .bind("offset", pageRequest.getOffset())
+            .map(this::toProduct)
+            .all();
+    }
+
+    @Override
+    public Flux<Product> findAllActive() {
+        return databaseClient.sql(SELECT_PRODUCT + "WHERE p.active = TRUE ORDER BY p.id")
+            .map(this::toProduct)
+            .all();
+    }
+
+    @Override
+    public Flux<Product> findByCategoryIdAndActiveTrue(Long categoryId, PageRequest pageRequest) {
+        return databaseClient.sql(SELECT_PRODUCT +
+                "WHERE p.category_id = :categoryId AND p.active = TRUE ORDER BY p.id LIMIT :limit OFFSET :offset")
+            .bind("categoryId", categoryId)
+            .bind("limit", pageRequest.getPageSize())
+            .bind("offset", pageRequest.getOffset())
+            .map(this::toProduct)
+            .all();
+    }
+
+    @Override
+    public Flux<Product> findActiveAfter(Long afterId, int limit) {
+        return databaseClient.sql(SELECT_PRODUCT + "WHERE p.active = TRUE AND p.id > :afterId ORDER BY p.id LIMIT :limit")
+            .bind("afterId", afterId)
+            .bind("limit", limit)
+            .map(this::toProduct)
+            .all();
+    }
+
+    @Override
+    public Flux<Product> findActiveByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        return databaseClient.sql(SELECT_PRODUCT +
+                "WHERE p.category_id = :categoryId AND p.active = TRUE AND p.id > :afterId ORDER BY p.id LIMIT :limit")
+            .bind("categoryId", categoryId)
+            .bind("afterId", afterId)
+            .bind("limit", limit)
+            .map(this::toProduct)
+            .all();
+    }
+
+    @Override
+    public Flux<Product> findByNameOrDescriptionOrBrandContaining(String searchText, PageRequest pageRequest) {
+        return databaseClient.sql(SELECT_PRODUCT + "WHERE p.active = TRUE AND " +
+                "(LOWER(p.name) LIKE :pattern OR LOWER(p.description) LIKE :pattern OR LOWER(p.brand) LIKE :pattern) " +
+                "ORDER BY p.id LIMIT :limit OFFSET :offset")
+            .bind("pattern", "%" + searchText.toLowerCase() + "%")
+            .bind("limit", pageRequest.getPageSize())
+            .bind("offset", pageRequest.getOffset())
+            .map(this::toProduct)
+            .all();
+    }
+
+    @Override
+    public Flux<Product> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_PRODUCT + "WHERE p.id IN (:ids)")
+            .bind("ids", ids)
+            .map(this::toProduct)
+            .all()
+            .collectMap(Product::getId)
+            .flatMapIterable(byId -> ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public Flux<Product> findLowStockProducts() {
+        return databaseClient.sql(SELECT_PRODUCT +
+                "WHERE p.active = TRUE AND p.stock_quantity <= p.minimum_stock ORDER BY p.id")
+            .map(this::toProduct)
+            .all();
+    }
+
+    @Override
+    public Mono<Boolean> updateStock(Long productId, Integer quantity) {
+        StockLedger ledger = stockLedger.getIfAvailable();
+        Mono<Boolean> update = ledger != null
+            ? onLedger(() -> ledger.set(productId, quantity))
+            : databaseClient.sql("UPDATE products SET stock_quantity = :quantity WHERE id = :productId")
+                .bind("quantity", quantity)
+                .bind("productId", productId)
+                .fetch()
+                .rowsUpdated()
+                .map(updatedRows -> updatedRows > 0);
+        return update
+            .doOnSuccess(ignored -> productCache.invalidate(productId))
+            .flatMap(applied -> stockChanged(productId, applied));
+    }
+
+    @Override
+    public Mono<Boolean> decrementStock(Long productId, Integer quantity) {
+        StockLedger ledger = stockLedger.getIfAvailable();
+        Mono<Boolean> decrement = ledger != null
+            ? onLedger(() -> ledger.tryDecrement(productId, quantity))
+            : databaseClient.sql("UPDATE products SET stock_quantity = stock_quantity - :quantity " +
+                    "WHERE id = :productId AND stock_quantity >= :quantity")
+                .bind("quantity", quantity)
+                .bind("productId", productId)
+                .fetch()
+                .rowsUpdated()
+                .map(updatedRows -> updatedRows > 0);
+        return decrement
+            .doOnSuccess(ignored -> productCache.invalidate(productId))
+            .flatMap(applied -> stockChanged(productId, applied));
+    }
+
+    @Override
+    public Mono<Boolean> incrementStock(Long productId, Integer quantity) {
+        StockLedger ledger = stockLedger.getIfAvailable();
+        Mono<Boolean> increment = ledger != null
+            ? onLedger(() -> ledger.increment(productId, quantity))
+            : databaseClient.sql("UPDATE products SET stock_quantity = stock_quantity + :quantity WHERE id = :productId")
+                .bind("quantity", quantity)
+                .bind("productId", productId)
+                .fetch()
+                .rowsUpdated()
+                .map(updatedRows -> updatedRows > 0);
+        return increment
+            .doOnSuccess(ignored -> productCache.invalidate(productId))
+            .flatMap(applied -> stockChanged(productId, applied));
+    }
+
+    @Override
+    public Mono<Boolean> existsBySku(String sku) {
+        return databaseClient.sql("SELECT 1 FROM products WHERE sku = :sku")
+            .bind("sku", sku)
+            .map(row -> Boolean.TRUE)
+            .first()
+            .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Boolean> existsBySkuAndIdNot(String sku, Long excludeId) {
+        return databaseClient.sql("SELECT 1 FROM products WHERE sku = :sku AND id <> :excludeId")
+            .bind("sku", sku)
+            .bind("excludeId", excludeId)
+            .map(row -> Boolean.TRUE)
+            .first()
+            .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM products WHERE id = :id")
+            .bind("id", id)
+            .map(row -> Boolean.TRUE)
+            .first()
+            .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        // JPA elimina los atributos en cascada; aquí se replica explícitamente
+        return databaseClient.sql("DELETE FROM product_attributes WHERE product_id = :id")
+            .bind("id", id)
+            .then()
+            .then(databaseClient.sql("DELETE FROM products WHERE id = :id")
+                .bind("id", id)
+                .then())
+            .doOnSuccess(ignored -> productCache.invalidate(id))
+            .then(publishAfterCommit(ProductChangedEvent.of(id)));
+    }
+
+    @Override
+    public Mono<Long> countActiveProducts() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM products WHERE active = TRUE")
+            .map(row -> row.get("total", Long.class))
+            .one();
+    }
+
+    private Mono<Product> insert(Product product) {
+        LocalDateTime now = LocalDateTime.now();
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "INSERT INTO products (sku, name, description, brand, purchase_price, sale_price, stock_quantity, " +
+                "minimum_stock, weight_kg, dimensions, active, category_id, created_at, updated_at) " +
+                "VALUES (:sku, :name, :description, :brand, :purchasePrice, :salePrice, :stockQuantity, " +
+                ":minimumStock, :weight, :dimensions, :active, :categoryId, :createdAt, :updatedAt)")
+            .bind("createdAt", now)
+            .bind("stockQuantity", product.getStockQuantity());
+
+        return bindColumns(spec, product)
+            .filter(statement -> statement.returnGeneratedValues("id"))
+            .map(row -> row.get("id", Long.class))
+            .one()
+            .map(id -> {
+                product.setId(id);
+                return product;
+            })
+            .flatMap(saved -> publishAfterCommit(ProductChangedEvent.of(saved.getId())).thenReturn(saved));
+    }
+
+    private Mono<Product> update(Product product) {
+        product.setUpdatedAt(LocalDateTime.now());
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "UPDATE products SET sku = :sku, name = :name, description = :description, brand = :brand, " +
+                "purchase_price = :purchasePrice, sale_price = :salePrice, " +
+                "minimum_stock = :minimumStock, weight_kg = :weight, dimensions = :dimensions, active = :active, " +
+                "category_id = :categoryId, updated_at = :updatedAt WHERE id = :id")
+            .bind("id", product.getId());
+
+        return bindColumns(spec, product)
+            .fetch()
+            .rowsUpdated()
+            .thenReturn(product)
+            .doOnSuccess(ignored -> productCache.invalidate(product.getId()))
+            .flatMap(saved -> publishAfterCommit(ProductChangedEvent.of(saved.getId())).thenReturn(saved));
+    }
+
+    /**
+     * Los movimientos del libro pueden leer la fila (primer acceso) y escriben en el diario,
+     * por lo que se ejecutan en blockingScheduler
+     */
+    private Mono<Boolean> onLedger(Callable<Boolean> movement) {
+        return Mono.fromCallable(movement).subscribeOn(blockingScheduler);
+    }
+
+    private Mono<Boolean> stockChanged(Long productId, boolean applied) {
+        return applied
+            ? publishAfterCommit(StockChangedEvent.of(productId)).thenReturn(true)
+            : Mono.just(false);
+    }
+
+    /**
+     * Publicar un evento tras el commit de la transacción reactiva en curso,
+     * o de inmediato si la escritura no forma parte de ninguna
+     */
+    private Mono<Void> publishAfterCommit(Object event) {
+        Mono<TransactionSynchronizationManager> publishNow = Mono.fromRunnable(() -> eventPublisher.publishEvent(event));
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(manager -> manager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public Mono<Void> afterCommit() {
+                    return Mono.fromRunnable(() -> eventPublisher.publishEvent(event));
+                }
+            }))
+            .switchIfEmpty(publishNow)
+            .onErrorResume(NoTransactionException.class, e -> publishNow)
+            .then();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, Product product) {
+        spec = spec.bind("sku", product.getSku())
+            .bind("name", product.getName())
+            .bind("brand", product.getBrand())
+            .bind("purchasePrice", product.getPurchasePrice())
+            .bind("salePrice", product.getSalePrice())
+            .bind("minimumStock", product.getMinimumStock())
+            .bind("active", product.isActive())
+            .bind("categoryId", product.getCategory().getId())
+            .bind("updatedAt", product.getUpdatedAt());
+        spec = bindNullable(spec, "description", product.getDescription(), String.class);
+        spec = bindNullable(spec, "weight", product.getWeight(), BigDecimal.class);
+        return bindNullable(spec, "dimensions", product.getDimensions(), String.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(
+            DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private Product toProduct(Readable row) {
+        Long id = row.get("id", Long.class);
+        StockLedger ledger = stockLedger.getIfAvailable();
+        Long ledgerStock = ledger != null ? ledger.peek(id) : null;
+        return Product.builder()
+            .id(id)
+            .sku(row.get("sku", String.class))
+            .name(row.get("name", String.class))
+            .description(row.get("description", String.class))
+            .brand(row.get("brand", String.class))
+            .purchasePrice(row.get("purchase_price", BigDecimal.class))
+            .salePrice(row.get("sale_price", BigDecimal.class))
+            .stockQuantity(ledgerStock != null ? ledgerStock.intValue() : row.get("stock_quantity", Integer.class))
+            .minimumStock(row.get("minimum_stock", Integer.class))
+            .weight(row.get("weight_kg", BigDecimal.class))
+            .dimensions(row.get("dimensions", String.class))
+            .active(row.get("active", Boolean.class))
+            .category(Category.builder()
+                .id(row.get("category_id", Long.class))
+                .name(row.get("category_name", String.class))
+                .build())
+            .createdAt(row.get("created_at", LocalDateTime.class))
+            .updatedAt(row.get("updated_at", LocalDateTime.class))
+            .build();
+    }
+}
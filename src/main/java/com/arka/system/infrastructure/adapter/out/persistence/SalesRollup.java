@@ -0,0 +1,320 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.event.OrderSalesChangedEvent;
+import com.arka.system.domain.model.Order.OrderStatus;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agregado de ventas por hora en memoria para OrderRepositoryAdapter.getTotalSalesBetween.
+ *
+ * Cada hora es un cubo con la suma de total_amount, en céntimos, de las órdenes en estado de
+ * venta creadas en esa hora. Los cubos se guardan en un árbol de Fenwick, así que la suma de
+ * cualquier rango de horas completas cuesta O(log n) sea cual sea su longitud; un año son unos
+ * 8.760 cubos. Se carga al arrancar con un único recorrido de las órdenes de venta y después se
+ * actualiza con cada OrderSalesChangedEvent una vez confirmada la transacción que lo produjo.
+ *
+ * Mientras se hace la primera carga, isReady() es false y las consultas van a la base de datos.
+ * rebuild() lo recalcula desde las órdenes, por ejemplo tras cambios hechos con SQL directo, que
+ * no publican eventos. El recorrido se hace sin bloquear a los escritores, en un árbol nuevo y
+ * sobre una instantánea de la base de datos; el árbol anterior sigue respondiendo y recibiendo
+ * eventos hasta que el nuevo lo sustituye con un bloqueo breve.
+ *
+ * Para que ninguna orden se cuente dos veces ni se pierda, las transacciones que cambian ventas
+ * pasan por una compuerta entre BEFORE_COMMIT y el fin de la transacción. rebuild() la cierra sólo
+ * mientras fija la instantánea: lo confirmado antes está en la instantánea (y su evento ya se
+ * aplicó al árbol anterior), y lo confirmado después no lo está, por lo que sus variaciones se
+ * guardan y se aplican al árbol nuevo antes de sustituir al anterior.
+ */
+@Component
+@Slf4j
+public class SalesRollup {
+
+    static final Set<OrderStatus> SALE_STATUSES = EnumSet.copyOf(
+        Arrays.stream(OrderStatus.values()).filter(OrderStatus::isSale).toList());
+
+    /**
+     * Horas de margen tras la última orden al dimensionar los cubos, para no crecer a cada hora
+     */
+    private static final int GROWTH_HOURS = 24 * 30;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReadWriteLock commitGate = new ReentrantReadWriteLock();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sales-rollup-build");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private LocalDateTime origin;
+    private long[] hourly;
+    private FenwickTree tree;
+    private List<OrderSalesChangedEvent> pending;
+    private volatile boolean ready;
+
+    public SalesRollup(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        worker.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Failed to build sales rollup; sales totals will be computed from orders", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Recalcular todos los cubos a partir de las órdenes de venta
+     * @return Número de órdenes de venta agregadas
+     */
+    public synchronized long rebuild() {
+        long start = System.nanoTime();
+        Map<String, Object> params = Map.of("statuses", SALE_STATUSES.stream().map(Enum::name).toList());
+        try {
+            long[][] buckets = new long[1][];
+            LocalDateTime[] scanOrigin = new LocalDateTime[1];
+            AtomicLong orders = new AtomicLong();
+            // Instantánea de solo lectura: la primera sentencia la fija y el recorrido la reutiliza
+            snapshotTransaction.executeWithoutResult(status -> {
+                LocalDateTime first;
+                commitGate.writeLock().lock();
+                try {
+                    lock.writeLock().lock();
+                    try {
+                        pending = new ArrayList<>();
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    first = jdbcTemplate.queryForObject(
+                        "SELECT MIN(order_date) FROM orders WHERE status IN (:statuses)", params, LocalDateTime.class);
+                } finally {
+                    commitGate.writeLock().unlock();
+                }
+                LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+                LocalDateTime newOrigin = first != null && first.isBefore(now) ? first.truncatedTo(ChronoUnit.HOURS) : now;
+
+                buckets[0] = new long[hoursBetween(newOrigin, now) + GROWTH_HOURS];
+                scanOrigin[0] = newOrigin;
+                jdbcTemplate.query("SELECT order_date, total_amount FROM orders WHERE status IN (:statuses)",
+                    params, rs -> {
+                        int hour = hoursBetween(newOrigin, rs.getObject("order_date", LocalDateTime.class));
+                        if (hour >= buckets[0].length) {
+                            buckets[0] = Arrays.copyOf(buckets[0], hour + GROWTH_HOURS);
+                        }
+                        buckets[0][hour] += toCents(rs.getBigDecimal("total_amount"));
+                        orders.incrementAndGet();
+                    });
+            });
+
+            // Sustitución con bloqueo breve: se aplican al árbol nuevo las variaciones posteriores a la instantánea
+            lock.writeLock().lock();
+            try {
+                origin = scanOrigin[0];
+                hourly = buckets[0];
+                tree = new FenwickTree(hourly);
+                pending.forEach(this::apply);
+                pending = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("Sales rollup built with {} orders in {} hourly buckets in {} ms", orders.get(), buckets[0].length,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return orders.get();
+        } catch (RuntimeException e) {
+            // Si la carga falla, se conserva el agregado anterior
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Abrir la compuerta de confirmación una vez por transacción que cambia ventas; se libera al
+     * terminar la transacción, haya confirmado o no
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeSalesCommit(OrderSalesChangedEvent event) {
+        if (TransactionSynchronizationManager.hasResource(commitGate)) {
+            return;
+        }
+        commitGate.readLock().lock();
+        TransactionSynchronizationManager.bindResource(commitGate, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(commitGate);
+                commitGate.readLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderSalesChanged(OrderSalesChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                // Confirmada después de la instantánea de rebuild(): el árbol nuevo no la incluye
+                pending.add(event);
+            }
+            if (tree != null) {
+                apply(event);
+            }
+            // Sin árbol ni carga en curso, la primera carga leerá la orden ya confirmada
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ventas de las horas completas en [fromHour, toHour)
+     * @param fromHour Inicio de hora (minutos y segundos a cero), incluido
+     * @param toHour Inicio de hora, excluido
+     */
+    public BigDecimal sumHours(LocalDateTime fromHour, LocalDateTime toHour) {
+        lock.readLock().lock();
+        try {
+            int from = clamp(Duration.between(origin, fromHour).toHours());
+            int to = clamp(Duration.between(origin, toHour).toHours());
+            return from < to ? BigDecimal.valueOf(tree.sum(from, to), 2) : BigDecimal.ZERO.setScale(2);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(OrderSalesChangedEvent event) {
+        LocalDateTime hour = event.orderDate().truncatedTo(ChronoUnit.HOURS);
+        if (hour.isBefore(origin) || hoursBetween(origin, hour) >= hourly.length) {
+            resize(hour);
+        }
+        int index = hoursBetween(origin, hour);
+        long delta = toCents(event.amountDelta());
+        hourly[index] += delta;
+        tree.add(index, delta);
+    }
+
+    /**
+     * Amplía los cubos para cubrir la hora indicada, anterior al origen o posterior al último cubo
+     */
+    private void resize(LocalDateTime hour) {
+        LocalDateTime newOrigin = hour.isBefore(origin) ? hour : origin;
+        int shift = hoursBetween(newOrigin, origin);
+        int length = Math.max(hourly.length + shift, hoursBetween(newOrigin, hour) + GROWTH_HOURS);
+        long[] resized = new long[length];
+        System.arraycopy(hourly, 0, resized, shift, hourly.length);
+        origin = newOrigin;
+        hourly = resized;
+        tree = new FenwickTree(hourly);
+    }
+
+    private int clamp(long hour) {
+        return (int) Math.max(0, Math.min(hourly.length, hour));
+    }
+
+    private static int hoursBetween(LocalDateTime originHour, LocalDateTime dateTime) {
+        return (int) Duration.between(originHour, dateTime.truncatedTo(ChronoUnit.HOURS)).toHours();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Árbol de Fenwick (binary indexed tree) de sumas: suma de prefijos y actualización
+     * puntual en O(log n)
+     */
+    static final class FenwickTree {
+
+        private final long[] tree;
+
+        /**
+         * Construcción en O(n) a partir de los valores iniciales
+         */
+        FenwickTree(long[] values) {
+            tree = new long[values.length + 1];
+            for (int i = 1; i <= values.length; i++) {
+                tree[i] += values[i - 1];
+                int parent = i + (i & -i);
+                if (parent <= values.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        void add(int index, long delta) {
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * Suma de los valores en [from, to)
+         */
+        long sum(int from, int to) {
+            return prefix(to) - prefix(from);
+        }
+
+        private long prefix(int count) {
+            long sum = 0;
+            for (int i = count; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
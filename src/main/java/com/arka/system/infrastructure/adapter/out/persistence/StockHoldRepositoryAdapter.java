@@ -0,0 +1,326 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.event.StockChangedEvent;
+import com.arka.system.domain.model.StockHold;
+import com.arka.system.domain.port.out.StockHoldRepositoryPort;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptador de persistencia para reservas temporales de stock.
+ *
+ * Las reservas se guardan en stock_holds y, además, se mantiene en memoria el total retenido por
+ * producto; la comprobación de disponible y el incremento del retenido se hacen con CAS sobre ese
+ * contador, de modo que dos reservas concurrentes no pueden prometer las mismas unidades.
+ * Los cambios en memoria se deshacen si la transacción que los produjo termina en rollback.
+ * Las ventas directas (checkout) también retienen en memoria lo que descuentan hasta que su
+ * transacción termina, para que una reserva concurrente no prometa esas mismas unidades.
+ * Cada reserva tiene un ID propio y sólo se libera o confirma con él, por lo que nunca se
+ * consumen las unidades retenidas por otro cliente. La única excepción son los endpoints
+ * obsoletos por producto, que toman una reserva de una sola línea con el mismo producto y
+ * cantidad: esas reservas son intercambiables.
+ *
+ * El vencimiento usa una DelayQueue: un hilo dedicado espera al próximo vencimiento y elimina en
+ * un único batch todas las reservas ya vencidas, sin recorrer la tabla. Las reservas confirmadas
+ * o liberadas antes de vencer permanecen en la cola y se descartan al vencer (su DELETE no afecta filas).
+ * El total retenido vive en memoria, por lo que supone una única instancia de la aplicación.
+ * Cada reserva creada, liberada o vencida publica StockChangedEvent, ya que cambia el disponible.
+ */
+@Component
+@Slf4j
+public class StockHoldRepositoryAdapter implements StockHoldRepositoryPort {
+
+    private final JpaStockHoldRepository jpaStockHoldRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int expiryBatchSize;
+    private final Map<Long, AtomicLong> heldByProduct = new ConcurrentHashMap<>();
+    private final DelayQueue<ExpiringHold> expiries = new DelayQueue<>();
+    private final Object saleClaimsKey = new Object();
+    private Thread expiryThread;
+
+    public StockHoldRepositoryAdapter(
+            JpaStockHoldRepository jpaStockHoldRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${arka.inventory.hold-expiry-batch-size:500}") int expiryBatchSize) {
+        this.jpaStockHoldRepository = jpaStockHoldRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.expiryBatchSize = expiryBatchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        // Única lectura completa: reconstruir totales y cola de vencimientos al arrancar
+        for (StockHold hold : jpaStockHoldRepository.findAll()) {
+            held(hold.getProductId()).addAndGet(hold.getQuantity());
+            expiries.add(new ExpiringHold(hold.getId(), hold.getProductId(), hold.getQuantity(), hold.getExpiresAt()));
+        }
+        expiryThread = new Thread(this::expireLoop, "stock-hold-expiry");
+        expiryThread.setDaemon(true);
+        expiryThread.start();
+        log.info("Stock hold expiry started with {} active holds", expiries.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        expiryThread.interrupt();
+    }
+
+    @Override
+    @Transactional
+    public Optional<String> placeHolds(Map<Long, Integer> quantities, Map<Long, Integer> stockQuantities, Duration ttl) {
+        Map<Long, Integer> lines = new TreeMap<>(quantities);
+        List<Long> claimed = new ArrayList<>(lines.size());
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            if (!claim(line.getKey(), line.getValue(), stockQuantities.get(line.getKey()))) {
+                // Todo o nada: se devuelven las líneas ya retenidas antes de escribir en la base de datos
+                claimed.forEach(productId -> held(productId).addAndGet(-lines.get(productId)));
+                return Optional.empty();
+            }
+            claimed.add(line.getKey());
+        }
+
+        String reservationId = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            undoOnRollback(line.getKey(), line.getValue());
+            StockHold hold = jpaStockHoldRepository.save(StockHold.builder()
+                .reservationId(reservationId)
+                .productId(line.getKey())
+                .quantity(line.getValue())
+                .expiresAt(expiresAt)
+                .build());
+            expiries.add(new ExpiringHold(hold.getId(), hold.getProductId(), hold.getQuantity(), expiresAt));
+        }
+        eventPublisher.publishEvent(StockChangedEvent.of(lines.keySet()));
+        return Optional.of(reservationId);
+    }
+
+    @Override
+    @Transactional
+    public List<StockHold> removeReservation(String reservationId) {
+        List<StockHold> removed = new ArrayList<>();
+        for (StockHold hold : jpaStockHoldRepository.findByReservationId(reservationId)) {
+            // El DELETE por ID es exacto: si el vencimiento u otra operación ya la eliminó, se omite
+            if (jpaStockHoldRepository.deleteHoldById(hold.getId()) != 0) {
+                removed.add(hold);
+            }
+        }
+        if (removed.isEmpty()) {
+            return removed;
+        }
+
+        // Hasta confirmar, el stock de la venta sigue sin descontar para otras transacciones:
+        // liberar antes el retenido permitiría prometer esas mismas unidades dos veces
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removed.forEach(hold -> held(hold.getProductId()).addAndGet(-hold.getQuantity()));
+            }
+        });
+        eventPublisher.publishEvent(StockChangedEvent.of(removed.stream().map(StockHold::getProductId).toList()));
+        return removed;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findSingleLineReservations(Long productId, int quantity, int limit) {
+        return jpaStockHoldRepository.findSingleLineReservationIds(productId, quantity, LocalDateTime.now(), Limit.of(limit));
+    }
+
+    @Override
+    public List<Long> claimForSale(Map<Long, Integer> quantities, Map<Long, Integer> stockQuantities) {
+        Map<Long, Long> claims = saleClaims();
+        Map<Long, Integer> lines = new TreeMap<>(quantities);
+        List<Long> claimed = new ArrayList<>(lines.size());
+        List<Long> rejected = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            Long productId = line.getKey();
+            // El stock leído en la transacción ya descuenta sus ventas anteriores: lo que ella misma
+            // retuvo no se resta otra vez
+            int ownClaim = claims.getOrDefault(productId, 0L).intValue();
+            if (claim(productId, line.getValue(), stockQuantities.get(productId) + ownClaim)) {
+                claimed.add(productId);
+            } else {
+                rejected.add(productId);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            claimed.forEach(productId -> held(productId).addAndGet(-lines.get(productId)));
+            return rejected;
+        }
+        lines.forEach((productId, quantity) -> claims.merge(productId, (long) quantity, Long::sum));
+        return rejected;
+    }
+
+    @Override
+    public void releaseSaleClaim(Map<Long, Integer> quantities) {
+        Map<Long, Long> claims = saleClaims();
+        quantities.forEach((productId, quantity) -> {
+            held(productId).addAndGet(-quantity);
+            claims.merge(productId, (long) -quantity, Long::sum);
+        });
+    }
+
+    @Override
+    public long getHeldQuantity(Long productId) {
+        AtomicLong held = heldByProduct.get(productId);
+        return held != null ? held.get() : 0;
+    }
+
+    /**
+     * Retener unidades en memoria con CAS si el disponible alcanza
+     */
+    private boolean claim(Long productId, int quantity, int stockQuantity) {
+        AtomicLong held = held(productId);
+        long current;
+        do {
+            current = held.get();
+            if (stockQuantity - current < quantity) {
+                return false;
+            }
+        } while (!held.compareAndSet(current, current + quantity));
+        return true;
+    }
+
+    /**
+     * Unidades retenidas por las ventas de la transacción en curso; se devuelven al terminar
+     * (al confirmar, el stock ya refleja la venta; en rollback, la venta no existió)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, Long> saleClaims() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Las ventas sólo pueden retener stock dentro de una transacción");
+        }
+        Map<Long, Long> claims = (Map<Long, Long>) TransactionSynchronizationManager.getResource(saleClaimsKey);
+        if (claims != null) {
+            return claims;
+        }
+
+        Map<Long, Long> newClaims = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(saleClaimsKey, newClaims);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(saleClaimsKey);
+                newClaims.forEach((productId, quantity) -> held(productId).addAndGet(-quantity));
+            }
+        });
+        return newClaims;
+    }
+
+    private AtomicLong held(Long productId) {
+        return heldByProduct.computeIfAbsent(productId, id -> new AtomicLong());
+    }
+
+    private void undoOnRollback(Long productId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    held(productId).addAndGet(-delta);
+                }
+            }
+        });
+    }
+
+    private void expireLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<ExpiringHold> batch = new ArrayList<>(expiryBatchSize);
+            try {
+                batch.add(expiries.take());
+                expiries.drainTo(batch, expiryBatchSize - 1);
+                expire(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Failed to expire {} stock holds; retrying shortly", batch.size(), e);
+                expiries.addAll(batch.stream().map(ExpiringHold::retryLater).toList());
+            }
+        }
+    }
+
+    private void expire(List<ExpiringHold> batch) {
+        int[][] deleted = transactionTemplate.execute(status ->
+            jdbcTemplate.batchUpdate("DELETE FROM stock_holds WHERE id = ?", batch, batch.size(),
+                (ps, hold) -> ps.setLong(1, hold.holdId())));
+
+        int expired = 0;
+        Set<Long> productIds = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (deleted[0][i] != 0) {
+                ExpiringHold hold = batch.get(i);
+                held(hold.productId()).addAndGet(-hold.quantity());
+                productIds.add(hold.productId());
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} stock holds", expired);
+            eventPublisher.publishEvent(StockChangedEvent.of(productIds));
+        }
+    }
+
+    /**
+     * Entrada de la cola de vencimientos
+     */
+    private record ExpiringHold(Long holdId, Long productId, int quantity, long expiresAtMillis) implements Delayed {
+
+        ExpiringHold(Long holdId, Long productId, int quantity, LocalDateTime expiresAt) {
+            this(holdId, productId, quantity, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        ExpiringHold retryLater() {
+            return new ExpiringHold(holdId, productId, quantity, System.currentTimeMillis() + 1000);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((ExpiringHold) other).expiresAtMillis);
+        }
+    }
+}
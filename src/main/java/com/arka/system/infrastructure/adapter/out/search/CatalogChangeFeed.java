@@ -0,0 +1,151 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.domain.port.out.CatalogChangePort;
+import com.arka.system.domain.port.out.StockHoldRepositoryPort;
+import com.arka.system.shared.dto.CatalogChangeDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flujo de cambios del catálogo (altas, modificaciones, bajas y movimientos de stock o reservas).
+ *
+ * Se alimenta como un CatalogIndex más, de modo que cada cambio refleja el estado ya confirmado
+ * y llega en el orden en que el sincronizador lo aplica; la carga inicial no genera cambios.
+ * Cada cambio recibe una secuencia creciente y se conservan los últimos
+ * arka.catalog-changes.retention en un sink de replay, desde el que un cliente que reconecta
+ * recibe lo que se perdió. Si lo pedido ya no se conserva (o procede de una ejecución anterior:
+ * las secuencias parten del instante de arranque), el flujo empieza con RESYNC.
+ *
+ * Cada suscriptor tiene un buffer acotado; si se llena, su flujo termina en lugar de saltarse
+ * cambios, y el cliente reanuda desde su última secuencia.
+ */
+@Component
+@Slf4j
+public class CatalogChangeFeed implements CatalogIndex, CatalogChangePort {
+
+    private final StockHoldRepositoryPort stockHoldRepository;
+    private final int retention;
+    private final int subscriberBuffer;
+    private final Sinks.Many<CatalogChangeDTO> sink;
+    private final long firstSequence;
+    private final AtomicLong sequence;
+    private volatile boolean ready;
+
+    public CatalogChangeFeed(
+            StockHoldRepositoryPort stockHoldRepository,
+            @Value("${arka.catalog-changes.retention:10000}") int retention,
+            @Value("${arka.catalog-changes.subscriber-buffer:1000}") int subscriberBuffer) {
+        this.stockHoldRepository = stockHoldRepository;
+        this.retention = retention;
+        this.subscriberBuffer = subscriberBuffer;
+        this.sink = Sinks.many().replay().limit(retention);
+        // Secuencias de una ejecución posterior siempre mayores que las de las anteriores
+        this.sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+        this.firstSequence = sequence.get() + 1;
+    }
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        if (!ready) {
+            return;
+        }
+        publish(CatalogChangeDTO.builder()
+            .type(CatalogChangeDTO.Type.PRODUCT_UPSERTED)
+            .productId(entry.id())
+            .sku(entry.sku())
+            .name(entry.name())
+            .brand(entry.brand())
+            .categoryId(entry.categoryId())
+            .salePrice(entry.salePrice())
+            .stockQuantity(entry.stockQuantity())
+            .minimumStock(entry.minimumStock())
+            .availableQuantity(available(entry.id(), entry.stockQuantity()))
+            .active(entry.active()));
+    }
+
+    @Override
+    public void updateStock(Long productId, int stockQuantity) {
+        if (!ready) {
+            return;
+        }
+        publish(CatalogChangeDTO.builder()
+            .type(CatalogChangeDTO.Type.STOCK_CHANGED)
+            .productId(productId)
+            .stockQuantity(stockQuantity)
+            .availableQuantity(available(productId, stockQuantity)));
+    }
+
+    @Override
+    public void remove(Long productId) {
+        if (!ready) {
+            return;
+        }
+        publish(CatalogChangeDTO.builder()
+            .type(CatalogChangeDTO.Type.PRODUCT_REMOVED)
+            .productId(productId));
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public Flux<CatalogChangeDTO> changesSince(Long since) {
+        return Flux.defer(() -> {
+            long latest = sequence.get();
+            long oldestRetained = Math.max(firstSequence, latest - retention + 1);
+            if (since != null && (since > latest || since + 1 < oldestRetained)) {
+                return Flux.concat(Mono.just(resync(latest)), changesAfter(latest));
+            }
+            return changesAfter(since != null ? since : latest);
+        });
+    }
+
+    private Flux<CatalogChangeDTO> changesAfter(long from) {
+        return sink.asFlux()
+            .filter(change -> change.getSequence() > from)
+            // Un cambio se pudo descartar entre la comprobación y la suscripción
+            .switchOnFirst((first, changes) -> first.hasValue() && first.get().getSequence() > from + 1
+                ? Flux.concat(Mono.just(resync(first.get().getSequence() - 1)), changes)
+                : changes)
+            .onBackpressureBuffer(subscriberBuffer)
+            .onErrorResume(Exceptions::isOverflow, error -> {
+                log.warn("Closing catalog change stream for slow subscriber: {} pending changes", subscriberBuffer);
+                return Flux.empty();
+            });
+    }
+
+    private void publish(CatalogChangeDTO.CatalogChangeDTOBuilder change) {
+        CatalogChangeDTO emitted = change
+            .sequence(sequence.incrementAndGet())
+            .occurredAt(Instant.now())
+            .build();
+        Sinks.EmitResult result = sink.tryEmitNext(emitted);
+        if (result.isFailure()) {
+            log.error("Failed to emit catalog change {}: {}", emitted.getSequence(), result);
+        }
+    }
+
+    private int available(Long productId, int stockQuantity) {
+        return (int) Math.max(0, stockQuantity - stockHoldRepository.getHeldQuantity(productId));
+    }
+
+    private static CatalogChangeDTO resync(long sequence) {
+        return CatalogChangeDTO.builder()
+            .sequence(sequence)
+            .type(CatalogChangeDTO.Type.RESYNC)
+            .occurredAt(Instant.now())
+            .build();
+    }
+}
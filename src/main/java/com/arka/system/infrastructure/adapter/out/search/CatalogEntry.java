@@ -0,0 +1,23 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila del catálogo tal como la consumen los índices en memoria (sin entidades JPA).
+ */
+public record CatalogEntry(
+        Long id,
+        String sku,
+        String name,
+        String description,
+        String brand,
+        Long categoryId,
+        BigDecimal salePrice,
+        int stockQuantity,
+        int minimumStock,
+        boolean active) {
+
+    CatalogEntry withStockQuantity(int stockQuantity) {
+        return new CatalogEntry(id, sku, name, description, brand, categoryId, salePrice, stockQuantity, minimumStock, active);
+    }
+}
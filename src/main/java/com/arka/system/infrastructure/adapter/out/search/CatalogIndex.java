@@ -0,0 +1,35 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+/**
+ * Índice en memoria derivado de la tabla products y mantenido por CatalogIndexSynchronizer.
+ * Las llamadas llegan siempre desde el hilo del sincronizador, en orden de confirmación.
+ */
+public interface CatalogIndex {
+
+    /**
+     * Insertar o reemplazar un producto (también los inactivos, que cada índice puede descartar)
+     */
+    void upsert(CatalogEntry entry);
+
+    /**
+     * Actualizar el stock de un producto ya indexado (los índices que no dependen del stock lo ignoran)
+     */
+    default void updateStock(Long productId, int stockQuantity) {
+    }
+
+    /**
+     * Eliminar un producto del índice
+     */
+    void remove(Long productId);
+
+    /**
+     * Publicar los cambios aplicados desde la última llamada (fin de un lote)
+     */
+    default void refresh() {
+    }
+
+    /**
+     * Marcar el índice como listo tras la carga inicial completa
+     */
+    void markReady();
+}
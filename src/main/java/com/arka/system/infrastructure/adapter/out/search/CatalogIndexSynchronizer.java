@@ -0,0 +1,162 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.domain.event.ProductChangedEvent;
+import com.arka.system.domain.event.StockChangedEvent;
+import com.arka.system.infrastructure.adapter.out.inventory.StockLedger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene los índices CatalogIndex sincronizados con la tabla products.
+ *
+ * Al arrancar recorre el catálogo por keyset en páginas y carga todos los índices; después
+ * aplica cada ProductChangedEvent una vez confirmada la transacción que lo produjo (o de
+ * inmediato si se publicó fuera de una, como en el adaptador R2DBC). Todo se ejecuta en un
+ * único hilo, de modo que los índices ven los cambios en orden y sin bloquear a quien escribe;
+ * cada evento relee las filas afectadas en una sola consulta.
+ *
+ * Los StockChangedEvent sólo releen stock_quantity y se aplican con CatalogIndex.updateStock.
+ * Si StockLedger está activo, su stock en memoria prevalece sobre la columna, que va por detrás.
+ */
+@Component
+@Slf4j
+public class CatalogIndexSynchronizer {
+
+    private static final String SELECT_ENTRY =
+        "SELECT id, sku, name, description, brand, category_id, sale_price, stock_quantity, minimum_stock, active " +
+        "FROM products ";
+
+    private static final RowMapper<CatalogEntry> ENTRY_MAPPER = (rs, rowNum) -> new CatalogEntry(
+        rs.getLong("id"),
+        rs.getString("sku"),
+        rs.getString("name"),
+        rs.getString("description"),
+        rs.getString("brand"),
+        rs.getObject("category_id", Long.class),
+        rs.getBigDecimal("sale_price"),
+        rs.getInt("stock_quantity"),
+        rs.getInt("minimum_stock"),
+        rs.getBoolean("active"));
+
+    private final List<CatalogIndex> indexes;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectProvider<StockLedger> stockLedger;
+    private final int pageSize;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-index-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogIndexSynchronizer(
+            List<CatalogIndex> indexes,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ObjectProvider<StockLedger> stockLedger,
+            @Value("${arka.search.rebuild-page-size:5000}") int pageSize) {
+        this.indexes = indexes;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockLedger = stockLedger;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        worker.execute(() -> {
+            long start = System.nanoTime();
+            long lastId = 0;
+            long loaded = 0;
+            List<CatalogEntry> page;
+            do {
+                page = jdbcTemplate.query(SELECT_ENTRY + "WHERE id > :lastId ORDER BY id LIMIT :limit",
+                    Map.of("lastId", lastId, "limit", pageSize), ENTRY_MAPPER);
+                for (CatalogEntry entry : page) {
+                    CatalogEntry current = withLedgerStock(entry);
+                    indexes.forEach(index -> index.upsert(current));
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).id();
+                    loaded += page.size();
+                }
+            } while (page.size() == pageSize);
+
+            indexes.forEach(index -> {
+                index.refresh();
+                index.markReady();
+            });
+            log.info("Catalog indexes built with {} products in {} ms", loaded,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        worker.execute(() -> apply(event.productIds()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        worker.execute(() -> applyStock(event.productIds()));
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.shutdownNow();
+    }
+
+    private void apply(Set<Long> productIds) {
+        try {
+            Set<Long> missing = new HashSet<>(productIds);
+            for (CatalogEntry entry : jdbcTemplate.query(SELECT_ENTRY + "WHERE id IN (:ids)",
+                    Map.of("ids", productIds), ENTRY_MAPPER)) {
+                missing.remove(entry.id());
+                CatalogEntry current = withLedgerStock(entry);
+                indexes.forEach(index -> index.upsert(current));
+            }
+            for (Long productId : missing) {
+                indexes.forEach(index -> index.remove(productId));
+            }
+            indexes.forEach(CatalogIndex::refresh);
+        } catch (RuntimeException e) {
+            log.error("Failed to apply catalog change for products {}", productIds, e);
+        }
+    }
+
+    private void applyStock(Set<Long> productIds) {
+        try {
+            StockLedger ledger = stockLedger.getIfAvailable();
+            jdbcTemplate.query("SELECT id, stock_quantity FROM products WHERE id IN (:ids)",
+                Map.of("ids", productIds), rs -> {
+                    Long productId = rs.getLong("id");
+                    Long ledgerStock = ledger != null ? ledger.peek(productId) : null;
+                    int stockQuantity = ledgerStock != null ? ledgerStock.intValue() : rs.getInt("stock_quantity");
+                    indexes.forEach(index -> index.updateStock(productId, stockQuantity));
+                });
+        } catch (RuntimeException e) {
+            log.error("Failed to apply stock change for products {}", productIds, e);
+        }
+    }
+
+    private CatalogEntry withLedgerStock(CatalogEntry entry) {
+        StockLedger ledger = stockLedger.getIfAvailable();
+        Long ledgerStock = ledger != null ? ledger.peek(entry.id()) : null;
+        return ledgerStock != null ? entry.withStockQuantity(ledgerStock.intValue()) : entry;
+    }
+}
@@ -0,0 +1,101 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.domain.port.out.LowStockPort;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conjunto de productos activos con stock en o por debajo del mínimo.
+ *
+ * La condición compara dos columnas de la misma fila, por lo que ningún índice de la base de
+ * datos la resuelve y cada consulta recorría products completa. Aquí se guarda por producto
+ * activo su stock y su mínimo, y cada alta, modificación o movimiento de stock reevalúa sólo
+ * ese producto, entrando o saliendo del conjunto. Las lecturas recorren únicamente los IDs del
+ * conjunto, sin bloquear al hilo del sincronizador, que es el único que escribe.
+ */
+@Component
+public class LowStockIndex implements CatalogIndex, LowStockPort {
+
+    private final Map<Long, StockLevel> levels = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> lowStock = new ConcurrentSkipListSet<>();
+    private final AtomicInteger lowStockCount = new AtomicInteger();
+    private volatile boolean ready;
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        if (!entry.active()) {
+            remove(entry.id());
+            return;
+        }
+        StockLevel level = new StockLevel(entry.stockQuantity(), entry.minimumStock());
+        levels.put(entry.id(), level);
+        evaluate(entry.id(), level);
+    }
+
+    @Override
+    public void updateStock(Long productId, int stockQuantity) {
+        StockLevel previous = levels.get(productId);
+        if (previous == null) {
+            // Producto inactivo o aún no cargado: lo incorporará su próximo upsert
+            return;
+        }
+        StockLevel level = new StockLevel(stockQuantity, previous.minimumStock());
+        levels.put(productId, level);
+        evaluate(productId, level);
+    }
+
+    @Override
+    public void remove(Long productId) {
+        levels.remove(productId);
+        if (lowStock.remove(productId)) {
+            lowStockCount.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<Long> findLowStockIds() {
+        return List.copyOf(lowStock);
+    }
+
+    @Override
+    public int countLowStock() {
+        return lowStockCount.get();
+    }
+
+    private void evaluate(Long productId, StockLevel level) {
+        if (level.isLow()) {
+            if (lowStock.add(productId)) {
+                lowStockCount.incrementAndGet();
+            }
+        } else if (lowStock.remove(productId)) {
+            lowStockCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stock y mínimo vigentes de un producto activo
+     */
+    private record StockLevel(int stockQuantity, int minimumStock) {
+
+        private boolean isLow() {
+            return stockQuantity <= minimumStock;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.domain.port.out.ProductSearchPort;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.analysis.es.SpanishLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.stereotype.Component;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Índice invertido de texto completo (Lucene, en memoria) sobre los productos activos.
+ *
+ * Nombre, marca y descripción se analizan con minúsculas, stopwords y stemming ligero en
+ * español y plegado de acentos, de modo que "cámara" y "camaras" coinciden. Cada término de
+ * la consulta debe aparecer en algún campo (nombre con más peso que marca y descripción) y el
+ * último se trata además como prefijo, para tolerar palabras a medio escribir. El SKU se
+ * indexa sin analizar y tiene prioridad en coincidencia exacta o por prefijo.
+ *
+ * Los productos inactivos no se indexan. Las búsquedas usan un SearcherManager, por lo que
+ * leen sin bloquear mientras el sincronizador aplica cambios.
+ */
+@Component
+@Slf4j
+public class LuceneProductSearchIndex implements CatalogIndex, ProductSearchPort {
+
+    private static final String ID = "id";
+    private static final String SKU = "sku";
+    private static final String NAME = "name";
+    private static final String BRAND = "brand";
+    private static final String DESCRIPTION = "description";
+
+    private final Analyzer analyzer = new CatalogAnalyzer();
+    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    public LuceneProductSearchIndex() {
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        if (!entry.active()) {
+            remove(entry.id());
+            return;
+        }
+        Document document = new Document();
+        document.add(new StringField(ID, entry.id().toString(), Field.Store.YES));
+        document.add(new StringField(SKU, entry.sku().toLowerCase(Locale.ROOT), Field.Store.NO));
+        document.add(new TextField(NAME, entry.name(), Field.Store.NO));
+        document.add(new TextField(BRAND, entry.brand(), Field.Store.NO));
+        if (entry.description() != null) {
+            document.add(new TextField(DESCRIPTION, entry.description(), Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(ID, entry.id().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        try {
+            writer.deleteDocuments(new Term(ID, productId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<Long> search(String text, int offset, int limit) {
+        Query query = buildQuery(text);
+        if (query == null || limit <= 0) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, offset + limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(Math.max(0, hits.length - offset));
+                for (int i = offset; i < hits.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(hits[i].doc, Set.of(ID)).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query buildQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String sku = text.trim().toLowerCase(Locale.ROOT);
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+            .add(new BoostQuery(new TermQuery(new Term(SKU, sku)), 10f), BooleanClause.Occur.SHOULD)
+            .add(new BoostQuery(new PrefixQuery(new Term(SKU, sku)), 4f), BooleanClause.Occur.SHOULD);
+
+        List<String> terms = analyze(text);
+        if (!terms.isEmpty()) {
+            BooleanQuery.Builder allTerms = new BooleanQuery.Builder();
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                BooleanQuery.Builder anyField = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, term)), 3f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(BRAND, term)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+                if (i == terms.size() - 1) {
+                    anyField.add(new BoostQuery(new PrefixQuery(new Term(NAME, term)), 1.5f), BooleanClause.Occur.SHOULD)
+                        .add(new PrefixQuery(new Term(BRAND, term)), BooleanClause.Occur.SHOULD);
+                }
+                allTerms.add(anyField.build(), BooleanClause.Occur.MUST);
+            }
+            query.add(allTerms.build(), BooleanClause.Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    /**
+     * Análisis para texto de catálogo en español: minúsculas, stopwords, plegado de acentos y stemming ligero
+     */
+    private static final class CatalogAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new LowerCaseFilter(source);
+            result = new StopFilter(result, SpanishAnalyzer.getDefaultStopSet());
+            result = new ASCIIFoldingFilter(result);
+            result = new SpanishLightStemFilter(result);
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
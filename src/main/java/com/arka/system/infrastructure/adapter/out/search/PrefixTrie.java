@@ -0,0 +1,206 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Trie compacto (radix tree) de claves de texto a IDs de producto.
+ *
+ * Cada arista guarda un tramo de texto en lugar de un único carácter, de modo que el número
+ * de nodos es proporcional al de claves y no al de caracteres. Los hijos se guardan en arrays
+ * ordenados por el primer carácter de la arista y los IDs en long[], sin objetos por entrada.
+ * No es seguro para hilos: el llamador debe sincronizar lecturas y escrituras.
+ */
+final class PrefixTrie {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final Node root = new Node();
+
+    /**
+     * Asociar un ID a una clave
+     */
+    void add(String key, long id) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            int index = node.childIndex(key.charAt(pos));
+            if (index < 0) {
+                Node leaf = new Node();
+                leaf.ids = new long[] {id};
+                node.insertChild(-index - 1, key.substring(pos), leaf);
+                return;
+            }
+            String label = node.labels[index];
+            int common = commonPrefixLength(label, key, pos);
+            if (common < label.length()) {
+                // Dividir la arista: el tramo común pasa a un nodo intermedio
+                Node middle = new Node();
+                middle.insertChild(0, label.substring(common), node.children[index]);
+                node.labels[index] = label.substring(0, common);
+                node.children[index] = middle;
+            }
+            node = node.children[index];
+            pos += common;
+        }
+        if (!contains(node.ids, id)) {
+            long[] ids = Arrays.copyOf(node.ids, node.ids.length + 1);
+            ids[ids.length - 1] = id;
+            node.ids = ids;
+        }
+    }
+
+    /**
+     * Desasociar un ID de una clave, podando los nodos que queden vacíos
+     */
+    void remove(String key, long id) {
+        remove(root, key, 0, id);
+    }
+
+    /**
+     * Reunir IDs de claves que empiezan por el prefijo, recorriendo el subárbol en anchura
+     * (primero las claves más cortas) hasta completar el límite
+     */
+    void collect(String prefix, int limit, Set<Long> into) {
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(pos));
+            if (index < 0) {
+                return;
+            }
+            String label = node.labels[index];
+            int common = commonPrefixLength(label, prefix, pos);
+            if (common < label.length() && pos + common < prefix.length()) {
+                return;
+            }
+            node = node.children[index];
+            pos += common;
+        }
+
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(node);
+        while (!queue.isEmpty() && into.size() < limit) {
+            Node current = queue.poll();
+            for (long id : current.ids) {
+                into.add(id);
+                if (into.size() >= limit) {
+                    return;
+                }
+            }
+            queue.addAll(Arrays.asList(current.children));
+        }
+    }
+
+    private boolean remove(Node node, String key, int pos, long id) {
+        if (pos == key.length()) {
+            node.ids = without(node.ids, id);
+        } else {
+            int index = node.childIndex(key.charAt(pos));
+            if (index < 0 || !key.startsWith(node.labels[index], pos)) {
+                return false;
+            }
+            Node child = node.children[index];
+            if (remove(child, key, pos + node.labels[index].length(), id)) {
+                node.removeChild(index);
+            } else if (child.ids.length == 0 && child.children.length == 1) {
+                // Fusionar un nodo intermedio sin IDs con su único hijo
+                node.labels[index] = node.labels[index] + child.labels[0];
+                node.children[index] = child.children[0];
+            }
+        }
+        return node != root && node.ids.length == 0 && node.children.length == 0;
+    }
+
+    private static int commonPrefixLength(String label, String key, int pos) {
+        int max = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                if (ids.length == 1) {
+                    return NO_IDS;
+                }
+                long[] remaining = new long[ids.length - 1];
+                System.arraycopy(ids, 0, remaining, 0, i);
+                System.arraycopy(ids, i + 1, remaining, i, ids.length - i - 1);
+                return remaining;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Nodo con aristas ordenadas por su primer carácter
+     */
+    private static final class Node {
+
+        private static final String[] NO_LABELS = new String[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private long[] ids = NO_IDS;
+
+        /**
+         * Posición del hijo cuya arista empieza por c, o (-(punto de inserción) - 1) si no existe
+         */
+        private int childIndex(char c) {
+            int low = 0;
+            int high = labels.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = labels[mid].charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insertChild(int index, String label, Node child) {
+            String[] newLabels = new String[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newLabels[index] = label;
+            newChildren[index] = child;
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private void removeChild(int index) {
+            String[] newLabels = new String[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+    }
+}
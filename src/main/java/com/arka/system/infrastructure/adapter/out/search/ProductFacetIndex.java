@@ -0,0 +1,246 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.domain.port.out.ProductFacetPort;
+import com.arka.system.shared.dto.ProductFacetsDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Motor de facetas en memoria sobre los productos activos.
+ *
+ * Cada producto ocupa una posición (slot) densa, reutilizada al eliminarlo. Por cada valor de
+ * faceta (categoría, marca y franja de precio) se mantiene un BitSet de slots y un contador,
+ * ambos actualizados de forma incremental. Sin filtros, los conteos se leen directamente de
+ * los contadores, en tiempo proporcional al número de valores y no al de productos. Con
+ * filtros, los conjuntos se intersectan palabra a palabra y sólo se recorren los productos
+ * que quedan, que se cuentan por faceta con un acceso a array por producto.
+ */
+@Component
+public class ProductFacetIndex implements CatalogIndex, ProductFacetPort {
+
+    private final BigDecimal[] bandUpperBounds;
+    private final List<String> bandLabels = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet active = new BitSet();
+    private final Dimension<Long> categories = new Dimension<>();
+    private final Dimension<String> brands = new Dimension<>();
+    private final Dimension<String> priceBands = new Dimension<>();
+    private int slotCount;
+
+    public ProductFacetIndex(
+            @Value("${arka.facets.price-bands:50000,100000,250000,500000,1000000}") BigDecimal[] bandUpperBounds) {
+        this.bandUpperBounds = bandUpperBounds.clone();
+        Arrays.sort(this.bandUpperBounds);
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal upper : this.bandUpperBounds) {
+            bandLabels.add(lower.toPlainString() + "-" + upper.toPlainString());
+            lower = upper;
+        }
+        bandLabels.add(lower.toPlainString() + "+");
+        // Las franjas existen siempre, aunque no tengan productos
+        bandLabels.forEach(priceBands::indexOf);
+    }
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        if (!entry.active()) {
+            remove(entry.id());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsById.get(entry.id());
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unassign(slot);
+            } else {
+                slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+                slotsById.put(entry.id(), slot);
+            }
+            categories.assign(slot, categories.indexOf(entry.categoryId()));
+            brands.assign(slot, brands.indexOf(entry.brand()));
+            priceBands.assign(slot, bandOf(entry.salePrice()));
+            active.set(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(productId);
+            if (slot != null) {
+                unassign(slot);
+                active.clear(slot);
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        // Los conteos son siempre consistentes con lo cargado hasta el momento
+    }
+
+    @Override
+    public ProductFacetsDTO countFacets(Long categoryId, String brand, String priceBand) {
+        if (priceBand != null && !bandLabels.contains(priceBand)) {
+            throw new IllegalArgumentException("Franja de precio desconocida: " + priceBand + " (válidas: " + bandLabels + ")");
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet categoryFilter = categoryId != null ? categories.bitsOf(categoryId) : null;
+            BitSet brandFilter = brand != null ? brands.bitsOf(brand) : null;
+            BitSet bandFilter = priceBand != null ? priceBands.bitsOf(priceBand) : null;
+
+            BitSet all = intersect(categoryFilter, brandFilter, bandFilter);
+            return ProductFacetsDTO.builder()
+                .total(all != null ? all.cardinality() : active.cardinality())
+                .categories(byCountDescending(categories.count(intersect(brandFilter, bandFilter))))
+                .brands(byCountDescending(brands.count(intersect(categoryFilter, bandFilter))))
+                .priceBands(inBandOrder(priceBands.count(intersect(categoryFilter, brandFilter))))
+                .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unassign(int slot) {
+        categories.unassign(slot);
+        brands.unassign(slot);
+        priceBands.unassign(slot);
+    }
+
+    private int bandOf(BigDecimal salePrice) {
+        int band = 0;
+        while (band < bandUpperBounds.length && salePrice.compareTo(bandUpperBounds[band]) >= 0) {
+            band++;
+        }
+        return priceBands.indexOf(bandLabels.get(band));
+    }
+
+    /**
+     * Intersección de los filtros indicados (los null no filtran); null si no hay ninguno
+     */
+    private static BitSet intersect(BitSet... filters) {
+        BitSet result = null;
+        for (BitSet filter : filters) {
+            if (filter == null) {
+                continue;
+            }
+            if (result == null) {
+                result = (BitSet) filter.clone();
+            } else {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static <V> Map<V, Integer> byCountDescending(Map<V, Integer> counts) {
+        Map<V, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<V, Integer>comparingByValue(Comparator.reverseOrder()))
+            .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private Map<String, Integer> inBandOrder(Map<String, Integer> counts) {
+        Map<String, Integer> ordered = new LinkedHashMap<>();
+        for (String label : bandLabels) {
+            ordered.put(label, counts.getOrDefault(label, 0));
+        }
+        return ordered;
+    }
+
+    /**
+     * Valores de una faceta: diccionario valor → índice, BitSet de slots y contador por valor,
+     * y el valor asignado a cada slot
+     */
+    private static final class Dimension<V> {
+
+        private static final BitSet EMPTY = new BitSet();
+
+        private final Map<V, Integer> indexByValue = new HashMap<>();
+        private final List<V> values = new ArrayList<>();
+        private final List<BitSet> bits = new ArrayList<>();
+        private int[] counts = new int[16];
+        private int[] valueBySlot = new int[1024];
+
+        private int indexOf(V value) {
+            return indexByValue.computeIfAbsent(value, key -> {
+                values.add(key);
+                bits.add(new BitSet());
+                if (values.size() > counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+                return values.size() - 1;
+            });
+        }
+
+        private BitSet bitsOf(V value) {
+            Integer index = indexByValue.get(value);
+            return index != null ? bits.get(index) : EMPTY;
+        }
+
+        private void assign(int slot, int valueIndex) {
+            if (slot >= valueBySlot.length) {
+                valueBySlot = Arrays.copyOf(valueBySlot, Math.max(slot + 1, valueBySlot.length * 2));
+            }
+            valueBySlot[slot] = valueIndex;
+            bits.get(valueIndex).set(slot);
+            counts[valueIndex]++;
+        }
+
+        private void unassign(int slot) {
+            int valueIndex = valueBySlot[slot];
+            bits.get(valueIndex).clear(slot);
+            counts[valueIndex]--;
+        }
+
+        /**
+         * Conteo por valor sobre los slots indicados (null: todos los activos, desde los contadores)
+         */
+        private Map<V, Integer> count(BitSet slots) {
+            int[] tally;
+            if (slots == null) {
+                tally = counts;
+            } else {
+                tally = new int[values.size()];
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    tally[valueBySlot[slot]]++;
+                }
+            }
+            Map<V, Integer> result = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                if (tally[i] > 0) {
+                    result.put(values.get(i), tally[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
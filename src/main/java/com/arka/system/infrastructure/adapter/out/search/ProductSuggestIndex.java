@@ -0,0 +1,138 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.domain.port.out.ProductSuggestPort;
+import com.arka.system.shared.dto.ProductSuggestion;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de autocompletado de productos activos sobre un PrefixTrie.
+ *
+ * Por cada producto se indexan, normalizados (minúsculas, sin acentos, espacios simples), el
+ * nombre a partir de cada una de sus palabras, la marca y el SKU; así "inal" sugiere
+ * "Mouse inalámbrico" y "logitech m" sugiere los productos Logitech que empiezan por "m".
+ * De cada producto se recuerdan nombre, marca y SKU para recalcular sus claves y retirarlas al
+ * modificarlo o desactivarlo, de modo que las actualizaciones son incrementales.
+ */
+@Component
+public class ProductSuggestIndex implements CatalogIndex, ProductSuggestPort {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final PrefixTrie trie = new PrefixTrie();
+    private final Map<Long, Suggestable> entries = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        if (!entry.active()) {
+            remove(entry.id());
+            return;
+        }
+        Suggestable suggestable = new Suggestable(entry.name(), entry.brand(), entry.sku());
+        lock.writeLock().lock();
+        try {
+            Suggestable previous = entries.put(entry.id(), suggestable);
+            if (previous != null) {
+                previous.keys().forEach(key -> trie.remove(key, entry.id()));
+            }
+            suggestable.keys().forEach(key -> trie.add(key, entry.id()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Suggestable previous = entries.remove(productId);
+            if (previous != null) {
+                previous.keys().forEach(key -> trie.remove(key, productId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        // Sin fallback: hasta completar la carga inicial simplemente hay menos sugerencias
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            trie.collect(normalized, limit, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ProductSuggestion> suggestions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Suggestable suggestable = entries.get(id);
+            if (suggestable != null) {
+                suggestions.add(new ProductSuggestion(id, suggestable.label()));
+            }
+        }
+        return suggestions;
+    }
+
+    private static Set<String> keysOf(Suggestable suggestable) {
+        Set<String> keys = new LinkedHashSet<>();
+        String name = normalize(suggestable.label());
+        // El nombre desde cada palabra: "mouse inalambrico", "inalambrico"
+        for (int start = 0; start < name.length(); start = name.indexOf(' ', start) + 1) {
+            keys.add(name.substring(start));
+            if (name.indexOf(' ', start) < 0) {
+                break;
+            }
+        }
+        String brand = normalize(suggestable.brand());
+        if (!brand.isEmpty()) {
+            keys.add(brand + " " + name);
+        }
+        keys.add(normalize(suggestable.sku()));
+        keys.remove("");
+        return keys;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String withoutAccents = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Texto a mostrar y datos de los que se derivan las claves de un producto
+     */
+    private record Suggestable(String label, String brand, String sku) {
+
+        private Set<String> keys() {
+            return keysOf(this);
+        }
+    }
+}
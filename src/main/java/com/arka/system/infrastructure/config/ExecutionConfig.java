@@ -0,0 +1,41 @@
+package com.arka.system.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Modo de ejecución del trabajo bloqueante: hilos de plataforma o hilos virtuales.
+ * 
+ * Con spring.threads.virtual.enabled=true Spring Boot atiende las peticiones de Tomcat (y con
+ * ellas ProductController y los casos de uso JPA) en hilos virtuales, y blockingScheduler pasa
+ * a crear un hilo virtual por tarea. Sin esa propiedad se mantiene el pool de Tomcat y un
+ * boundedElastic propio. Los adaptadores reactivos publican en blockingScheduler cualquier
+ * trabajo bloqueante en lugar de ocupar los hilos de Schedulers.parallel().
+ * 
+ * Con hilos virtuales el límite real de peticiones simultáneas contra la base de datos pasa a
+ * ser el pool de conexiones (spring.datasource.hikari.maximum-pool-size), no el de hilos.
+ */
+@Configuration
+@Slf4j
+public class ExecutionConfig {
+    
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            log.info("Blocking work runs on virtual threads");
+            return Schedulers.fromExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("arka-blocking-", 0).factory()),
+                "arka-blocking");
+        }
+        log.info("Blocking work runs on a bounded elastic platform-thread pool");
+        return Schedulers.newBoundedElastic(
+            Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "arka-blocking");
+    }
+}
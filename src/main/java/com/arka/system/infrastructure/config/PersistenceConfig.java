@@ -0,0 +1,45 @@
+package com.arka.system.infrastructure.config;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuración de persistencia para la convivencia de JPA y R2DBC.
+ * 
+ * DataSourceAutoConfiguration se desactiva en cuanto existe un ConnectionFactory de R2DBC, por
+ * lo que el DataSource de JDBC se declara aquí a partir de spring.datasource.* (y el pool de
+ * spring.datasource.hikari.*); sobre él se autoconfiguran JPA, los repositorios y JdbcTemplate.
+ * 
+ * Con ambos módulos en el classpath existen dos TransactionManager (JPA y R2DBC).
+ * El de JPA se declara como primario para que @Transactional en los adaptadores y casos
+ * de uso bloqueantes lo resuelva sin ambigüedad. El lado reactivo no usa @Transactional:
+ * demarca sus transacciones con el TransactionalOperator autoconfigurado sobre el
+ * R2dbcTransactionManager.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PersistenceConfig {
+    
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
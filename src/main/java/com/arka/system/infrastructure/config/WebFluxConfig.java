@@ -2,33 +2,24 @@ package com.arka.system.infrastructure.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.config.EnableWebFlux;
-import org.springframework.web.reactive.config.WebFluxConfigurer;
-import org.springframework.web.reactive.config.CorsRegistry;
-import org.springframework.web.reactive.function.server.RouterFunction;
-import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerResponse;
 
 import lombok.extern.slf4j.Slf4j;
 
-import static org.springframework.web.reactive.function.server.RouterFunctions.route;
-import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+import static org.springframework.web.servlet.function.RouterFunctions.route;
 
 /**
- * Configuración para WebFlux - Programación Reactiva
+ * Configuración de los endpoints reactivos.
+ *
+ * La aplicación se ejecuta sobre Spring MVC (servlet): con spring-boot-starter-web en el
+ * classpath, @EnableWebFlux registraría un segundo requestMappingHandlerMapping y el contexto no
+ * arrancaría. Los controladores /api/reactive/** devuelven Mono/Flux, que MVC resuelve de forma
+ * asíncrona; las rutas funcionales se declaran con webmvc.fn y el CORS lo aplica SecurityConfig.
  */
 @Configuration
-@EnableWebFlux
 @Slf4j
-public class WebFluxConfig implements WebFluxConfigurer {
-
-    @Override
-    public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/api/reactive/**")
-                .allowedOrigins("*")
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*")
-                .maxAge(3600);
-    }
+public class WebFluxConfig {
 
     /**
      * Router functions para endpoints reactivos funcionales
@@ -38,10 +29,10 @@ public class WebFluxConfig implements WebFluxConfigurer {
         return route()
                 .GET("/api/reactive/health", request -> 
                     ServerResponse.ok()
-                        .bodyValue("Reactive API is running"))
+                        .body("Reactive API is running"))
                 .GET("/api/reactive/info", request ->
                     ServerResponse.ok()
-                        .bodyValue(java.util.Map.of(
+                        .body(java.util.Map.of(
                             "service", "Arka System",
                             "version", "1.0.0",
                             "reactive", true,
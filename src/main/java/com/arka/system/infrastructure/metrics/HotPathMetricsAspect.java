@@ -0,0 +1,203 @@
+package com.arka.system.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Instrumentación de la ruta caliente con Micrometer.
+ *
+ * Cada método de los casos de uso de productos (bloqueantes y reactivos) y de órdenes, y de los
+ * puertos de repositorio, se mide con un Timer (arka.usecase y arka.repository) etiquetado con clase,
+ * método, resultado y excepción, que publica percentiles (arka.metrics.percentiles) e histograma. En los
+ * métodos reactivos se mide desde la suscripción hasta que el Mono o Flux termina, con resultado
+ * success, empty (Mono que termina sin valor, salvo Mono<Void>), error o cancelled (el suscriptor
+ * cancela, como al cerrar un SSE o con take()); los flujos infinitos (stream*) no se miden. Las reservas de stock cuentan además su resultado en
+ * arka.inventory.reservations (reserved, rejected o error).
+ *
+ * Los decoradores que implementan el mismo puerto (caché sobre JPA) se miden por separado, por
+ * lo que la etiqueta class distingue aciertos de caché de accesos a la base de datos.
+ */
+@Aspect
+@Component
+public class HotPathMetricsAspect {
+
+    public static final String USE_CASE_TIMER = "arka.usecase";
+    public static final String REPOSITORY_TIMER = "arka.repository";
+    public static final String RESERVATION_COUNTER = "arka.inventory.reservations";
+
+    private static final String NO_EXCEPTION = "none";
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_EMPTY = "empty";
+    private static final String OUTCOME_ERROR = "error";
+    private static final String OUTCOME_CANCELLED = "cancelled";
+    private static final String RESERVATION_RESERVED = "reserved";
+    private static final String RESERVATION_REJECTED = "rejected";
+    private static final String RESERVATION_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> reservationCounters = new ConcurrentHashMap<>();
+
+    public HotPathMetricsAspect(
+            MeterRegistry meterRegistry,
+            @Value("${arka.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles) {
+        this.meterRegistry = meterRegistry;
+        this.percentiles = percentiles;
+    }
+
+    @Pointcut("execution(* com.arka.system.domain.port.in.ProductManagementUseCase+.*(..)) || " +
+              "execution(* com.arka.system.domain.port.in.ReactiveProductManagementUseCase+.*(..)) || " +
+              "execution(* com.arka.system.domain.port.in.OrderManagementUseCase+.*(..))")
+    void useCaseMethods() {
+    }
+
+    @Pointcut("execution(* com.arka.system.domain.port.out.*RepositoryPort+.*(..))")
+    void repositoryMethods() {
+    }
+
+    @Pointcut("execution(* stream*(..))")
+    void infiniteStreams() {
+    }
+
+    @Around("useCaseMethods() && !infiniteStreams()")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(USE_CASE_TIMER, joinPoint);
+    }
+
+    @Around("repositoryMethods()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String timerName, ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        boolean reservation = USE_CASE_TIMER.equals(timerName) && "reserveStock".equals(methodName);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(timerName, className, methodName, start, OUTCOME_ERROR, e);
+            if (reservation) {
+                countReservation(RESERVATION_ERROR);
+            }
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            boolean voidResult = returnsMonoOfVoid(joinPoint);
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                AtomicBoolean recorded = new AtomicBoolean();
+                return mono
+                    .doOnSuccess(value -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(timerName, className, methodName, subscribed,
+                                value != null || voidResult ? OUTCOME_SUCCESS : OUTCOME_EMPTY, null);
+                            if (reservation) {
+                                countReservation(value != null ? RESERVATION_RESERVED : RESERVATION_REJECTED);
+                            }
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(timerName, className, methodName, subscribed, OUTCOME_ERROR, e);
+                            if (reservation) {
+                                countReservation(RESERVATION_ERROR);
+                            }
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(timerName, className, methodName, subscribed, OUTCOME_CANCELLED, null);
+                        }
+                    });
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                AtomicBoolean recorded = new AtomicBoolean();
+                return flux
+                    .doOnComplete(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(timerName, className, methodName, subscribed, OUTCOME_SUCCESS, null);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(timerName, className, methodName, subscribed, OUTCOME_ERROR, e);
+                        }
+                    })
+                    // SSE que el cliente cierra o take() en el consumidor
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(timerName, className, methodName, subscribed, OUTCOME_CANCELLED, null);
+                        }
+                    });
+            });
+        }
+
+        record(timerName, className, methodName, start, OUTCOME_SUCCESS, null);
+        if (reservation) {
+            countReservation(result instanceof Optional<?> reservationId && reservationId.isPresent()
+                ? RESERVATION_RESERVED : RESERVATION_REJECTED);
+        }
+        return result;
+    }
+
+    private void record(String timerName, String className, String methodName, long start, String outcome, Throwable error) {
+        String exception = error != null ? error.getClass().getSimpleName() : NO_EXCEPTION;
+        String key = timerName + '|' + className + '|' + methodName + '|' + outcome + '|' + exception;
+        Timer timer = timers.computeIfAbsent(key, ignored -> Timer.builder(timerName)
+            .tag("class", className)
+            .tag("method", methodName)
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .publishPercentiles(percentiles)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Un Mono<Void> termina siempre vacío: para él la finalización sin valor es un éxito
+     */
+    private static boolean returnsMonoOfVoid(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature() instanceof MethodSignature signature
+            && signature.getMethod().getGenericReturnType() instanceof ParameterizedType type
+            && type.getActualTypeArguments()[0] == Void.class;
+    }
+
+    /**
+     * Contar el resultado de una reserva: con ID reservada, vacía (Optional o Mono) rechazada por stock
+     */
+    private void countReservation(String result) {
+        reservationCounters.computeIfAbsent(result, ignored -> Counter.builder(RESERVATION_COUNTER)
+                .description("Reservas de stock por resultado")
+                .tag("result", result)
+                .register(meterRegistry))
+            .increment();
+    }
+}
@@ -0,0 +1,25 @@
+package com.arka.system.shared.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de cancelar un lote de órdenes abandonadas, con el cursor (fecha e ID de la última
+ * orden del lote) desde el que continuar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbandonedOrderSweep {
+    
+    private int cancelledOrders;
+    private long releasedUnits;
+    private LocalDateTime lastOrderDate;
+    private Long lastOrderId;
+    private boolean lastPage;
+}
@@ -0,0 +1,57 @@
+package com.arka.system.shared.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Cambio confirmado del catálogo, tal como se emite en el flujo de cambios.
+ * Los campos que no aplican al tipo de cambio van a null: PRODUCT_UPSERTED lleva la fila
+ * completa, STOCK_CHANGED sólo stock y disponible, y PRODUCT_REMOVED y RESYNC sólo la secuencia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogChangeDTO {
+    
+    public enum Type {
+        PRODUCT_UPSERTED,
+        PRODUCT_REMOVED,
+        STOCK_CHANGED,
+        // Hay cambios que ya no se conservan: el cliente debe recargar el catálogo y seguir desde aquí
+        RESYNC
+    }
+    
+    // Número de secuencia creciente; sirve para reanudar el flujo desde el último recibido
+    private long sequence;
+    
+    private Type type;
+    
+    private Instant occurredAt;
+    
+    private Long productId;
+    
+    private String sku;
+    
+    private String name;
+    
+    private String brand;
+    
+    private Long categoryId;
+    
+    private BigDecimal salePrice;
+    
+    private Integer stockQuantity;
+    
+    private Integer minimumStock;
+    
+    // Stock disponible para prometer (stock - reservas vigentes)
+    private Integer availableQuantity;
+    
+    private Boolean active;
+}
@@ -0,0 +1,26 @@
+package com.arka.system.shared.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Resultado del checkout de una orden dentro de un lote: la orden creada o la excepción de
+ * negocio que la rechazó.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResult {
+    
+    private OrderDTO order;
+    private RuntimeException error;
+    
+    public static CheckoutResult created(OrderDTO order) {
+        return new CheckoutResult(order, null);
+    }
+    
+    public static CheckoutResult rejected(RuntimeException error) {
+        return new CheckoutResult(null, error);
+    }
+}
@@ -0,0 +1,64 @@
+package com.arka.system.shared.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comando para crear una orden en un único paso (checkout): cliente y líneas a comprar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateOrderCommand {
+    
+    @NotNull(message = "El cliente es obligatorio")
+    private Long customerId;
+    
+    @Size(max = 500, message = "Las notas no pueden exceder 500 caracteres")
+    private String notes;
+    
+    @NotEmpty(message = "La orden debe tener al menos una línea")
+    @Size(max = 500, message = "Una orden no puede tener más de 500 líneas")
+    private List<@Valid Line> lines;
+    
+    /**
+     * Agrupa las líneas por producto, sumando las cantidades de líneas repetidas
+     * @return Cantidad por ID de producto, en el orden de las líneas
+     */
+    public Map<Long, Integer> toQuantitiesByProduct() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Line line : lines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+    
+    /**
+     * Línea de la orden: producto y cantidad
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Line {
+        
+        @NotNull(message = "El ID del producto es obligatorio")
+        private Long productId;
+        
+        @NotNull(message = "La cantidad es obligatoria")
+        @Positive(message = "La cantidad debe ser mayor a cero")
+        private Integer quantity;
+    }
+}
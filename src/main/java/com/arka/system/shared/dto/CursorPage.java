@@ -0,0 +1,26 @@
+package com.arka.system.shared.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida con paginación por cursor (keyset).
+ * El cursor es opaco para el cliente: basta con reenviar nextCursor para obtener la página siguiente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    
+    private List<T> items;
+    
+    // Cursor para solicitar la siguiente página; null cuando no hay más resultados
+    private String nextCursor;
+    
+    private boolean hasMore;
+}
@@ -0,0 +1,50 @@
+package com.arka.system.shared.dto;
+
+import com.arka.system.domain.model.Order.OrderStatus;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para transferencia de datos de órdenes.
+ * subtotal es la suma de las líneas (con descuento por volumen) y totalAmount incluye impuestos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDTO {
+    
+    private Long id;
+    private Long customerId;
+    private OrderStatus status;
+    private BigDecimal subtotal;
+    private BigDecimal tax;
+    private BigDecimal totalAmount;
+    private String notes;
+    private LocalDateTime orderDate;
+    private List<Item> items;
+    
+    /**
+     * Línea de la orden con el precio unitario ya descontado
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        
+        private Long productId;
+        private String sku;
+        private String productName;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal subtotal;
+    }
+}
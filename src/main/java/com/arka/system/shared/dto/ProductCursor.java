@@ -0,0 +1,65 @@
+package com.arka.system.shared.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Posición de un recorrido keyset sobre productos activos, ordenados por ID
+ * (opcionalmente acotados a una categoría, usando el índice (category_id, id)).
+ * 
+ * Se serializa como un token opaco en Base64 URL-safe; el cliente no debe interpretarlo.
+ * 
+ * @param categoryId Categoría del recorrido, o null para todo el catálogo
+ * @param lastId ID del último producto entregado (0 para empezar desde el inicio)
+ */
+public record ProductCursor(Long categoryId, long lastId) {
+    
+    private static final String VERSION = "v1";
+    
+    /**
+     * Cursor al inicio del recorrido
+     */
+    public static ProductCursor start(Long categoryId) {
+        return new ProductCursor(categoryId, 0L);
+    }
+    
+    /**
+     * Serializa el cursor como token opaco
+     */
+    public String encode() {
+        String raw = VERSION + ":" + (categoryId != null ? categoryId : "") + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodifica un token de cursor validando que corresponda a la categoría solicitada
+     * @param token Token recibido del cliente (null o vacío para empezar desde el inicio)
+     * @param expectedCategoryId Categoría de la consulta actual
+     * @return Cursor decodificado
+     * @throws IllegalArgumentException si el token es inválido o pertenece a otro recorrido
+     */
+    public static ProductCursor decode(String token, Long expectedCategoryId) {
+        if (token == null || token.isBlank()) {
+            return start(expectedCategoryId);
+        }
+        
+        ProductCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Formato de cursor no soportado");
+            }
+            Long categoryId = parts[1].isEmpty() ? null : Long.valueOf(parts[1]);
+            cursor = new ProductCursor(categoryId, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + token, e);
+        }
+        
+        if (!Objects.equals(cursor.categoryId(), expectedCategoryId)) {
+            throw new IllegalArgumentException("El cursor no corresponde a la categoría solicitada");
+        }
+        return cursor;
+    }
+}
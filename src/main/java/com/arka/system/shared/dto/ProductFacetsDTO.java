@@ -0,0 +1,32 @@
+package com.arka.system.shared.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.Map;
+
+/**
+ * Conteos por faceta de los productos activos que cumplen un filtro.
+ * Cada faceta se cuenta aplicando los filtros de las demás, pero no el suyo, de modo que el
+ * cliente ve cuántos productos obtendría al cambiar de categoría, marca o franja de precio.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFacetsDTO {
+    
+    // Productos que cumplen todos los filtros
+    private long total;
+    
+    // ID de categoría → número de productos (orden descendente por conteo)
+    private Map<Long, Integer> categories;
+    
+    // Marca → número de productos (orden descendente por conteo)
+    private Map<String, Integer> brands;
+    
+    // Franja de precio de venta → número de productos (orden de las franjas)
+    private Map<String, Integer> priceBands;
+}
@@ -0,0 +1,83 @@
+package com.arka.system.shared.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Campos de producto seleccionables mediante el parámetro fields= de los listados.
+ * Cada campo asocia el nombre expuesto en JSON con la ruta del atributo JPA que se consulta.
+ */
+public enum ProductField {
+
+    ID("id", "id"),
+    SKU("sku", "sku"),
+    NAME("name", "name"),
+    DESCRIPTION("description", "description"),
+    BRAND("brand", "brand"),
+    PURCHASE_PRICE("purchasePrice", "purchasePrice"),
+    SALE_PRICE("salePrice", "salePrice"),
+    STOCK_QUANTITY("stockQuantity", "stockQuantity"),
+    MINIMUM_STOCK("minimumStock", "minimumStock"),
+    WEIGHT("weight", "weight"),
+    DIMENSIONS("dimensions", "dimensions"),
+    ACTIVE("active", "active"),
+    CATEGORY_ID("categoryId", "category.id"),
+    CATEGORY_NAME("categoryName", "category.name"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt");
+
+    private final String jsonName;
+    private final String attributePath;
+
+    ProductField(String jsonName, String attributePath) {
+        this.jsonName = jsonName;
+        this.attributePath = attributePath;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getAttributePath() {
+        return attributePath;
+    }
+
+    /**
+     * Indica si el campo pertenece a la categoría del producto (requiere JOIN)
+     */
+    public boolean isCategoryField() {
+        return attributePath.startsWith("category.");
+    }
+
+    /**
+     * Interpreta una lista de campos separados por comas, conservando el orden y sin duplicados
+     * @param fields Valor del parámetro fields=, por ejemplo "id,name,salePrice"
+     * @return Campos solicitados
+     * @throws IllegalArgumentException si la lista está vacía o contiene un campo desconocido
+     */
+    public static List<ProductField> parse(String fields) {
+        Set<ProductField> selected = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String token : fields.split(",")) {
+                String name = token.trim();
+                if (!name.isEmpty()) {
+                    selected.add(fromJsonName(name));
+                }
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un campo en fields");
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private static ProductField fromJsonName(String name) {
+        return Arrays.stream(values())
+            .filter(field -> field.jsonName.equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Campo de producto desconocido: " + name));
+    }
+}
@@ -0,0 +1,10 @@
+package com.arka.system.shared.dto;
+
+/**
+ * Sugerencia de autocompletado: producto y texto a mostrar.
+ * 
+ * @param id ID del producto
+ * @param label Nombre del producto
+ */
+public record ProductSuggestion(Long id, String label) {
+}
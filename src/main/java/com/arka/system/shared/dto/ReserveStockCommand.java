@@ -0,0 +1,58 @@
+package com.arka.system.shared.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comando para reservar stock de varios productos en una sola operación (todo o nada).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReserveStockCommand {
+    
+    @NotEmpty(message = "Debe indicar al menos una línea a reservar")
+    @Size(max = 500, message = "No se pueden reservar más de 500 líneas por operación")
+    private List<@Valid Line> lines;
+    
+    /**
+     * Agrupa las líneas por producto, sumando las cantidades de líneas repetidas
+     * @return Cantidad a reservar por ID de producto
+     */
+    public Map<Long, Integer> toQuantitiesByProduct() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Line line : lines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+    
+    /**
+     * Línea de reserva: producto y cantidad
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Line {
+        
+        @NotNull(message = "El ID del producto es obligatorio")
+        private Long productId;
+        
+        @NotNull(message = "La cantidad es obligatoria")
+        @Positive(message = "La cantidad debe ser mayor a cero")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,15 @@
+package com.arka.system.shared.exception;
+
+/**
+ * Excepción lanzada cuando la cola de ingesta de órdenes está llena y no admite más órdenes.
+ */
+public class OrderQueueFullException extends RuntimeException {
+    
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+    
+    public OrderQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
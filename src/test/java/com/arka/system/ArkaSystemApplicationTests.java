@@ -1,13 +1,86 @@
 package com.arka.system;
 
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.port.out.ReactiveProductRepositoryPort;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 class ArkaSystemApplicationTests {
 
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ConnectionFactory connectionFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReactiveProductRepositoryPort reactiveProductRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Test
 	void contextLoads() {
+		assertThat(dataSource).isNotNull();
+		assertThat(entityManagerFactory).isNotNull();
+		assertThat(connectionFactory).isNotNull();
+		assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+	}
+
+	@Test
+	void jpaAndR2dbcShareTheSameDatabase() {
+		String sku = "CTX-" + UUID.randomUUID().toString().substring(0, 8);
+		Long productId = new TransactionTemplate(transactionManager).execute(status -> {
+			Category category = Category.builder().name("Categoría " + sku).build();
+			entityManager.persist(category);
+			Product product = Product.builder()
+				.sku(sku)
+				.name("Teclado")
+				.brand("Logitech")
+				.purchasePrice(new BigDecimal("10.00"))
+				.salePrice(new BigDecimal("20.00"))
+				.stockQuantity(7)
+				.minimumStock(1)
+				.category(category)
+				.build();
+			entityManager.persist(product);
+			return product.getId();
+		});
+
+		StepVerifier.create(reactiveProductRepository.findById(productId))
+			.assertNext(product -> {
+				assertThat(product.getSku()).isEqualTo(sku);
+				assertThat(product.getStockQuantity()).isEqualTo(7);
+			})
+			.verifyComplete();
 	}
 
 }
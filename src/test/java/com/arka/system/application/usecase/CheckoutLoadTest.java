@@ -0,0 +1,146 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Customer;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.shared.dto.CreateOrderCommand;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga del checkout: varios hilos crean órdenes de 3 líneas sobre un catálogo de
+ * 100 productos durante MEASURE, tras un calentamiento, y se exige un mínimo de checkouts por
+ * segundo (arka.load.checkouts-per-second, 500 por defecto). Se ejecuta con ./gradlew loadTest.
+ *
+ * El calentamiento debe cubrir la compilación JIT de toda la ruta (Hibernate, H2, proxies): con
+ * pocos núcleos, unos segundos miden sobre todo el compilador y no el checkout.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.springframework.web=INFO",
+    "logging.level.com.arka.system=WARN"
+})
+class CheckoutLoadTest {
+
+    private static final int PRODUCT_COUNT = 100;
+    private static final int LINES_PER_ORDER = 3;
+    private static final int THREADS = 16;
+    private static final Duration WARMUP = Duration.ofSeconds(30);
+    private static final Duration MEASURE = Duration.ofSeconds(20);
+
+    @Autowired
+    private OrderManagementUseCase orderManagementUseCase;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void sustainsTargetCheckoutsPerSecond() throws InterruptedException {
+        int target = Integer.getInteger("arka.load.checkouts-per-second", 500);
+        List<Long> productIds = new ArrayList<>();
+        Long customerId = seed(productIds);
+
+        run(customerId, productIds, WARMUP);
+        AtomicLong[] result = run(customerId, productIds, MEASURE);
+
+        double perSecond = result[0].get() / (double) MEASURE.toSeconds();
+        System.out.printf("checkout: %.0f orders/s with %d threads on %d CPUs (%d failed)%n",
+            perSecond, THREADS, Runtime.getRuntime().availableProcessors(), result[1].get());
+        assertThat(result[1].get()).isZero();
+        assertThat(perSecond).isGreaterThanOrEqualTo(target);
+    }
+
+    /**
+     * Lanzar checkouts durante el tiempo indicado
+     * @return Checkouts completados y fallidos
+     */
+    private AtomicLong[] run(Long customerId, List<Long> productIds, Duration duration) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        orderManagementUseCase.createOrder(randomOrder(customerId, productIds));
+                        completed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS)).isTrue();
+        return new AtomicLong[] {completed, failed};
+    }
+
+    private static CreateOrderCommand randomOrder(Long customerId, List<Long> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<CreateOrderCommand.Line> lines = new ArrayList<>(LINES_PER_ORDER);
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            lines.add(new CreateOrderCommand.Line(productIds.get(random.nextInt(productIds.size())), 1 + random.nextInt(5)));
+        }
+        return CreateOrderCommand.builder().customerId(customerId).lines(lines).build();
+    }
+
+    private Long seed(List<Long> productIds) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Customer customer = new Customer();
+            customer.setCompanyName("Carga " + suffix);
+            customer.setDocumentNumber("LOAD-" + suffix);
+            customer.setEmail("load-" + suffix + "@arka.test");
+            customer.setCity("Cali");
+            customer.setCountry("Colombia");
+            entityManager.persist(customer);
+
+            Category category = Category.builder().name("Categoría " + suffix).build();
+            entityManager.persist(category);
+
+            for (int i = 0; i < PRODUCT_COUNT; i++) {
+                Product product = Product.builder()
+                    .sku("LOAD-" + suffix + "-" + i)
+                    .name("Producto " + i)
+                    .brand("Arka")
+                    .purchasePrice(new BigDecimal("10.00"))
+                    .salePrice(new BigDecimal("25.00"))
+                    .stockQuantity(10_000_000)
+                    .minimumStock(1)
+                    .category(category)
+                    .build();
+                entityManager.persist(product);
+                productIds.add(product.getId());
+            }
+            return customer.getId();
+        });
+    }
+}
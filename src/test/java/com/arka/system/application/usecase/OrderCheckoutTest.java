@@ -0,0 +1,184 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Customer;
+import com.arka.system.domain.model.Order.OrderStatus;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.domain.port.in.ProductManagementUseCase;
+import com.arka.system.shared.dto.CheckoutResult;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+import com.arka.system.shared.exception.InsufficientStockException;
+import com.arka.system.shared.exception.ProductNotFoundException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica el checkout: precios con descuento por volumen e impuestos, descuento de stock de
+ * todas las líneas o de ninguna (también dentro de un lote de createOrders), respeto de las
+ * unidades reservadas y devolución del stock al cancelar.
+ */
+@SpringBootTest
+class OrderCheckoutTest {
+
+    @Autowired
+    private OrderManagementUseCase orderManagementUseCase;
+
+    @Autowired
+    private ProductManagementUseCase productManagementUseCase;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        productIds.clear();
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Customer customer = new Customer();
+            customer.setCompanyName("Almacén " + suffix);
+            customer.setDocumentNumber("CHK-" + suffix);
+            customer.setEmail("chk-" + suffix + "@arka.test");
+            customer.setCity("Medellín");
+            customer.setCountry("Colombia");
+            entityManager.persist(customer);
+            customerId = customer.getId();
+
+            Category category = Category.builder().name("Categoría " + suffix).build();
+            entityManager.persist(category);
+
+            for (int i = 0; i < 2; i++) {
+                Product product = Product.builder()
+                    .sku("CHK-" + suffix + "-" + i)
+                    .name("Teclado " + i)
+                    .brand("Logitech")
+                    .purchasePrice(new BigDecimal("10.00"))
+                    .salePrice(new BigDecimal("20.00"))
+                    .stockQuantity(30)
+                    .minimumStock(1)
+                    .category(category)
+                    .build();
+                entityManager.persist(product);
+                productIds.add(product.getId());
+            }
+        });
+    }
+
+    @Test
+    void checkoutPricesLinesAndDecrementsStock() {
+        OrderDTO order = orderManagementUseCase.createOrder(command(25, 1));
+
+        // 25 uds: 2% de descuento (19,60 x 25 = 490,00) + 1 ud a 20,00; IVA 19% sobre 510,00
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(order.getSubtotal()).isEqualByComparingTo("510.00");
+        assertThat(order.getTax()).isEqualByComparingTo("96.90");
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("606.90");
+        assertThat(order.getItems()).extracting(OrderDTO.Item::getUnitPrice)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("19.60"), new BigDecimal("20.00"));
+        assertThat(stockOf(productIds.get(0))).isEqualTo(5);
+        assertThat(stockOf(productIds.get(1))).isEqualTo(29);
+        assertThat(orderManagementUseCase.getOrderById(order.getId()).getItems()).hasSize(2);
+    }
+
+    @Test
+    void checkoutWithoutStockForOneLineAppliesNothing() {
+        assertThatThrownBy(() -> orderManagementUseCase.createOrder(command(5, 31)))
+            .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(stockOf(productIds.get(0))).isEqualTo(30);
+        assertThat(stockOf(productIds.get(1))).isEqualTo(30);
+        assertThat(orderManagementUseCase.getOrdersByCustomer(customerId)).isEmpty();
+    }
+
+    @Test
+    void checkoutCannotSellUnitsHeldByReservations() {
+        productManagementUseCase.reserveStock(productIds.get(1), 25).orElseThrow();
+
+        assertThatThrownBy(() -> orderManagementUseCase.createOrder(command(1, 6)))
+            .isInstanceOf(InsufficientStockException.class);
+        orderManagementUseCase.createOrder(command(1, 5));
+
+        assertThat(stockOf(productIds.get(1))).isEqualTo(25);
+        assertThat(productManagementUseCase.getAvailableStock(productIds.get(1))).isZero();
+    }
+
+    @Test
+    void checkoutWithUnknownProductFails() {
+        CreateOrderCommand command = command(1, 1);
+        command.getLines().add(new CreateOrderCommand.Line(Long.MAX_VALUE, 1));
+
+        assertThatThrownBy(() -> orderManagementUseCase.createOrder(command))
+            .isInstanceOf(ProductNotFoundException.class);
+        assertThat(stockOf(productIds.get(0))).isEqualTo(30);
+    }
+
+    @Test
+    void groupCommitRejectsOnlyTheOrderWithoutStock() {
+        List<CheckoutResult> results = orderManagementUseCase.createOrders(
+            List.of(command(10, 10), command(5, 25), command(10, 5)));
+
+        assertThat(results.get(0).getOrder()).isNotNull();
+        assertThat(results.get(1).getError()).isInstanceOf(InsufficientStockException.class);
+        assertThat(results.get(2).getOrder()).isNotNull();
+        // El descuento de la primera línea de la orden rechazada se devuelve
+        assertThat(stockOf(productIds.get(0))).isEqualTo(10);
+        assertThat(stockOf(productIds.get(1))).isEqualTo(15);
+        assertThat(orderManagementUseCase.getOrdersByCustomer(customerId)).hasSize(2);
+    }
+
+    @Test
+    void cancelReturnsStock() {
+        OrderDTO order = orderManagementUseCase.createOrder(command(10, 3));
+
+        OrderDTO cancelled = orderManagementUseCase.cancelOrder(order.getId());
+
+        assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(stockOf(productIds.get(0))).isEqualTo(30);
+        assertThat(stockOf(productIds.get(1))).isEqualTo(30);
+        assertThatThrownBy(() -> orderManagementUseCase.confirmOrder(order.getId()))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private CreateOrderCommand command(int firstQuantity, int secondQuantity) {
+        List<CreateOrderCommand.Line> lines = new ArrayList<>();
+        lines.add(new CreateOrderCommand.Line(productIds.get(0), firstQuantity));
+        lines.add(new CreateOrderCommand.Line(productIds.get(1), secondQuantity));
+        return CreateOrderCommand.builder()
+            .customerId(customerId)
+            .lines(lines)
+            .build();
+    }
+
+    private int stockOf(Long productId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.shared.dto.CheckoutResult;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+import com.arka.system.shared.exception.InsufficientStockException;
+import com.arka.system.shared.exception.OrderQueueFullException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que la ingesta agrupa las órdenes que llegan dentro de linger en un único lote,
+ * completa cada futuro con su resultado y rechaza de inmediato cuando la cola está llena.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderIngestionUseCaseImplTest {
+
+    @Mock
+    private OrderManagementUseCase orderManagementUseCase;
+
+    private OrderIngestionUseCaseImpl ingestion;
+
+    @AfterEach
+    void tearDown() {
+        ingestion.stop();
+    }
+
+    @Test
+    void ordersWithinLingerAreCommittedInOneBatch() throws Exception {
+        when(orderManagementUseCase.createOrders(anyList())).thenReturn(List.of(
+            CheckoutResult.created(OrderDTO.builder().id(1L).build()),
+            CheckoutResult.rejected(new InsufficientStockException("Stock insuficiente")),
+            CheckoutResult.created(OrderDTO.builder().id(3L).build())));
+        ingestion = new OrderIngestionUseCaseImpl(orderManagementUseCase, 100, 10, Duration.ofMillis(200));
+        ingestion.start();
+
+        CompletableFuture<OrderDTO> first = ingestion.submitOrder(command(1L));
+        CompletableFuture<OrderDTO> second = ingestion.submitOrder(command(2L));
+        CompletableFuture<OrderDTO> third = ingestion.submitOrder(command(3L));
+
+        assertThat(first.get(2, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        assertThat(third.get(2, TimeUnit.SECONDS).getId()).isEqualTo(3L);
+        assertThatThrownBy(() -> second.get(2, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(InsufficientStockException.class);
+        verify(orderManagementUseCase, times(1)).createOrders(anyList());
+    }
+
+    @Test
+    void fullQueueRejectsImmediately() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderManagementUseCase.createOrders(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            return List.of(CheckoutResult.created(OrderDTO.builder().id(1L).build()));
+        });
+        ingestion = new OrderIngestionUseCaseImpl(orderManagementUseCase, 1, 1, Duration.ZERO);
+        ingestion.start();
+
+        CompletableFuture<OrderDTO> inFlight = ingestion.submitOrder(command(1L));
+        assertThat(committing.await(2, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<OrderDTO> queued = ingestion.submitOrder(command(2L));
+        CompletableFuture<OrderDTO> rejected = ingestion.submitOrder(command(3L));
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(OrderQueueFullException.class);
+        assertThat(queued).isNotDone();
+
+        release.countDown();
+        assertThat(inFlight.get(2, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        assertThat(queued.get(2, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private static CreateOrderCommand command(Long customerId) {
+        return CreateOrderCommand.builder()
+            .customerId(customerId)
+            .lines(List.of(new CreateOrderCommand.Line(1L, 1)))
+            .build();
+    }
+}
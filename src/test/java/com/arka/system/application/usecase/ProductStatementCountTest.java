@@ -0,0 +1,193 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.model.ProductAttribute;
+import com.arka.system.domain.port.in.ProductManagementUseCase;
+import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.dto.ProductField;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que las operaciones de lectura de productos se resuelven con un número
+ * constante de sentencias SQL, independiente de cuántos productos se devuelvan (sin N+1).
+ *
+ * Se cuentan las sentencias preparadas por Hibernate (Statistics); todas las operaciones
+ * medidas acceden a la base de datos sólo a través de JPA.
+ */
+@SpringBootTest
+class ProductStatementCountTest {
+
+    private static final int PRODUCT_COUNT = 10;
+
+    @Autowired
+    private ProductManagementUseCase productManagementUseCase;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long categoryId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        String skuPrefix = "N1-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Category category = Category.builder()
+                .name("Categoría " + skuPrefix)
+                .description("Categoría de prueba")
+                .build();
+            entityManager.persist(category);
+            categoryId = category.getId();
+
+            for (int i = 0; i < PRODUCT_COUNT; i++) {
+                Product product = Product.builder()
+                    .sku(skuPrefix + i)
+                    .name("Teclado " + i)
+                    .brand("Logitech")
+                    .purchasePrice(new BigDecimal("50.00"))
+                    .salePrice(new BigDecimal("80.00"))
+                    .stockQuantity(i % 2 == 0 ? 2 : 20)
+                    .minimumStock(5)
+                    .category(category)
+                    .build();
+                entityManager.persist(product);
+                entityManager.persist(new ProductAttribute(null, "color", "negro", product));
+                entityManager.persist(new ProductAttribute(null, "layout", "ES", product));
+                productId = product.getId();
+            }
+        });
+    }
+
+    /**
+     * El contexto se comparte con otras pruebas: las estadísticas sólo se recogen en esta clase
+     */
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void listingsUseSingleStatement() {
+        assertThat(countStatements(productManagementUseCase::getAllActiveProducts)).isEqualTo(1);
+        assertThat(countStatements(() -> productManagementUseCase.getProductsByCategory(categoryId))).isEqualTo(1);
+        // Con LowStockIndex listo y sin productos con stock bajo no se ejecuta ninguna sentencia
+        assertThat(countStatements(productManagementUseCase::getLowStockProducts)).isLessThanOrEqualTo(1);
+        assertThat(countStatements(() -> productManagementUseCase.findActiveProductsPage(categoryId, null, 5)))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void listingsReturnCategoryWithoutAttributes() {
+        List<ProductDTO> products = productManagementUseCase.getProductsByCategory(categoryId);
+
+        assertThat(products).hasSize(PRODUCT_COUNT);
+        assertThat(products).allSatisfy(product -> {
+            assertThat(product.getCategoryId()).isEqualTo(categoryId);
+            assertThat(product.getCategoryName()).isNotNull();
+            assertThat(product.getAttributes()).isNull();
+        });
+    }
+
+    @Test
+    void detailLoadsAttributesInSingleStatement() {
+        ProductDTO[] detail = new ProductDTO[1];
+
+        long statements = countStatements(() -> detail[0] = productManagementUseCase.findById(productId));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(detail[0].getAttributes()).hasSize(2);
+        assertThat(detail[0].getCategoryName()).isNotNull();
+    }
+
+    @Test
+    void fieldSelectionReturnsOnlyRequestedColumns() {
+        List<ProductField> fields = ProductField.parse("id,categoryName,salePrice");
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>>[] rows = new List[1];
+
+        long statements = countStatements(
+            () -> rows[0] = productManagementUseCase.getActiveProductFields(fields, categoryId, true));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(rows[0]).hasSize(PRODUCT_COUNT / 2);
+        assertThat(rows[0]).allSatisfy(row ->
+            assertThat(row).containsOnlyKeys("id", "categoryName", "salePrice"));
+    }
+
+    /**
+     * Desde que las reservas son retenciones (ya no un UPDATE condicional), reservar cuesta la
+     * lectura del stock más el INSERT de la retención; el rechazo, sólo la lectura
+     */
+    @Test
+    void reserveStockReadsStockThenInsertsHold() {
+        @SuppressWarnings("unchecked")
+        Optional<String>[] reserved = new Optional[1];
+
+        long statements = countStatements(() -> reserved[0] = productManagementUseCase.reserveStock(productId, 1));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(reserved[0]).isPresent();
+    }
+
+    @Test
+    void rejectedReservationOnlyReadsStock() {
+        @SuppressWarnings("unchecked")
+        Optional<String>[] reserved = new Optional[1];
+
+        long statements = countStatements(() -> reserved[0] = productManagementUseCase.reserveStock(productId, 1000));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(reserved[0]).isEmpty();
+    }
+
+    @Test
+    void updateStockUpdatesThenReloadsOnce() {
+        ProductDTO[] updated = new ProductDTO[1];
+
+        long statements = countStatements(() -> updated[0] = productManagementUseCase.updateStock(productId, 42));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(updated[0].getStockQuantity()).isEqualTo(42);
+    }
+
+    private long countStatements(Supplier<?> operation) {
+        statistics.clear();
+        operation.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,210 @@
+package com.arka.system.application.usecase;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.port.in.ProductManagementUseCase;
+import com.arka.system.shared.exception.ProductNotFoundException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica la reserva de stock: las reservas retienen unidades sin descontar el stock, los lotes
+ * se aplican completos o no se aplica ninguna línea, y la confirmación o liberación actúa sólo
+ * sobre la reserva indicada por su ID (o, en los endpoints obsoletos por producto, sobre una
+ * reserva de una sola línea equivalente).
+ */
+@SpringBootTest
+class StockReservationTest {
+
+    @Autowired
+    private ProductManagementUseCase productManagementUseCase;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productIds.clear();
+        String skuPrefix = "RSV-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Category category = Category.builder().name("Categoría " + skuPrefix).build();
+            entityManager.persist(category);
+
+            for (int i = 0; i < 3; i++) {
+                Product product = Product.builder()
+                    .sku(skuPrefix + i)
+                    .name("Mouse " + i)
+                    .brand("Logitech")
+                    .purchasePrice(new BigDecimal("10.00"))
+                    .salePrice(new BigDecimal("20.00"))
+                    .stockQuantity(10)
+                    .minimumStock(1)
+                    .category(category)
+                    .build();
+                entityManager.persist(product);
+                productIds.add(product.getId());
+            }
+        });
+    }
+
+    @Test
+    void reservesAllLinesWhenEveryProductHasStock() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(productIds.get(2), 4);
+        quantities.put(productIds.get(0), 10);
+        quantities.put(productIds.get(1), 1);
+
+        assertThat(productManagementUseCase.reserveStock(quantities)).isPresent();
+
+        assertThat(availableOf(productIds.get(0))).isZero();
+        assertThat(availableOf(productIds.get(1))).isEqualTo(9);
+        assertThat(availableOf(productIds.get(2))).isEqualTo(6);
+        assertThat(productIds).allSatisfy(id -> assertThat(stockOf(id)).isEqualTo(10));
+    }
+
+    @Test
+    void reservesNothingWhenAnyLineLacksStock() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(productIds.get(0), 5);
+        quantities.put(productIds.get(1), 11);
+        quantities.put(productIds.get(2), 5);
+
+        assertThat(productManagementUseCase.reserveStock(quantities)).isEmpty();
+
+        assertThat(productIds).allSatisfy(id -> assertThat(availableOf(id)).isEqualTo(10));
+        assertThat(holdCount()).isZero();
+    }
+
+    @Test
+    void failsAndReservesNothingWhenProductDoesNotExist() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(productIds.get(0), 5);
+        quantities.put(Long.MAX_VALUE, 1);
+
+        assertThatThrownBy(() -> productManagementUseCase.reserveStock(quantities))
+            .isInstanceOf(ProductNotFoundException.class);
+
+        assertThat(availableOf(productIds.get(0))).isEqualTo(10);
+    }
+
+    @Test
+    void holdsCannotPromiseMoreThanStock() {
+        Long productId = productIds.get(0);
+
+        assertThat(productManagementUseCase.reserveStock(productId, 7)).isPresent();
+        assertThat(productManagementUseCase.reserveStock(productId, 4)).isEmpty();
+        assertThat(productManagementUseCase.reserveStock(productId, 3)).isPresent();
+
+        assertThat(availableOf(productId)).isZero();
+        assertThat(stockOf(productId)).isEqualTo(10);
+    }
+
+    @Test
+    void confirmSaleConvertsHoldIntoDecrement() {
+        Long productId = productIds.get(0);
+        String reservationId = productManagementUseCase.reserveStock(productId, 4).orElseThrow();
+
+        assertThat(productManagementUseCase.confirmSale(reservationId)).hasSize(1);
+
+        assertThat(stockOf(productId)).isEqualTo(6);
+        assertThat(availableOf(productId)).isEqualTo(6);
+        assertThat(holdCount()).isZero();
+    }
+
+    @Test
+    void confirmSaleOnlyConsumesItsOwnReservationOnce() {
+        Long productId = productIds.get(0);
+        String mine = productManagementUseCase.reserveStock(productId, 4).orElseThrow();
+        productManagementUseCase.reserveStock(productId, 3).orElseThrow();
+
+        productManagementUseCase.confirmSale(mine);
+        assertThat(productManagementUseCase.confirmSale(mine)).isEmpty();
+
+        assertThat(stockOf(productId)).isEqualTo(6);
+        assertThat(availableOf(productId)).isEqualTo(3);
+        assertThat(holdCount()).isEqualTo(1);
+    }
+
+    @Test
+    void releaseStockRemovesOnlyItsOwnHoldWithoutTouchingStock() {
+        Long productId = productIds.get(0);
+        String mine = productManagementUseCase.reserveStock(productId, 4).orElseThrow();
+        productManagementUseCase.reserveStock(productId, 3).orElseThrow();
+
+        productManagementUseCase.releaseStock(mine);
+        productManagementUseCase.releaseStock(mine);
+
+        assertThat(availableOf(productId)).isEqualTo(7);
+        assertThat(stockOf(productId)).isEqualTo(10);
+    }
+
+    @Test
+    void releasingUnknownReservationChangesNothing() {
+        Long productId = productIds.get(0);
+        productManagementUseCase.reserveStock(productId, 4).orElseThrow();
+
+        productManagementUseCase.releaseStock(UUID.randomUUID().toString());
+
+        assertThat(availableOf(productId)).isEqualTo(6);
+        assertThat(stockOf(productId)).isEqualTo(10);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedProductEndpointsConsumeOnlyMatchingSingleLineReservations() {
+        Long productId = productIds.get(0);
+        productManagementUseCase.reserveStock(productId, 4).orElseThrow();
+        productManagementUseCase.reserveStock(Map.of(productId, 3, productIds.get(1), 1)).orElseThrow();
+
+        // La reserva de dos líneas no es equivalente a una de 3 unidades de este producto
+        assertThat(productManagementUseCase.releaseStock(productId, 3)).isFalse();
+        assertThat(productManagementUseCase.confirmSale(productId, 4)).get()
+            .satisfies(product -> assertThat(product.getStockQuantity()).isEqualTo(6));
+        assertThat(productManagementUseCase.confirmSale(productId, 4)).isEmpty();
+
+        assertThat(stockOf(productId)).isEqualTo(6);
+        assertThat(availableOf(productId)).isEqualTo(3);
+        assertThat(holdCount()).isEqualTo(2);
+    }
+
+    private int availableOf(Long productId) {
+        return productManagementUseCase.getAvailableStock(productId);
+    }
+
+    private int holdCount() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM stock_holds WHERE product_id IN (?, ?, ?)", Integer.class, productIds.toArray());
+    }
+
+    private int stockOf(Long productId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
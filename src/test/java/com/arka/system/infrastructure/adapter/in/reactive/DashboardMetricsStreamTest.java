@@ -0,0 +1,82 @@
+package com.arka.system.infrastructure.adapter.in.reactive;
+
+import com.arka.system.domain.port.in.ReactiveProductManagementUseCase;
+import com.arka.system.shared.dto.ProductDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que el dashboard calcula una instantánea por intervalo para todos los suscriptores
+ * y que un suscriptor lento sólo conserva las instantáneas más recientes.
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardMetricsStreamTest {
+
+    @Mock
+    private ReactiveProductManagementUseCase productManagementUseCase;
+
+    private DashboardMetricsStream metricsStream;
+
+    @BeforeEach
+    void setUp() {
+        ProductDTO product = ProductDTO.builder()
+                .id(1L)
+                .sku("TEST-001")
+                .salePrice(new BigDecimal("150.00"))
+                .stockQuantity(50)
+                .minimumStock(10)
+                .active(true)
+                .build();
+        when(productManagementUseCase.findAll(any(PageRequest.class))).thenAnswer(invocation -> Flux.just(product));
+        when(productManagementUseCase.countLowStockProducts()).thenAnswer(invocation -> Mono.just(0L));
+        when(productManagementUseCase.findLowStockProducts()).thenAnswer(invocation -> Flux.empty());
+
+        metricsStream = new DashboardMetricsStream(productManagementUseCase, new SimpleMeterRegistry(),
+                Duration.ofMillis(50), Duration.ofMillis(50), 2, Duration.ZERO);
+    }
+
+    @Test
+    void subscribersShareOneSnapshotPerTick() {
+        Flux<Object> ticks = Flux.merge(
+                metricsStream.dashboard().take(3).map(snapshot -> snapshot.get("tick")),
+                metricsStream.dashboard().take(3).map(snapshot -> snapshot.get("tick")),
+                metricsStream.dashboard().take(3).map(snapshot -> snapshot.get("tick")));
+
+        StepVerifier.create(ticks)
+                .expectNextCount(9)
+                .verifyComplete();
+
+        // Sin compartir serían 9 consultas (una por suscriptor y tick)
+        verify(productManagementUseCase, atMost(4)).findAll(any(PageRequest.class));
+    }
+
+    @Test
+    void slowSubscriberKeepsOnlyLatestSnapshots() {
+        StepVerifier.create(metricsStream.dashboard(), 0)
+                .thenAwait(Duration.ofMillis(500))
+                .thenRequest(1)
+                .assertNext(snapshot -> assertThat((Long) snapshot.get("tick")).isGreaterThan(3L))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+}
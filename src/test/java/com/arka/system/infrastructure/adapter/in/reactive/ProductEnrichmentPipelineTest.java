@@ -0,0 +1,98 @@
+package com.arka.system.infrastructure.adapter.in.reactive;
+
+import com.arka.system.domain.port.out.ProductDetailsPort;
+import com.arka.system.shared.dto.ProductDTO;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de ProductEnrichmentPipeline: una llamada de detalles por lote, orden de salida,
+ * degradación por timeout y memorización de los análisis
+ */
+class ProductEnrichmentPipelineTest {
+
+    @Test
+    void enrich_ShouldCallDetailsOncePerBatchAndKeepOrder() {
+        AtomicInteger calls = new AtomicInteger();
+        ProductDetailsPort port = products -> {
+            calls.incrementAndGet();
+            // El primer lote responde el último para comprobar que se conserva el orden
+            Duration latency = Duration.ofMillis(products.get(0).getId() == 1L ? 60 : 10);
+            return Mono.delay(latency).thenReturn(byId(products));
+        };
+        ProductEnrichmentPipeline pipeline = new ProductEnrichmentPipeline(port, 3, 4, Duration.ofSeconds(1), 100);
+
+        List<Map<String, Object>> enriched = pipeline.enrich(Flux.fromIterable(products(7)))
+            .collectList()
+            .block(Duration.ofSeconds(2));
+
+        assertThat(calls).hasValue(3);
+        assertThat(enriched)
+            .extracting(item -> ((ProductDTO) item.get("product")).getId())
+            .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(enriched).allSatisfy(item -> assertThat(item).containsEntry("detailsAvailable", true));
+    }
+
+    @Test
+    void enrich_WhenDetailsTimeOut_ShouldFallBackToListedProduct() {
+        ProductDetailsPort port = products -> Mono.never();
+        ProductEnrichmentPipeline pipeline = new ProductEnrichmentPipeline(port, 10, 1, Duration.ofMillis(20), 100);
+
+        StepVerifier.create(pipeline.enrich(Flux.fromIterable(products(2))))
+            .assertNext(item -> assertThat(item).containsEntry("detailsAvailable", false))
+            .assertNext(item -> assertThat(((ProductDTO) item.get("product")).getId()).isEqualTo(2L))
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void priceAnalysis_ShouldRoundNonTerminatingMarginAndMemoize() {
+        ProductEnrichmentPipeline pipeline = new ProductEnrichmentPipeline(
+            products -> Mono.just(Map.of()), 10, 1, Duration.ofSeconds(1), 100);
+        ProductDTO product = product(1L);
+        product.setSalePrice(new BigDecimal("3"));
+        product.setPurchasePrice(new BigDecimal("2"));
+        ProductDTO samePrices = product(2L);
+        samePrices.setSalePrice(new BigDecimal("3"));
+        samePrices.setPurchasePrice(new BigDecimal("2"));
+
+        Map<String, Object> analysis = pipeline.priceAnalysis(product);
+
+        assertThat(analysis).containsEntry("margin", 0.3333).containsEntry("marginCategory", "HIGH");
+        assertThat(pipeline.priceAnalysis(samePrices)).isSameAs(analysis);
+    }
+
+    private static Map<Long, ProductDTO> byId(List<ProductDTO> products) {
+        return products.stream().collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+    }
+
+    private static List<ProductDTO> products(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(ProductEnrichmentPipelineTest::product).toList();
+    }
+
+    private static ProductDTO product(Long id) {
+        return ProductDTO.builder()
+            .id(id)
+            .sku("SKU-" + id)
+            .salePrice(new BigDecimal("150.00"))
+            .purchasePrice(new BigDecimal("100.00"))
+            .stockQuantity(5)
+            .minimumStock(10)
+            .build();
+    }
+}
@@ -1,6 +1,6 @@
 package com.arka.system.infrastructure.adapter.in.reactive;
 
-import com.arka.system.domain.port.in.ProductManagementUseCase;
+import com.arka.system.domain.port.in.ReactiveProductManagementUseCase;
 import com.arka.system.shared.dto.ProductDTO;
 import com.arka.system.shared.dto.CreateProductCommand;
 import com.arka.system.shared.dto.UpdateProductCommand;
@@ -23,6 +23,7 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -34,7 +35,7 @@ import static org.mockito.Mockito.*;
 class ReactiveProductControllerTest {
 
     @Mock
-    private ProductManagementUseCase productManagementUseCase;
+    private ReactiveProductManagementUseCase productManagementUseCase;
 
     private ReactiveProductController reactiveProductController;
     private ProductDTO sampleProduct;
@@ -43,7 +44,7 @@ class ReactiveProductControllerTest {
 
     @BeforeEach
     void setUp() {
-        reactiveProductController = new ReactiveProductController(productManagementUseCase);
+        reactiveProductController = new ReactiveProductController(productManagementUseCase, new StreamRateLimiter(64, 0, 100, Map.of()));
         
         sampleProduct = ProductDTO.builder()
                 .id(1L)
@@ -68,18 +69,18 @@ class ReactiveProductControllerTest {
                 .categoryId(1L)
                 .purchasePrice(new BigDecimal("80.00"))
                 .salePrice(new BigDecimal("120.00"))
-                .stockQuantity(30)
+                .initialStock(30)
                 .minimumStock(5)
                 .build();
 
         updateCommand = UpdateProductCommand.builder()
+                .sku("TEST-001")
                 .name("Producto Actualizado")
                 .description("Descripción actualizada")
                 .brand("Updated Brand")
                 .categoryId(1L)
                 .purchasePrice(new BigDecimal("90.00"))
                 .salePrice(new BigDecimal("135.00"))
-                .stockQuantity(40)
                 .minimumStock(8)
                 .build();
     }
@@ -89,10 +90,10 @@ class ReactiveProductControllerTest {
         // Given
         List<ProductDTO> products = List.of(sampleProduct);
         when(productManagementUseCase.findAll(any(PageRequest.class)))
-                .thenReturn(products);
+                .thenReturn(Flux.fromIterable(products));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10);
+        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10, null);
 
         // Then
         StepVerifier.create(result)
@@ -107,10 +108,10 @@ class ReactiveProductControllerTest {
         // Given
         List<ProductDTO> products = List.of(sampleProduct, sampleProduct);
         when(productManagementUseCase.findAll(any(PageRequest.class)))
-                .thenReturn(products);
+                .thenReturn(Flux.fromIterable(products));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10);
+        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10, null);
 
         // Then
         StepVerifier.create(result)
@@ -123,7 +124,7 @@ class ReactiveProductControllerTest {
     @Test
     void getProductById_WhenProductExists_ShouldReturnProduct() {
         // Given
-        when(productManagementUseCase.findById(1L)).thenReturn(sampleProduct);
+        when(productManagementUseCase.findById(1L)).thenReturn(Mono.just(sampleProduct));
 
         // When
         Mono<ProductDTO> result = reactiveProductController.getProductById(1L);
@@ -140,7 +141,7 @@ class ReactiveProductControllerTest {
     void getProductById_WhenProductNotFound_ShouldReturnError() {
         // Given
         when(productManagementUseCase.findById(1L))
-                .thenThrow(new ProductNotFoundException("Producto no encontrado"));
+                .thenReturn(Mono.error(new ProductNotFoundException("Producto no encontrado")));
 
         // When
         Mono<ProductDTO> result = reactiveProductController.getProductById(1L);
@@ -156,7 +157,7 @@ class ReactiveProductControllerTest {
     @Test
     void getProductBySku_WhenProductExists_ShouldReturnProduct() {
         // Given
-        when(productManagementUseCase.findBySku("TEST-001")).thenReturn(sampleProduct);
+        when(productManagementUseCase.findBySku("TEST-001")).thenReturn(Mono.just(sampleProduct));
 
         // When
         Mono<ProductDTO> result = reactiveProductController.getProductBySku("TEST-001");
@@ -172,7 +173,7 @@ class ReactiveProductControllerTest {
     @Test
     void createProduct_WithValidData_ShouldReturnCreatedProduct() {
         // Given
-        when(productManagementUseCase.createProduct(createCommand)).thenReturn(sampleProduct);
+        when(productManagementUseCase.createProduct(createCommand)).thenReturn(Mono.just(sampleProduct));
 
         // When
         Mono<ProductDTO> result = reactiveProductController.createProduct(createCommand);
@@ -189,7 +190,7 @@ class ReactiveProductControllerTest {
     void createProduct_WithInvalidData_ShouldReturnError() {
         // Given
         when(productManagementUseCase.createProduct(createCommand))
-                .thenThrow(new IllegalArgumentException("Datos inválidos"));
+                .thenReturn(Mono.error(new IllegalArgumentException("Datos inválidos")));
 
         // When
         Mono<ProductDTO> result = reactiveProductController.createProduct(createCommand);
@@ -205,7 +206,7 @@ class ReactiveProductControllerTest {
     @Test
     void updateProduct_WithValidData_ShouldReturnUpdatedProduct() {
         // Given
-        when(productManagementUseCase.updateProduct(1L, updateCommand)).thenReturn(sampleProduct);
+        when(productManagementUseCase.updateProduct(1L, updateCommand)).thenReturn(Mono.just(sampleProduct));
 
         // When
         Mono<ProductDTO> result = reactiveProductController.updateProduct(1L, updateCommand);
@@ -221,7 +222,7 @@ class ReactiveProductControllerTest {
     @Test
     void deleteProduct_WhenProductExists_ShouldComplete() {
         // Given
-        doNothing().when(productManagementUseCase).deleteProduct(1L);
+        when(productManagementUseCase.deleteProduct(1L)).thenReturn(Mono.empty());
 
         // When
         Mono<Void> result = reactiveProductController.deleteProduct(1L);
@@ -236,8 +237,8 @@ class ReactiveProductControllerTest {
     @Test
     void deleteProduct_WhenProductNotFound_ShouldReturnError() {
         // Given
-        doThrow(new ProductNotFoundException("Producto no encontrado"))
-                .when(productManagementUseCase).deleteProduct(1L);
+        when(productManagementUseCase.deleteProduct(1L))
+                .thenReturn(Mono.error(new ProductNotFoundException("Producto no encontrado")));
 
         // When
         Mono<Void> result = reactiveProductController.deleteProduct(1L);
@@ -255,10 +256,10 @@ class ReactiveProductControllerTest {
         // Given
         List<ProductDTO> products = List.of(sampleProduct);
         when(productManagementUseCase.findByCategory(eq(1L), any(PageRequest.class)))
-                .thenReturn(products);
+                .thenReturn(Flux.fromIterable(products));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.getProductsByCategory(1L, 0, 10);
+        Flux<ProductDTO> result = reactiveProductController.getProductsByCategory(1L, 0, 10, null);
 
         // Then
         StepVerifier.create(result)
@@ -272,10 +273,10 @@ class ReactiveProductControllerTest {
     void getLowStockProducts_ShouldReturnFluxOfLowStockProducts() {
         // Given
         List<ProductDTO> lowStockProducts = List.of(sampleProduct);
-        when(productManagementUseCase.findLowStockProducts()).thenReturn(lowStockProducts);
+        when(productManagementUseCase.findLowStockProducts()).thenReturn(Flux.fromIterable(lowStockProducts));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.getLowStockProducts();
+        Flux<ProductDTO> result = reactiveProductController.getLowStockProducts(null);
 
         // Then
         StepVerifier.create(result)
@@ -290,10 +291,10 @@ class ReactiveProductControllerTest {
         // Given
         List<ProductDTO> products = List.of(sampleProduct);
         when(productManagementUseCase.searchProducts(eq("test"), any(PageRequest.class)))
-                .thenReturn(products);
+                .thenReturn(Flux.fromIterable(products));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.searchProducts("test", 0, 10);
+        Flux<ProductDTO> result = reactiveProductController.searchProducts("test", 0, 10, null);
 
         // Then
         StepVerifier.create(result)
@@ -307,10 +308,10 @@ class ReactiveProductControllerTest {
     void getAllProducts_WithEmptyResult_ShouldCompleteWithoutEmission() {
         // Given
         when(productManagementUseCase.findAll(any(PageRequest.class)))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(Flux.fromIterable(Collections.emptyList()));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10);
+        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10, null);
 
         // Then
         StepVerifier.create(result)
@@ -323,10 +324,10 @@ class ReactiveProductControllerTest {
     void getAllProducts_WithError_ShouldPropagateError() {
         // Given
         when(productManagementUseCase.findAll(any(PageRequest.class)))
-                .thenThrow(new RuntimeException("Database error"));
+                .thenReturn(Flux.error(new RuntimeException("Database error")));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10);
+        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 10, null);
 
         // Then
         StepVerifier.create(result)
@@ -341,10 +342,10 @@ class ReactiveProductControllerTest {
         // Given
         List<ProductDTO> manyProducts = Collections.nCopies(100, sampleProduct);
         when(productManagementUseCase.findAll(any(PageRequest.class)))
-                .thenReturn(manyProducts);
+                .thenReturn(Flux.fromIterable(manyProducts));
 
         // When
-        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 100);
+        Flux<ProductDTO> result = reactiveProductController.getAllProducts(0, 100, null);
 
         // Then
         StepVerifier.create(result)
@@ -0,0 +1,73 @@
+package com.arka.system.infrastructure.adapter.in.reactive;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de StreamRateLimiter: sin límite no añade esperas, con límite respeta la ráfaga y la
+ * cabecera X-Client-Id no abre buckets nuevos salvo para clientes configurados
+ */
+class StreamRateLimiterTest {
+
+    @Test
+    void limit_WithoutRate_ShouldEmitAtClientDemand() {
+        StreamRateLimiter limiter = new StreamRateLimiter(4, 0, 100, Map.of());
+
+        StepVerifier.create(limiter.limit(Flux.range(1, 10), null), 3)
+            .expectNext(1, 2, 3)
+            .thenRequest(7)
+            .expectNextCount(7)
+            .verifyComplete();
+    }
+
+    @Test
+    void limit_WithClientRate_ShouldDelayOnlyBeyondBurst() {
+        StreamRateLimiter limiter = new StreamRateLimiter(64, 0, 2, Map.of("slow", 10.0));
+
+        StepVerifier.withVirtualTime(() -> limiter.limit(Flux.range(1, 3), "slow"))
+            .expectNext(1, 2)
+            .expectNoEvent(Duration.ofMillis(50))
+            .thenAwait(Duration.ofMillis(100))
+            .expectNext(3)
+            .verifyComplete();
+    }
+
+    @Test
+    void clientKey_ShouldHonorHeaderOnlyForConfiguredClients() {
+        StreamRateLimiter limiter = new StreamRateLimiter(64, 1, 2, Map.of("etl", 500.0));
+
+        assertThat(limiter.clientKey("etl", "ana", "10.0.0.1")).isEqualTo("etl");
+        assertThat(limiter.clientKey("rotated-1", "ana", "10.0.0.1")).isEqualTo("user:ana");
+        assertThat(limiter.clientKey("rotated-2", null, "10.0.0.1")).isEqualTo("ip:10.0.0.1");
+        assertThat(limiter.clientKey("rotated-3", null, null)).isEqualTo("anonymous");
+    }
+
+    @Test
+    void limit_WithRotatingUnknownClientIds_ShouldShareOneBucket() {
+        StreamRateLimiter limiter = new StreamRateLimiter(64, 10, 2, Map.of());
+
+        StepVerifier.withVirtualTime(() -> limiter.limit(Flux.range(1, 2), "rotated-1")
+                .concatWith(limiter.limit(Flux.range(3, 1), "rotated-2")))
+            .expectNext(1, 2)
+            .expectNoEvent(Duration.ofMillis(50))
+            .thenAwait(Duration.ofMillis(100))
+            .expectNext(3)
+            .verifyComplete();
+    }
+
+    @Test
+    void tokenBucket_ShouldSpendBurstBeforeWaiting() {
+        StreamRateLimiter.TokenBucket bucket = new StreamRateLimiter.TokenBucket(10, 2);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isPositive();
+    }
+}
@@ -0,0 +1,121 @@
+package com.arka.system.infrastructure.adapter.in.scheduler;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Customer;
+import com.arka.system.domain.model.Order.OrderStatus;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.port.in.OrderManagementUseCase;
+import com.arka.system.shared.dto.CreateOrderCommand;
+import com.arka.system.shared.dto.OrderDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica el barrido de órdenes abandonadas: cancela por lotes sólo las pendientes anteriores
+ * al corte, devuelve su stock y publica las métricas.
+ */
+@SpringBootTest
+class AbandonedOrderSweeperTest {
+
+    @Autowired
+    private OrderManagementUseCase orderManagementUseCase;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Long customerId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Customer customer = new Customer();
+            customer.setCompanyName("Almacén " + suffix);
+            customer.setDocumentNumber("ABN-" + suffix);
+            customer.setEmail("abn-" + suffix + "@arka.test");
+            customer.setCity("Cali");
+            customer.setCountry("Colombia");
+            entityManager.persist(customer);
+            customerId = customer.getId();
+
+            Category category = Category.builder().name("Categoría " + suffix).build();
+            entityManager.persist(category);
+
+            Product product = Product.builder()
+                .sku("ABN-" + suffix)
+                .name("Mouse")
+                .brand("Logitech")
+                .purchasePrice(new BigDecimal("10.00"))
+                .salePrice(new BigDecimal("20.00"))
+                .stockQuantity(100)
+                .minimumStock(1)
+                .category(category)
+                .build();
+            entityManager.persist(product);
+            productId = product.getId();
+        });
+    }
+
+    @Test
+    void sweepCancelsOnlyStalePendingOrdersInBatches() {
+        OrderDTO stale1 = orderManagementUseCase.createOrder(command(3));
+        OrderDTO stale2 = orderManagementUseCase.createOrder(command(4));
+        OrderDTO stale3 = orderManagementUseCase.createOrder(command(5));
+        OrderDTO fresh = orderManagementUseCase.createOrder(command(6));
+        OrderDTO confirmed = orderManagementUseCase.confirmOrder(orderManagementUseCase.createOrder(command(7)).getId());
+        List.of(stale1, stale2, stale3, confirmed).forEach(order -> jdbcTemplate.update(
+            "UPDATE orders SET order_date = ? WHERE id = ?", LocalDateTime.now().minusHours(2), order.getId()));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AbandonedOrderSweeper sweeper = new AbandonedOrderSweeper(
+            orderManagementUseCase, meterRegistry, Duration.ofMinutes(30), 2, Duration.ofHours(1));
+
+        int cancelled = sweeper.sweep();
+
+        assertThat(cancelled).isGreaterThanOrEqualTo(3);
+        assertThat(List.of(stale1, stale2, stale3))
+            .extracting(order -> orderManagementUseCase.getOrderById(order.getId()).getStatus())
+            .containsOnly(OrderStatus.CANCELLED);
+        assertThat(orderManagementUseCase.getOrderById(fresh.getId()).getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(orderManagementUseCase.getOrderById(confirmed.getId()).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        // 100 - 6 (pendiente reciente) - 7 (confirmada)
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId)).isEqualTo(87);
+        assertThat(meterRegistry.counter("arka.orders.abandoned.cancelled").count()).isEqualTo(cancelled);
+        assertThat(meterRegistry.timer("arka.orders.abandoned.sweep").count()).isEqualTo(1);
+        assertThat(sweeper.sweep()).isZero();
+    }
+
+    private CreateOrderCommand command(int quantity) {
+        return CreateOrderCommand.builder()
+            .customerId(customerId)
+            .lines(List.of(new CreateOrderCommand.Line(productId, quantity)))
+            .build();
+    }
+}
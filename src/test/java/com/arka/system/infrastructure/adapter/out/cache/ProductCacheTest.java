@@ -0,0 +1,63 @@
+package com.arka.system.infrastructure.adapter.out.cache;
+
+import com.arka.system.domain.model.Product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que una carga que coincide con una invalidación no vuelve a cachear el valor leído.
+ */
+class ProductCacheTest {
+
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void loadIsCachedWhenNothingWasInvalidated() {
+        long stamp = cache.loadStamp();
+
+        assertThat(cache.putIfNotInvalidatedSince(product(1L, 10), stamp)).isTrue();
+        assertThat(cache.getById(1L).getStockQuantity()).isEqualTo(10);
+        assertThat(cache.getBySku("SKU-1").getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsDiscarded() {
+        long stamp = cache.loadStamp();
+        cache.invalidate(1L);
+
+        assertThat(cache.putIfNotInvalidatedSince(product(1L, 10), stamp)).isFalse();
+        assertThat(cache.getById(1L)).isNull();
+        assertThat(cache.containsSku("SKU-1")).isFalse();
+    }
+
+    @Test
+    void invalidationOfAnotherProductDoesNotDiscardTheLoad() {
+        cache.invalidate(1L);
+        long stamp = cache.loadStamp();
+        cache.invalidate(2L);
+
+        assertThat(cache.putIfNotInvalidatedSince(product(1L, 10), stamp)).isTrue();
+        assertThat(cache.getById(1L)).isNotNull();
+    }
+
+    private static Product product(Long id, int stock) {
+        return Product.builder()
+            .id(id)
+            .sku("SKU-" + id)
+            .name("Producto " + id)
+            .stockQuantity(stock)
+            .build();
+    }
+}
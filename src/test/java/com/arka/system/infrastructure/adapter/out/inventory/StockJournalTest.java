@@ -0,0 +1,72 @@
+package com.arka.system.infrastructure.adapter.out.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del diario de movimientos usado para recuperar el StockLedger tras una caída.
+ */
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readDeltasAggregatesMovementsPerProduct() {
+        StockJournal journal = new StockJournal(directory);
+        try (StockJournal.Segment segment = journal.open(1)) {
+            segment.append(10L, -3);
+            segment.append(20L, 5);
+            segment.append(10L, -2);
+            segment.append(10L, 1);
+        }
+
+        assertThat(journal.readDeltas(1)).isEqualTo(Map.of(10L, -4L, 20L, 5L));
+    }
+
+    @Test
+    void readDeltasIgnoresTornTrailingLine() throws IOException {
+        StockJournal journal = new StockJournal(directory);
+        try (StockJournal.Segment segment = journal.open(7)) {
+            segment.append(10L, -3);
+        }
+        Path file = directory.resolve(String.format("segment-%019d.log", 7));
+        Files.writeString(file, "10 -9", StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+
+        assertThat(journal.readDeltas(7)).isEqualTo(Map.of(10L, -3L));
+    }
+
+    @Test
+    void concurrentAppendsAreSyncedWithoutLosingLines() {
+        StockJournal journal = new StockJournal(directory);
+        try (StockJournal.Segment segment = journal.open(2)) {
+            IntStream.range(0, 200).parallel().forEach(i -> segment.sync(segment.append(10L + i % 4, -1)));
+            // Ya cubierta por un force anterior: no vuelve a forzar ni falla
+            segment.sync(1);
+
+            assertThat(journal.readDeltas(2)).isEqualTo(Map.of(10L, -50L, 11L, -50L, 12L, -50L, 13L, -50L));
+        }
+    }
+
+    @Test
+    void segmentIdsAreListedInOrderAndDeletable() {
+        StockJournal journal = new StockJournal(directory);
+        journal.open(12).close();
+        journal.open(3).close();
+
+        assertThat(journal.segmentIds()).containsExactly(3L, 12L);
+
+        journal.delete(3);
+        assertThat(journal.segmentIds()).containsExactly(12L);
+    }
+}
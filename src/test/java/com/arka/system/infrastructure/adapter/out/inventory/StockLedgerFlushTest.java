@@ -0,0 +1,106 @@
+package com.arka.system.infrastructure.adapter.out.inventory;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que guardar la entidad Product completa no pisa los deltas que el StockLedger volcó
+ * en stock_quantity después de cargarla.
+ */
+@SpringBootTest(properties = {
+    "arka.inventory.ledger.enabled=true",
+    // Sin volcados periódicos: la prueba los lanza en el momento exacto
+    "arka.inventory.ledger.flush-interval=1h"
+})
+class StockLedgerFlushTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Este contexto es distinto del resto de pruebas: base H2 propia para que su create-drop no
+     * recree el esquema que usan los demás contextos en caché, y diario en un directorio temporal
+     */
+    @DynamicPropertySource
+    static void isolatedStorage(DynamicPropertyRegistry registry) throws IOException {
+        String database = "arka_ledger_" + UUID.randomUUID().toString().replace("-", "");
+        String directory = Files.createTempDirectory("stock-ledger-test").toString();
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        registry.add("arka.inventory.ledger.journal-dir", () -> directory);
+    }
+
+    @Test
+    void flushBetweenLoadAndEntityUpdateIsNotOverwritten() {
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        String sku = "LDG-" + UUID.randomUUID().toString().substring(0, 8);
+        Long productId = transactions.execute(status -> {
+            Category category = Category.builder().name("Categoría " + sku).build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                .sku(sku)
+                .name("Monitor")
+                .brand("Dell")
+                .purchasePrice(new BigDecimal("100.00"))
+                .salePrice(new BigDecimal("150.00"))
+                .stockQuantity(10)
+                .minimumStock(1)
+                .category(category)
+                .build();
+            entityManager.persist(product);
+            return product.getId();
+        });
+
+        transactions.executeWithoutResult(status -> {
+            Product product = entityManager.find(Product.class, productId);
+            assertThat(product.getStockQuantity()).isEqualTo(10);
+
+            // Venta y volcado confirmados en otro hilo mientras la entidad sigue cargada con stock 10
+            CompletableFuture.runAsync(() -> {
+                assertThat(stockLedger.tryDecrement(productId, 3)).isTrue();
+                stockLedger.flush();
+            }).join();
+            assertThat(stockColumn(productId)).isEqualTo(7);
+
+            product.setName("Monitor 27 pulgadas");
+        });
+
+        assertThat(stockColumn(productId)).isEqualTo(7);
+        assertThat(stockLedger.peek(productId)).isEqualTo(7L);
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM products WHERE id = ?", String.class, productId))
+            .isEqualTo("Monitor 27 pulgadas");
+    }
+
+    private Integer stockColumn(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
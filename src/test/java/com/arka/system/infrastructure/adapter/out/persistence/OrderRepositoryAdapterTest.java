@@ -0,0 +1,182 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Customer;
+import com.arka.system.domain.model.Order;
+import com.arka.system.domain.model.Order.OrderStatus;
+import com.arka.system.domain.model.OrderItem;
+import com.arka.system.domain.model.Product;
+import com.arka.system.domain.port.out.OrderRepositoryPort;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que una orden con sus líneas se inserta en batches JDBC (IDs por secuencia)
+ * y que las consultas del puerto devuelven lo esperado, también el total de ventas servido
+ * desde SalesRollup.
+ */
+@SpringBootTest
+class OrderRepositoryAdapterTest {
+
+    private static final int ITEM_COUNT = 20;
+
+    @Autowired
+    private OrderRepositoryPort orderRepository;
+
+    @Autowired
+    private JpaOrderRepository jpaOrderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            customer = new Customer();
+            customer.setCompanyName("Almacén " + suffix);
+            customer.setDocumentNumber("DOC-" + suffix);
+            customer.setEmail(suffix + "@arka.test");
+            customer.setCity("Bogotá");
+            customer.setCountry("Colombia");
+            entityManager.persist(customer);
+
+            Category category = Category.builder()
+                .name("Categoría " + suffix)
+                .description("Categoría de prueba")
+                .build();
+            entityManager.persist(category);
+
+            product = Product.builder()
+                .sku("ORD-" + suffix)
+                .name("Monitor")
+                .brand("Samsung")
+                .purchasePrice(new BigDecimal("100.00"))
+                .salePrice(new BigDecimal("150.00"))
+                .stockQuantity(500)
+                .minimumStock(5)
+                .category(category)
+                .build();
+            entityManager.persist(product);
+        });
+    }
+
+    /**
+     * El contexto se comparte con otras pruebas: las estadísticas sólo se recogen en esta clase
+     */
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void saveInsertsOrderAndItemsInBatches() {
+        Order order = newOrder(OrderStatus.PENDING);
+
+        statistics.clear();
+        Order saved = orderRepository.save(order);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEM_COUNT + 1);
+        // Secuencias de orden y líneas, un INSERT de la orden y un batch de líneas
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getOrderItems()).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+    }
+
+    @Test
+    void findByIdLoadsItemsAndCustomer() {
+        Long orderId = orderRepository.save(newOrder(OrderStatus.PENDING)).getId();
+
+        Order found = orderRepository.findById(orderId).orElseThrow();
+
+        assertThat(found.getOrderItems()).hasSize(ITEM_COUNT);
+        assertThat(found.getCustomer().getCompanyName()).isEqualTo(customer.getCompanyName());
+        assertThat(orderRepository.findByCustomerIdAndStatus(customer.getId(), OrderStatus.PENDING))
+            .extracting(Order::getId)
+            .containsExactly(orderId);
+    }
+
+    @Test
+    void totalSalesCountOnlyConfirmedOrders() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime end = LocalDateTime.now().plusMinutes(1);
+        BigDecimal before = orderRepository.getTotalSalesBetween(start, end);
+
+        Order confirmed = orderRepository.save(newOrder(OrderStatus.CONFIRMED));
+        orderRepository.save(newOrder(OrderStatus.PENDING));
+        orderRepository.save(newOrder(OrderStatus.CANCELLED));
+
+        assertThat(orderRepository.getTotalSalesBetween(start, end).subtract(before))
+            .isEqualByComparingTo(confirmed.getTotalAmount());
+    }
+
+    @Test
+    void totalSalesOverLongRangesMatchOrdersAfterIncrementalChanges() {
+        orderRepository.rebuildSalesRollup();
+        LocalDateTime start = LocalDateTime.now().minusDays(365).withMinute(17);
+        LocalDateTime end = LocalDateTime.now().plusDays(1).withMinute(43);
+        BigDecimal before = orderRepository.getTotalSalesBetween(start, end);
+
+        Order confirmed = orderRepository.save(newOrder(OrderStatus.CONFIRMED));
+        Order cancelled = orderRepository.save(newOrder(OrderStatus.CONFIRMED));
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(cancelled);
+
+        BigDecimal total = orderRepository.getTotalSalesBetween(start, end);
+        assertThat(total.subtract(before)).isEqualByComparingTo(confirmed.getTotalAmount());
+        assertThat(total).isEqualByComparingTo(
+            jpaOrderRepository.sumTotalAmountBetween(start, end, SalesRollup.SALE_STATUSES));
+    }
+
+    private Order newOrder(OrderStatus status) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus(status);
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(i + 1);
+            item.setUnitPrice(product.getSalePrice());
+            items.add(item);
+        }
+        order.setOrderItems(items);
+        order.setTotalAmount(items.stream()
+            .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+            .reduce(BigDecimal.ZERO, BigDecimal::add));
+        return order;
+    }
+}
@@ -0,0 +1,41 @@
+package com.arka.system.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica las sumas por rango del árbol de Fenwick de SalesRollup frente a una suma directa,
+ * tras la construcción y tras actualizaciones puntuales.
+ */
+class SalesRollupTest {
+
+    @Test
+    void fenwickRangeSumsMatchDirectSums() {
+        Random random = new Random(42);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(100_000);
+        }
+        SalesRollup.FenwickTree tree = new SalesRollup.FenwickTree(values);
+
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(values.length);
+            long delta = random.nextInt(20_000) - 10_000;
+            values[index] += delta;
+            tree.add(index, delta);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(values.length + 1);
+            int to = from + random.nextInt(values.length + 1 - from);
+            long expected = 0;
+            for (int j = from; j < to; j++) {
+                expected += values[j];
+            }
+            assertThat(tree.sum(from, to)).isEqualTo(expected);
+        }
+    }
+}
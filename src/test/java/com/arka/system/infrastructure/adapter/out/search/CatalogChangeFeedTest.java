@@ -0,0 +1,98 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.domain.port.out.StockHoldRepositoryPort;
+import com.arka.system.shared.dto.CatalogChangeDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica la emisión de cambios, la reanudación por secuencia y el RESYNC cuando se perdieron cambios.
+ */
+class CatalogChangeFeedTest {
+
+    private CatalogChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        StockHoldRepositoryPort stockHolds = mock(StockHoldRepositoryPort.class);
+        when(stockHolds.getHeldQuantity(any())).thenReturn(3L);
+        feed = new CatalogChangeFeed(stockHolds, 3, 100);
+    }
+
+    @Test
+    void initialLoadIsNotEmitted() {
+        feed.upsert(entry(1L, 10));
+        feed.markReady();
+        long[] sequence = new long[1];
+        StepVerifier.create(feed.changesSince(null).take(1))
+                .then(() -> feed.upsert(entry(2L, 10)))
+                .assertNext(change -> sequence[0] = change.getSequence())
+                .verifyComplete();
+
+        // Si la carga inicial hubiera emitido un cambio, se conservaría y no habría RESYNC
+        StepVerifier.create(feed.changesSince(sequence[0] - 2).take(1))
+                .assertNext(change -> assertThat(change.getType()).isEqualTo(CatalogChangeDTO.Type.RESYNC))
+                .verifyComplete();
+    }
+
+    @Test
+    void resumesAfterLastReceivedSequence() {
+        feed.markReady();
+
+        long[] sequences = new long[2];
+        StepVerifier.create(feed.changesSince(null).take(2))
+                .then(() -> feed.updateStock(1L, 4))
+                .then(() -> feed.remove(1L))
+                .assertNext(change -> {
+                    assertThat(change.getType()).isEqualTo(CatalogChangeDTO.Type.STOCK_CHANGED);
+                    assertThat(change.getStockQuantity()).isEqualTo(4);
+                    assertThat(change.getAvailableQuantity()).isEqualTo(1);
+                    sequences[0] = change.getSequence();
+                })
+                .assertNext(change -> {
+                    assertThat(change.getType()).isEqualTo(CatalogChangeDTO.Type.PRODUCT_REMOVED);
+                    sequences[1] = change.getSequence();
+                })
+                .verifyComplete();
+
+        assertThat(sequences[1]).isEqualTo(sequences[0] + 1);
+        StepVerifier.create(feed.changesSince(sequences[0]).take(1))
+                .assertNext(change -> assertThat(change.getSequence()).isEqualTo(sequences[1]))
+                .verifyComplete();
+    }
+
+    @Test
+    void lostChangesStartWithResync() {
+        feed.markReady();
+        long[] firstSequence = new long[1];
+        StepVerifier.create(feed.changesSince(null).take(1))
+                .then(() -> feed.upsert(entry(1L, 10)))
+                .assertNext(change -> firstSequence[0] = change.getSequence())
+                .verifyComplete();
+        for (int i = 0; i < 4; i++) {
+            feed.updateStock(1L, i);
+        }
+
+        // Retención de 3: el cambio siguiente a firstSequence ya no se conserva
+        StepVerifier.create(feed.changesSince(firstSequence[0]).take(1))
+                .assertNext(change -> assertThat(change.getType()).isEqualTo(CatalogChangeDTO.Type.RESYNC))
+                .verifyComplete();
+        StepVerifier.create(feed.changesSince(Long.MAX_VALUE - 1).take(1))
+                .assertNext(change -> assertThat(change.getType()).isEqualTo(CatalogChangeDTO.Type.RESYNC))
+                .verifyComplete();
+    }
+
+    private static CatalogEntry entry(Long id, int stock) {
+        return new CatalogEntry(id, "SKU-" + id, "Producto " + id, null, "Marca", 1L, new BigDecimal("10"), stock, 2, true);
+    }
+}
@@ -0,0 +1,56 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el conjunto de stock bajo se mantiene con altas, movimientos de stock y bajas.
+ */
+class LowStockIndexTest {
+
+    private LowStockIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LowStockIndex();
+        index.upsert(entry(3L, 2, 5, true));
+        index.upsert(entry(1L, 5, 5, true));
+        index.upsert(entry(2L, 20, 5, true));
+        index.upsert(entry(4L, 0, 5, false));
+        index.markReady();
+    }
+
+    @Test
+    void containsActiveProductsAtOrBelowMinimum() {
+        assertThat(index.findLowStockIds()).containsExactly(1L, 3L);
+        assertThat(index.countLowStock()).isEqualTo(2);
+    }
+
+    @Test
+    void stockMovementsMoveProductsInAndOut() {
+        index.updateStock(2L, 4);
+        index.updateStock(3L, 6);
+        index.updateStock(4L, 0);
+
+        assertThat(index.findLowStockIds()).containsExactly(1L, 2L);
+        assertThat(index.countLowStock()).isEqualTo(2);
+    }
+
+    @Test
+    void minimumChangesAndRemovalsAreApplied() {
+        index.upsert(entry(2L, 20, 25, true));
+        index.upsert(entry(1L, 5, 5, false));
+        index.remove(3L);
+
+        assertThat(index.findLowStockIds()).containsExactly(2L);
+        assertThat(index.countLowStock()).isEqualTo(1);
+    }
+
+    private static CatalogEntry entry(Long id, int stock, int minimum, boolean active) {
+        return new CatalogEntry(id, "SKU-" + id, "Producto " + id, null, "Marca", 1L, new BigDecimal("10"), stock, minimum, active);
+    }
+}
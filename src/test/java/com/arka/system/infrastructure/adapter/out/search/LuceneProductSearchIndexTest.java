@@ -0,0 +1,76 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica el índice de búsqueda: plegado de acentos, plurales, prefijos, SKU y relevancia.
+ */
+class LuceneProductSearchIndexTest {
+
+    private LuceneProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LuceneProductSearchIndex();
+        index.upsert(entry(1L, "CAM-001", "Cámara web HD", "Cámara para videollamadas", "Logitech", true));
+        index.upsert(entry(2L, "TEC-001", "Teclado mecánico", "Incluye soporte para cámara", "Razer", true));
+        index.upsert(entry(3L, "MOU-001", "Mouse inalámbrico", "Sensor óptico", "Logitech", true));
+        index.upsert(entry(4L, "CAM-002", "Cámara de seguridad", "Exterior", "Xiaomi", false));
+        index.refresh();
+        index.markReady();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void foldsAccentsAndPlurals() {
+        assertThat(index.search("camaras", 0, 10)).containsExactly(1L, 2L);
+        assertThat(index.search("MECANICO", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        assertThat(index.search("cámara", 0, 10)).first().isEqualTo(1L);
+    }
+
+    @Test
+    void requiresEveryTermAndTreatsLastAsPrefix() {
+        assertThat(index.search("logitech inal", 0, 10)).containsExactly(3L);
+        assertThat(index.search("tecl", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void matchesSkuExactlyOrByPrefix() {
+        assertThat(index.search("tec-001", 0, 10)).containsExactly(2L);
+        assertThat(index.search("CAM-", 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void excludesInactiveAndRemovedProducts() {
+        index.upsert(entry(1L, "CAM-001", "Cámara web HD", "Cámara para videollamadas", "Logitech", false));
+        index.remove(2L);
+        index.refresh();
+
+        assertThat(index.search("camara", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        assertThat(index.search("logitech", 0, 1)).hasSize(1);
+        assertThat(index.search("logitech", 1, 1)).hasSize(1);
+        assertThat(index.search("logitech", 2, 1)).isEmpty();
+    }
+
+    private static CatalogEntry entry(Long id, String sku, String name, String description, String brand, boolean active) {
+        return new CatalogEntry(id, sku, name, description, brand, 1L, new BigDecimal("10.00"), 10, 2, active);
+    }
+}
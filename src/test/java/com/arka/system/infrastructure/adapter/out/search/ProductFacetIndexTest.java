@@ -0,0 +1,73 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.shared.dto.ProductFacetsDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica los conteos por faceta con y sin filtros y su mantenimiento incremental.
+ */
+class ProductFacetIndexTest {
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex(new BigDecimal[] {new BigDecimal("100"), new BigDecimal("1000")});
+        index.upsert(entry(1L, 10L, "Logitech", "50"));
+        index.upsert(entry(2L, 10L, "Logitech", "500"));
+        index.upsert(entry(3L, 10L, "Razer", "1500"));
+        index.upsert(entry(4L, 20L, "Logitech", "80"));
+    }
+
+    @Test
+    void countsWholeCatalogWithoutFilters() {
+        ProductFacetsDTO facets = index.countFacets(null, null, null);
+
+        assertThat(facets.getTotal()).isEqualTo(4);
+        assertThat(facets.getCategories()).containsExactly(Map.entry(10L, 3), Map.entry(20L, 1));
+        assertThat(facets.getBrands()).containsExactly(Map.entry("Logitech", 3), Map.entry("Razer", 1));
+        assertThat(facets.getPriceBands())
+            .containsExactly(Map.entry("0-100", 2), Map.entry("100-1000", 1), Map.entry("1000+", 1));
+    }
+
+    @Test
+    void countsEachFacetWithTheOtherFilters() {
+        ProductFacetsDTO facets = index.countFacets(10L, "Logitech", null);
+
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getCategories()).containsExactly(Map.entry(10L, 2), Map.entry(20L, 1));
+        assertThat(facets.getBrands()).containsExactly(Map.entry("Logitech", 2), Map.entry("Razer", 1));
+        assertThat(facets.getPriceBands())
+            .containsExactly(Map.entry("0-100", 1), Map.entry("100-1000", 1), Map.entry("1000+", 0));
+    }
+
+    @Test
+    void appliesUpdatesAndDeactivations() {
+        index.upsert(new CatalogEntry(2L, "SKU-2", "Producto 2", null, "Razer", 20L, new BigDecimal("50"), 10, 2, true));
+        index.upsert(new CatalogEntry(3L, "SKU-3", "Producto 3", null, "Razer", 10L, new BigDecimal("1500"), 10, 2, false));
+
+        ProductFacetsDTO facets = index.countFacets(null, "Razer", null);
+
+        assertThat(facets.getTotal()).isEqualTo(1);
+        assertThat(facets.getCategories()).containsExactly(Map.entry(20L, 1));
+        assertThat(index.countFacets(null, null, "0-100").getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsUnknownPriceBand() {
+        assertThatThrownBy(() -> index.countFacets(null, null, "1-2"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CatalogEntry entry(Long id, Long categoryId, String brand, String price) {
+        return new CatalogEntry(id, "SKU-" + id, "Producto " + id, null, brand, categoryId, new BigDecimal(price), 10, 2, true);
+    }
+}
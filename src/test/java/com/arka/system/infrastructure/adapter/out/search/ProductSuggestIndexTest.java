@@ -0,0 +1,68 @@
+package com.arka.system.infrastructure.adapter.out.search;
+
+import com.arka.system.shared.dto.ProductSuggestion;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica el autocompletado: prefijos de nombre, palabra, marca y SKU, y actualizaciones incrementales.
+ */
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+        index.upsert(entry(1L, "MOU-001", "Mouse inalámbrico", "Logitech", true));
+        index.upsert(entry(2L, "MOU-002", "Mouse gamer", "Razer", true));
+        index.upsert(entry(3L, "MON-001", "Monitor 27 pulgadas", "Logitech", true));
+        index.upsert(entry(4L, "CAM-001", "Cámara web", "Logitech", false));
+    }
+
+    @Test
+    void suggestsByNamePrefixIgnoringCaseAndAccents() {
+        assertThat(ids("MOU")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("mo")).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.suggest("mouse g", 10)).containsExactly(new ProductSuggestion(2L, "Mouse gamer"));
+    }
+
+    @Test
+    void suggestsFromAnyWordBrandAndSku() {
+        assertThat(ids("inala")).containsExactly(1L);
+        assertThat(ids("logitech mon")).containsExactly(3L);
+        assertThat(ids("mou-00")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void prefersShorterCompletionsAndRespectsLimit() {
+        index.upsert(entry(5L, "MOU-003", "Mouse", "Genius", true));
+
+        assertThat(ids("mouse")).first().isEqualTo(5L);
+        assertThat(index.suggest("m", 2)).hasSize(2);
+    }
+
+    @Test
+    void appliesUpdatesAndDeactivationsIncrementally() {
+        index.upsert(entry(1L, "MOU-001", "Ratón inalámbrico", "Logitech", true));
+        index.upsert(entry(2L, "MOU-002", "Mouse gamer", "Razer", false));
+
+        assertThat(ids("mouse")).isEmpty();
+        assertThat(index.suggest("raton", 10)).containsExactly(new ProductSuggestion(1L, "Ratón inalámbrico"));
+        assertThat(ids("cam")).isEmpty();
+    }
+
+    private List<Long> ids(String prefix) {
+        return index.suggest(prefix, 10).stream().map(ProductSuggestion::id).toList();
+    }
+
+    private static CatalogEntry entry(Long id, String sku, String name, String brand, boolean active) {
+        return new CatalogEntry(id, sku, name, null, brand, 1L, new BigDecimal("10.00"), 10, 2, active);
+    }
+}
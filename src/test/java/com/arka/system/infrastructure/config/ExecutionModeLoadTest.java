@@ -0,0 +1,297 @@
+package com.arka.system.infrastructure.config;
+
+import com.arka.system.ArkaSystemApplication;
+import com.arka.system.domain.model.Category;
+import com.arka.system.domain.model.Product;
+
+import com.sun.management.OperatingSystemMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga: la aplicación completa con spring.threads.virtual.enabled=false y =true.
+ *
+ * Se arranca la aplicación en cada modo (Tomcat en un puerto libre, H2 propia) y se lanzan
+ * REQUESTS peticiones HTTP a la vez contra dos rutas bloqueantes: GET /products/{id}/available
+ * (Tomcat, ProductController, consulta JPA) y POST /reactive/products/reserve (INSERT JPA de la
+ * retención en blockingScheduler). BlockingCallLatency retiene cada sentencia JPA como una base de
+ * datos remota: mientras la compuerta está cerrada se cuentan las peticiones detenidas en una
+ * llamada JDBC, el heap por petición detenida (tras un GC) y los hilos de plataforma vivos;
+ * después cada sentencia tarda BLOCKING_CALL y se mide el tiempo hasta completar todas.
+ *
+ * El cliente HTTP comparte la JVM: su heap entra en la medición y es el mismo en ambos modos. En
+ * la ruta reactiva las peticiones que esperan a blockingScheduler también ocupan heap, por lo que
+ * se informa además del heap total retenido por las REQUESTS peticiones.
+ * Se excluye de ./gradlew test; se ejecuta con ./gradlew loadTest.
+ */
+@Tag("load")
+class ExecutionModeLoadTest {
+
+    private static final int REQUESTS = 1_000;
+    private static final int TOMCAT_MAX_THREADS = 200; // server.tomcat.threads.max por defecto
+    private static final Duration BLOCKING_CALL = Duration.ofMillis(100);
+    private static final int WARMUP_REQUESTS = 200;
+    private static final Duration SAMPLE = Duration.ofMillis(200);
+    private static final Duration STEADY = Duration.ofSeconds(1);
+
+    @Test
+    void blockingPaths_VirtualThreadsShouldNotBeCappedByThePlatformPools() throws Exception {
+        List<Result> platform = runApplication(false);
+        List<Result> virtual = runApplication(true);
+
+        assertThat(platform.get(0).peakInFlight()).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        assertThat(virtual.get(0).peakInFlight()).isGreaterThan(TOMCAT_MAX_THREADS);
+        assertThat(platform.get(1).peakInFlight()).isLessThanOrEqualTo(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE);
+        assertThat(virtual.get(1).peakInFlight()).isGreaterThan(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE);
+    }
+
+    /**
+     * Arrancar la aplicación en el modo indicado y medir las dos rutas bloqueantes
+     * @return Resultados de la ruta servlet y de la reactiva, en ese orden
+     */
+    private static List<Result> runApplication(boolean virtualThreads) throws Exception {
+        String database = "arka_modes_" + UUID.randomUUID().toString().replace("-", "");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ArkaSystemApplication.class, OpenBlockingPaths.class)
+            // Como argumentos de línea de comandos: las propiedades por defecto no prevalecen sobre application.properties
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                // El pool de conexiones no debe ser el límite: se compara el de hilos
+                "--spring.datasource.hikari.maximum-pool-size=" + (REQUESTS + 10),
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + BlockingCallLatency.class.getName(),
+                "--spring.mvc.async.request-timeout=5m",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.springframework.web=INFO",
+                "--logging.level.com.arka.system=WARN");
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            awaitFullPool(context.getBean(HikariDataSource.class));
+            Long productId = seedProduct(context);
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api";
+            String mode = virtualThreads ? "virtual threads" : "platform threads";
+
+            HttpRequest available = HttpRequest.newBuilder(URI.create(baseUrl + "/products/" + productId + "/available"))
+                .GET()
+                .build();
+            HttpRequest reserve = HttpRequest.newBuilder(URI.create(baseUrl + "/api/reactive/products/reserve"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"lines\":[{\"productId\":" + productId + ",\"quantity\":1}]}"))
+                .build();
+            return List.of(
+                measure("servlet / " + mode, client, available),
+                measure("reactive / " + mode, client, reserve));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result measure(String mode, HttpClient client, HttpRequest request) {
+        // Sin latencia: carga las clases de la ruta, que en frío detienen los hilos más que la compuerta
+        send(client, request, WARMUP_REQUESTS).forEach(CompletableFuture::join);
+        System.gc();
+        long baselineHeap = usedHeap();
+        BlockingCallLatency.hold();
+
+        List<CompletableFuture<HttpResponse<Void>>> responses = send(client, request, REQUESTS);
+
+        // Con la compuerta cerrada, las peticiones admitidas se acumulan detenidas en su llamada JDBC
+        int inFlight = Math.max(awaitSteadyInFlight(), 1);
+        int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        System.gc();
+        long heap = Math.max(usedHeap() - baselineHeap, 0);
+
+        long start = System.nanoTime();
+        BlockingCallLatency.release();
+        long failed = responses.stream().map(CompletableFuture::join).filter(response -> response.statusCode() != 200).count();
+        Result result = new Result(BlockingCallLatency.peak(), Duration.ofNanos(System.nanoTime() - start), heap, heap / inFlight, platformThreads);
+        BlockingCallLatency.reset();
+
+        System.out.printf("%-28s peak in-flight=%5d  drain=%6d ms  heap=%7d KB  heap/request=%7d B  platform threads=%4d%n",
+            mode, result.peakInFlight(), result.drain().toMillis(), result.heap() / 1024, result.heapPerRequest(), result.platformThreads());
+        assertThat(failed).isZero();
+        return result;
+    }
+
+    private static List<CompletableFuture<HttpResponse<Void>>> send(HttpClient client, HttpRequest request, int count) {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        return responses;
+    }
+
+    /**
+     * Esperar a que el número de peticiones detenidas deje de crecer y la JVM quede casi sin
+     * consumir CPU: con pocos núcleos las peticiones tardan en llegar a la compuerta
+     */
+    private static int awaitSteadyInFlight() {
+        OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        long steadySince = System.nanoTime();
+        long lastCpu = os.getProcessCpuTime();
+        int last = -1;
+        while (System.nanoTime() < deadline) {
+            sleep(SAMPLE);
+            int current = BlockingCallLatency.inFlight();
+            long cpu = os.getProcessCpuTime();
+            boolean idle = cpu - lastCpu < SAMPLE.toNanos() / 10;
+            lastCpu = cpu;
+            if (current != last || !idle) {
+                last = current;
+                steadySince = System.nanoTime();
+            } else if (current == REQUESTS || System.nanoTime() - steadySince >= STEADY.toNanos()) {
+                return current;
+            }
+        }
+        return last;
+    }
+
+    private static void awaitFullPool(HikariDataSource dataSource) {
+        long deadline = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        while (dataSource.getHikariPoolMXBean().getTotalConnections() < dataSource.getMaximumPoolSize()
+                && System.nanoTime() < deadline) {
+            sleep(Duration.ofMillis(100));
+        }
+    }
+
+    private static Long seedProduct(ConfigurableApplicationContext context) {
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            Category category = Category.builder().name("Carga").build();
+            entityManager.persist(category);
+            Product product = Product.builder()
+                .sku("LOAD-MODES")
+                .name("Producto de carga")
+                .brand("Arka")
+                .purchasePrice(new BigDecimal("10.00"))
+                .salePrice(new BigDecimal("25.00"))
+                .stockQuantity(10_000_000)
+                .minimumStock(1)
+                .category(category)
+                .build();
+            entityManager.persist(product);
+            return product.getId();
+        });
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Latencia de una base de datos remota en cada sentencia JPA, sólo mientras se mide
+     */
+    public static class BlockingCallLatency implements StatementInspector {
+
+        private static volatile CountDownLatch gate;
+        private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+        private static final AtomicInteger PEAK = new AtomicInteger();
+
+        static void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        static void release() {
+            gate.countDown();
+        }
+
+        static void reset() {
+            gate = null;
+            PEAK.set(0);
+        }
+
+        static int inFlight() {
+            return IN_FLIGHT.get();
+        }
+
+        static int peak() {
+            return PEAK.get();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            CountDownLatch current = gate;
+            if (current == null) {
+                return sql;
+            }
+            PEAK.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                current.await();
+                Thread.sleep(BLOCKING_CALL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                IN_FLIGHT.decrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Las rutas medidas sin autenticación, sólo en la aplicación que arranca esta prueba
+     */
+    static class OpenBlockingPaths {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        SecurityFilterChain loadTestFilterChain(HttpSecurity http) throws Exception {
+            return http
+                .securityMatcher("/products/**", "/api/reactive/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(authz -> authz.anyRequest().permitAll())
+                .build();
+        }
+    }
+
+    private record Result(int peakInFlight, Duration drain, long heap, long heapPerRequest, int platformThreads) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.arka.system.infrastructure.metrics;
+
+import com.arka.system.domain.port.in.ProductManagementUseCase;
+import com.arka.system.domain.port.in.ReactiveProductManagementUseCase;
+import com.arka.system.shared.dto.ProductDTO;
+import com.arka.system.shared.exception.ProductNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica los timers y contadores de reservas que registra HotPathMetricsAspect.
+ */
+class HotPathMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HotPathMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new HotPathMetricsAspect(meterRegistry, new double[] {0.5, 0.95});
+    }
+
+    @Test
+    void timesBlockingUseCaseAndCountsReservations() {
+        ProductManagementUseCase target = mock(ProductManagementUseCase.class);
+        when(target.reserveStock(1L, 5)).thenReturn(Optional.of("reservation-1"));
+        when(target.reserveStock(2L, 5)).thenReturn(Optional.empty());
+        when(target.reserveStock(3L, 5)).thenThrow(new ProductNotFoundException("Producto no encontrado con ID: 3"));
+        ProductManagementUseCase useCase = proxy(target);
+
+        useCase.reserveStock(1L, 5);
+        useCase.reserveStock(2L, 5);
+        assertThatThrownBy(() -> useCase.reserveStock(3L, 5)).isInstanceOf(ProductNotFoundException.class);
+
+        assertThat(meterRegistry.get(HotPathMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "reserveStock", "outcome", "success").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(HotPathMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "reserveStock", "exception", "ProductNotFoundException").timer().count()).isEqualTo(1);
+        assertThat(reservations("reserved")).isEqualTo(1);
+        assertThat(reservations("rejected")).isEqualTo(1);
+        assertThat(reservations("error")).isEqualTo(1);
+    }
+
+    @Test
+    void timesReactiveUseCaseOnSubscription() {
+        ReactiveProductManagementUseCase target = mock(ReactiveProductManagementUseCase.class);
+        when(target.reserveStock(1L, 5)).thenReturn(Mono.just("reservation-1"));
+        ReactiveProductManagementUseCase useCase = proxy(target);
+
+        Mono<String> reservation = useCase.reserveStock(1L, 5);
+        assertThat(meterRegistry.find(HotPathMetricsAspect.USE_CASE_TIMER).timer()).isNull();
+
+        StepVerifier.create(reservation).expectNext("reservation-1").verifyComplete();
+
+        assertThat(meterRegistry.get(HotPathMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "reserveStock", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(reservations("reserved")).isEqualTo(1);
+    }
+
+    @Test
+    void separatesEmptyMonosAndCancelledFluxes() {
+        ReactiveProductManagementUseCase target = mock(ReactiveProductManagementUseCase.class);
+        when(target.reserveStock(2L, 5)).thenReturn(Mono.empty());
+        when(target.releaseStock("reservation-1")).thenReturn(Mono.empty());
+        when(target.getAllActiveProducts()).thenReturn(Flux.range(1, 10).map(i -> ProductDTO.builder().id((long) i).build()));
+        ReactiveProductManagementUseCase useCase = proxy(target);
+
+        StepVerifier.create(useCase.reserveStock(2L, 5)).verifyComplete();
+        StepVerifier.create(useCase.releaseStock("reservation-1")).verifyComplete();
+        StepVerifier.create(useCase.getAllActiveProducts().take(2)).expectNextCount(2).verifyComplete();
+
+        assertThat(meterRegistry.get(HotPathMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "reserveStock", "outcome", "empty").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(HotPathMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "releaseStock", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(HotPathMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "getAllActiveProducts", "outcome", "cancelled").timer().count()).isEqualTo(1);
+        assertThat(reservations("rejected")).isEqualTo(1);
+    }
+
+    private double reservations(String result) {
+        return meterRegistry.get(HotPathMetricsAspect.RESERVATION_COUNTER).tag("result", result).counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}